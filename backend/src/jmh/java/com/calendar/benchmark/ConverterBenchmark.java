@@ -0,0 +1,82 @@
+package com.calendar.benchmark;
+
+import com.calendar.converter.CalendarEventToGoogleEventConverter;
+import com.calendar.converter.CalendarEventToOutlookEventConverter;
+import com.calendar.converter.GoogleEventToCalendarEventConverter;
+import com.calendar.converter.OutlookEventToCalendarEventConverter;
+import com.calendar.model.CalendarEvent;
+import com.google.api.services.calendar.model.Event;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-batch cost of the provider converters in both directions
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConverterBenchmark {
+
+    @Param({"10", "100", "1000", "10000", "100000"})
+    private int eventCount;
+
+    private final GoogleEventToCalendarEventConverter fromGoogle = new GoogleEventToCalendarEventConverter();
+    private final OutlookEventToCalendarEventConverter fromOutlook = new OutlookEventToCalendarEventConverter();
+    private final CalendarEventToGoogleEventConverter toGoogle = new CalendarEventToGoogleEventConverter();
+    private final CalendarEventToOutlookEventConverter toOutlook = new CalendarEventToOutlookEventConverter();
+
+    private List<Event> googleEvents;
+    private List<com.microsoft.graph.models.Event> outlookEvents;
+    private List<CalendarEvent> calendarEvents;
+
+    @Setup
+    public void setUp() {
+        googleEvents = SyntheticEvents.googleEvents(eventCount);
+        outlookEvents = SyntheticEvents.outlookEvents(eventCount);
+        calendarEvents = SyntheticEvents.calendarEvents(eventCount);
+    }
+
+    @Benchmark
+    public void googleToCalendarEvent(Blackhole blackhole) {
+        for (Event event : googleEvents) {
+            blackhole.consume(fromGoogle.convert(event));
+        }
+    }
+
+    @Benchmark
+    public void outlookToCalendarEvent(Blackhole blackhole) {
+        for (com.microsoft.graph.models.Event event : outlookEvents) {
+            blackhole.consume(fromOutlook.convert(event));
+        }
+    }
+
+    @Benchmark
+    public void calendarEventToGoogle(Blackhole blackhole) {
+        for (CalendarEvent event : calendarEvents) {
+            blackhole.consume(toGoogle.convert(event));
+        }
+    }
+
+    @Benchmark
+    public void calendarEventToOutlook(Blackhole blackhole) {
+        for (CalendarEvent event : calendarEvents) {
+            blackhole.consume(toOutlook.convert(event));
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.calendar.benchmark;
+
+import com.calendar.model.CalendarEvent;
+import com.calendar.model.CompactEvent;
+import com.calendar.model.StringInterner;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Memory held by cached events: full CalendarEvents as the caches kept them (before) against the
+ * compact form they keep now (after). Retained bytes per event are measured with JOL and reported as
+ * the secondary results of each benchmark; the timings are the cost of compacting an event when it is
+ * cached and of building it again when it is read.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventFootprintBenchmark {
+
+    /** Roughly one user's month of events, as held by the tile cache */
+    private static final int EVENTS = 2000;
+
+    @Param({"GOOGLE_PAGE", "SHARED_STRINGS"})
+    public String strings;
+
+    private List<CalendarEvent> events;
+    private List<CompactEvent> compactEvents;
+    private long fullBytesPerEvent;
+    private long compactBytesPerEvent;
+
+    /**
+     * Retained bytes per event, which JMH reports next to the timings
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Footprint {
+        public long fullBytesPerEvent;
+        public long compactBytesPerEvent;
+
+        @Setup(Level.Iteration)
+        public void record(EventFootprintBenchmark benchmark) {
+            fullBytesPerEvent = benchmark.fullBytesPerEvent;
+            compactBytesPerEvent = benchmark.compactBytesPerEvent;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        events = SyntheticEvents.calendarEvents(EVENTS);
+        if ("GOOGLE_PAGE".equals(strings)) {
+            // Deserialized responses hold a separate copy of every string, even repeated titles and rooms
+            for (CalendarEvent event : events) {
+                event.setTitle(copy(event.getTitle()));
+                event.setLocation(copy(event.getLocation()));
+            }
+        }
+        compactEvents = compact(events);
+
+        fullBytesPerEvent = GraphLayout.parseInstance(events.toArray()).totalSize() / EVENTS;
+        compactBytesPerEvent = GraphLayout.parseInstance(compactEvents.toArray()).totalSize() / EVENTS;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public List<CompactEvent> compactOnStore(Footprint footprint) {
+        return compact(events);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public List<CalendarEvent> materializeOnRead(Footprint footprint) {
+        List<CalendarEvent> materialized = new ArrayList<>(compactEvents.size());
+        for (CompactEvent event : compactEvents) {
+            materialized.add(event.toCalendarEvent());
+        }
+        return materialized;
+    }
+
+    private static List<CompactEvent> compact(List<CalendarEvent> events) {
+        StringInterner interner = new StringInterner(100_000);
+        List<CompactEvent> compacted = new ArrayList<>(events.size());
+        for (CalendarEvent event : events) {
+            compacted.add(CompactEvent.of(event, interner));
+        }
+        return compacted;
+    }
+
+    private static String copy(String value) {
+        return value != null ? new String(value.toCharArray()) : null;
+    }
+}
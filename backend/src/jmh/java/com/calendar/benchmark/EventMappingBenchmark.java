@@ -0,0 +1,84 @@
+package com.calendar.benchmark;
+
+import com.calendar.config.ConverterConfig;
+import com.calendar.converter.CalendarEventToGoogleEventConverter;
+import com.calendar.converter.CalendarEventToOutlookEventConverter;
+import com.calendar.converter.GoogleEventToCalendarEventConverter;
+import com.calendar.converter.OutlookEventToCalendarEventConverter;
+import com.calendar.model.CalendarEvent;
+import com.google.api.services.calendar.model.Event;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.core.convert.ConversionService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-event cost of mapping one provider page: ConversionService dispatch per event (before)
+ * against the typed batch mappers the providers now use (after)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventMappingBenchmark {
+
+    /** Google's default page size, as requested by GoogleCalendarProvider */
+    private static final int PAGE_SIZE = 250;
+
+    private final GoogleEventToCalendarEventConverter googleConverter = new GoogleEventToCalendarEventConverter();
+    private final OutlookEventToCalendarEventConverter outlookConverter = new OutlookEventToCalendarEventConverter();
+
+    private ConversionService conversionService;
+    private List<Event> googlePage;
+    private List<com.microsoft.graph.models.Event> outlookPage;
+
+    @Setup
+    public void setUp() {
+        conversionService = new ConverterConfig().conversionService(googleConverter,
+            new CalendarEventToGoogleEventConverter(), outlookConverter, new CalendarEventToOutlookEventConverter());
+        googlePage = SyntheticEvents.googleEvents(PAGE_SIZE);
+        outlookPage = SyntheticEvents.outlookEvents(PAGE_SIZE);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAGE_SIZE)
+    public void googleViaConversionService(Blackhole blackhole) {
+        for (Event event : googlePage) {
+            blackhole.consume(conversionService.convert(event, CalendarEvent.class));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAGE_SIZE)
+    public List<CalendarEvent> googleBatchMapper() {
+        return googleConverter.convertAll(googlePage);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAGE_SIZE)
+    public void outlookViaConversionService(Blackhole blackhole) {
+        for (com.microsoft.graph.models.Event event : outlookPage) {
+            blackhole.consume(conversionService.convert(event, CalendarEvent.class));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAGE_SIZE)
+    public List<CalendarEvent> outlookBatchMapper() {
+        return outlookConverter.convertAll(outlookPage);
+    }
+}
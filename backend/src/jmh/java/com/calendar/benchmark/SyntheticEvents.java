@@ -0,0 +1,103 @@
+package com.calendar.benchmark;
+
+import com.calendar.enums.CalendarSource;
+import com.calendar.enums.Status;
+import com.calendar.model.CalendarEvent;
+import com.google.api.client.util.DateTime;
+import com.google.api.services.calendar.model.Event;
+import com.google.api.services.calendar.model.EventDateTime;
+import com.microsoft.graph.models.DateTimeTimeZone;
+import com.microsoft.graph.models.FreeBusyStatus;
+import com.microsoft.graph.models.Location;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic event sets shaped like real provider responses, shared by the benchmarks
+ */
+public final class SyntheticEvents {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 8, 0, 0);
+    private static final String[] TITLES = {"Standup", "1:1", "Design review", "Planning", "Lunch", "Interview loop"};
+    private static final String[] LOCATIONS = {"Room 4.01", "Teams", "Google Meet", "Cafeteria", null};
+
+    private SyntheticEvents() {
+    }
+
+    public static List<CalendarEvent> calendarEvents(int count) {
+        Random random = new Random(count);
+        List<CalendarEvent> events = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDateTime start = startOf(i, random);
+            CalendarEvent event = new CalendarEvent();
+            event.setId("evt-" + i);
+            event.setTitle(TITLES[i % TITLES.length]);
+            event.setDescription("Synthetic event " + i + " for benchmarking the event pipeline");
+            event.setLocation(LOCATIONS[i % LOCATIONS.length]);
+            event.setStartTime(start);
+            event.setEndTime(start.plusMinutes(30L * (1 + random.nextInt(4))));
+            event.setStatus(i % 10 == 0 ? Status.TENTATIVE : Status.CONFIRMED);
+            event.setCalendarSource(i % 2 == 0 ? CalendarSource.GOOGLE : CalendarSource.OUTLOOK);
+            events.add(event);
+        }
+        return events;
+    }
+
+    public static List<Event> googleEvents(int count) {
+        ZoneId zone = ZoneId.systemDefault();
+        List<Event> events = new ArrayList<>(count);
+        for (CalendarEvent source : calendarEvents(count)) {
+            Event event = new Event()
+                .setId(source.getId())
+                .setSummary(source.getTitle())
+                .setDescription(source.getDescription())
+                .setLocation(source.getLocation())
+                // The converter maps the status with Status.valueOf, so use the enum spelling
+                .setStatus(source.getStatus().name())
+                .setStart(new EventDateTime().setDateTime(
+                    new DateTime(source.getStartTime().atZone(zone).toInstant().toEpochMilli())))
+                .setEnd(new EventDateTime().setDateTime(
+                    new DateTime(source.getEndTime().atZone(zone).toInstant().toEpochMilli())));
+            events.add(event);
+        }
+        return events;
+    }
+
+    public static List<com.microsoft.graph.models.Event> outlookEvents(int count) {
+        String zone = ZoneId.systemDefault().toString();
+        List<com.microsoft.graph.models.Event> events = new ArrayList<>(count);
+        for (CalendarEvent source : calendarEvents(count)) {
+            com.microsoft.graph.models.Event event = new com.microsoft.graph.models.Event();
+            event.id = source.getId();
+            event.subject = source.getTitle();
+            event.bodyPreview = source.getDescription();
+            if (source.getLocation() != null) {
+                event.location = new Location();
+                event.location.displayName = source.getLocation();
+            }
+            event.start = dateTimeTimeZone(source.getStartTime(), zone);
+            event.end = dateTimeTimeZone(source.getEndTime(), zone);
+            // Only TENTATIVE has a Status counterpart in the converter's showAs mapping
+            event.showAs = FreeBusyStatus.TENTATIVE;
+            events.add(event);
+        }
+        return events;
+    }
+
+    private static DateTimeTimeZone dateTimeTimeZone(LocalDateTime time, String zone) {
+        DateTimeTimeZone value = new DateTimeTimeZone();
+        value.dateTime = time.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) + ".0000000";
+        value.timeZone = zone;
+        return value;
+    }
+
+    private static LocalDateTime startOf(int i, Random random) {
+        // Non-zero seconds keep LocalDateTime.toString() in the full form that DateTime.parseRfc3339 accepts
+        return BASE.plusDays(i / 16).plusMinutes(30L * (i % 16)).plusSeconds(1 + random.nextInt(59));
+    }
+}
@@ -0,0 +1,85 @@
+package com.calendar.controller;
+
+import com.calendar.benchmark.SyntheticEvents;
+import com.calendar.dto.ApiResponse;
+import com.calendar.dto.CalendarEventDto;
+import com.calendar.model.CalendarEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The response side of GET /api/calendar/events: DTO mapping and Jackson serialization of the
+ * envelope, using an ObjectMapper configured the way Spring Boot configures it
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CalendarControllerBenchmark {
+
+    @Param({"10", "100", "1000", "10000", "100000"})
+    private int eventCount;
+
+    private final CalendarController controller = new CalendarController();
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private List<CalendarEvent> events;
+    private List<CalendarEventDto> dtos;
+    private ApiResponse<List<CalendarEventDto>> response;
+
+    @Setup
+    public void setUp() {
+        events = SyntheticEvents.calendarEvents(eventCount);
+        dtos = new ArrayList<>(eventCount);
+        for (CalendarEvent event : events) {
+            dtos.add(controller.toDto(event));
+        }
+        response = new ApiResponse<>("SUCCESS", "Fetched events successfully", dtos);
+    }
+
+    @Benchmark
+    public void toDto(Blackhole blackhole) {
+        for (CalendarEvent event : events) {
+            blackhole.consume(controller.toDto(event));
+        }
+    }
+
+    @Benchmark
+    public void toEntity(Blackhole blackhole) {
+        for (CalendarEventDto dto : dtos) {
+            blackhole.consume(controller.toEntity(dto));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeResponse() throws Exception {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerialize() throws Exception {
+        List<CalendarEventDto> mapped = new ArrayList<>(events.size());
+        for (CalendarEvent event : events) {
+            mapped.add(controller.toDto(event));
+        }
+        return objectMapper.writeValueAsBytes(new ApiResponse<>("SUCCESS", "Fetched events successfully", mapped));
+    }
+}
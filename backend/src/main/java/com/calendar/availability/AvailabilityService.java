@@ -0,0 +1,192 @@
+package com.calendar.availability;
+
+import com.calendar.enums.FetchStatus;
+import com.calendar.exception.CalendarUnavailableException;
+import com.calendar.model.AggregatedBusyTime;
+import com.calendar.model.TimeSlot;
+import com.calendar.service.ICalendarService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Answers free/busy questions from the busy time of every provider. Each user's busy time is kept as a
+ * {@link BusyIntervalIndex}; it is rebuilt when it no longer covers the range asked for or has expired.
+ * Busy time that is missing a provider is used for that one answer but never cached.
+ */
+@Service
+public class AvailabilityService {
+
+    private record UserIndex(BusyIntervalIndex index, LocalDateTime from, LocalDateTime to, long builtAtMillis,
+                             Map<String, FetchStatus> providerStatuses, boolean complete) {
+    }
+
+    private record UserGrid(SlotGrid grid, long builtAtMillis, Map<String, FetchStatus> providerStatuses,
+                            boolean complete) {
+    }
+
+    private static final int DEFAULT_SLOT_MINUTES = 15;
+    private static final int DEFAULT_HORIZON_DAYS = 28;
+
+    private final ICalendarService calendarService;
+    private final WorkingHours workingHours;
+    private final long indexTtlMillis;
+    private final int slotMinutes;
+    private final int horizonDays;
+    private final int bufferMinutes;
+    private final Map<String, UserIndex> indexes = new ConcurrentHashMap<>();
+    private final Map<String, UserGrid> grids = new ConcurrentHashMap<>();
+
+    @Autowired
+    public AvailabilityService(ICalendarService calendarService,
+                               @Value("${availability.working-hours.start:09:00}") String workdayStart,
+                               @Value("${availability.working-hours.end:17:00}") String workdayEnd,
+                               @Value("${availability.working-hours.days:MONDAY,TUESDAY,WEDNESDAY,THURSDAY,FRIDAY}") List<DayOfWeek> workdays,
+                               @Value("${availability.index-ttl-seconds:30}") long indexTtlSeconds,
+                               @Value("${availability.grid.slot-minutes:15}") int slotMinutes,
+                               @Value("${availability.grid.horizon-days:28}") int horizonDays,
+                               @Value("${availability.grid.buffer-minutes:0}") int bufferMinutes) {
+        this(calendarService,
+            new WorkingHours(LocalTime.parse(workdayStart), LocalTime.parse(workdayEnd), EnumSet.copyOf(workdays)),
+            indexTtlSeconds * 1000, slotMinutes, horizonDays, bufferMinutes);
+    }
+
+    public AvailabilityService(ICalendarService calendarService, WorkingHours workingHours, long indexTtlMillis) {
+        this(calendarService, workingHours, indexTtlMillis, DEFAULT_SLOT_MINUTES, DEFAULT_HORIZON_DAYS, 0);
+    }
+
+    public AvailabilityService(ICalendarService calendarService, WorkingHours workingHours, long indexTtlMillis,
+                               int slotMinutes, int horizonDays, int bufferMinutes) {
+        this.calendarService = calendarService;
+        this.workingHours = workingHours;
+        this.indexTtlMillis = indexTtlMillis;
+        this.slotMinutes = slotMinutes;
+        this.horizonDays = horizonDays;
+        this.bufferMinutes = bufferMinutes;
+    }
+
+    /**
+     * Find free windows of at least the given length between start and end, within working hours
+     */
+    public AvailableSlots findFreeSlots(String userId, LocalDateTime start, LocalDateTime end, Duration length) {
+        UserIndex userIndex = userIndex(userId, start, end);
+        BusyIntervalIndex index = userIndex.index();
+        long minLength = Math.max(1, length.toMinutes());
+        List<TimeSlot> slots = new ArrayList<>();
+        workingHours.forEachWindow(BusyIntervalIndex.toMinuteCeil(start), BusyIntervalIndex.toMinute(end),
+            (windowStart, windowEnd) -> index.forEachFreeGap(windowStart, windowEnd, minLength,
+                (gapStart, gapEnd) -> slots.add(new TimeSlot(
+                    BusyIntervalIndex.fromMinute(gapStart), BusyIntervalIndex.fromMinute(gapEnd)))));
+        return new AvailableSlots(slots, userIndex.providerStatuses(), userIndex.complete());
+    }
+
+    /**
+     * Bookable slots of exactly the given length between start and end, aligned to the slot grid and
+     * honouring working hours and buffers. Only the part of the range inside the grid horizon is searched.
+     */
+    public AvailableSlots findOpenSlots(String userId, LocalDateTime start, LocalDateTime end, Duration length) {
+        UserGrid userGrid = userGrid(userId);
+        SlotGrid grid = userGrid.grid();
+        int slotsNeeded = (int) Math.max(1, -Math.floorDiv(-length.toMinutes(), grid.getSlotMinutes()));
+        SlotGrid starts = grid.runStarts(slotsNeeded);
+        int lastStart = Math.min(grid.getSlotCount(), grid.slotOf(end) - slotsNeeded + 1);
+
+        List<TimeSlot> slots = new ArrayList<>();
+        int slot = starts.nextFreeSlot(Math.max(0, grid.slotOf(start.plusMinutes(grid.getSlotMinutes()).minusNanos(1))));
+        while (slot >= 0 && slot < lastStart) {
+            slots.add(new TimeSlot(grid.slotStart(slot), grid.slotStart(slot + slotsNeeded)));
+            slot = starts.nextFreeSlot(slot + slotsNeeded);
+        }
+        return new AvailableSlots(slots, userGrid.providerStatuses(), userGrid.complete());
+    }
+
+    /**
+     * The user's free slots from the start of today over the configured horizon
+     */
+    public SlotGrid getSlotGrid(String userId) {
+        return userGrid(userId).grid();
+    }
+
+    /**
+     * Same as {@link #getSlotGrid}, for decisions that must not double book: fails with
+     * {@link CalendarUnavailableException} when any of the user's providers could not be read
+     */
+    public SlotGrid getBookableSlotGrid(String userId) {
+        UserGrid userGrid = userGrid(userId);
+        if (!userGrid.complete()) {
+            throw new CalendarUnavailableException("Calendar availability is temporarily unavailable");
+        }
+        return userGrid.grid();
+    }
+
+    private UserGrid userGrid(String userId) {
+        long now = System.currentTimeMillis();
+        LocalDateTime origin = LocalDate.now().atStartOfDay();
+        UserGrid cached = grids.get(userId);
+        if (cached != null && now - cached.builtAtMillis() < indexTtlMillis && cached.grid().getOrigin().equals(origin)) {
+            return cached;
+        }
+        int slotCount = horizonDays * 24 * 60 / slotMinutes;
+        UserIndex index = userIndex(userId, origin, origin.plusDays(horizonDays));
+        SlotGrid grid = SlotGrid.build(origin, slotCount, slotMinutes, workingHours, index.index(), bufferMinutes);
+        UserGrid userGrid = new UserGrid(grid, now, index.providerStatuses(), index.complete());
+        if (userGrid.complete()) {
+            grids.put(userId, userGrid);
+        }
+        return userGrid;
+    }
+
+    /**
+     * Whether the user has nothing booked anywhere in [start, end)
+     */
+    public boolean isFree(String userId, LocalDateTime start, LocalDateTime end) {
+        return !getIndex(userId, start, end)
+            .isBusy(BusyIntervalIndex.toMinute(start), BusyIntervalIndex.toMinuteCeil(end));
+    }
+
+    /**
+     * Busy-time index for the user covering at least the given range
+     */
+    public BusyIntervalIndex getIndex(String userId, LocalDateTime start, LocalDateTime end) {
+        return userIndex(userId, start, end).index();
+    }
+
+    private UserIndex userIndex(String userId, LocalDateTime start, LocalDateTime end) {
+        long now = System.currentTimeMillis();
+        UserIndex cached = indexes.get(userId);
+        if (cached != null && now - cached.builtAtMillis() < indexTtlMillis
+                && !start.isBefore(cached.from()) && !end.isAfter(cached.to())) {
+            return cached;
+        }
+        AggregatedBusyTime busy = calendarService.fetchBusyTimeWithStatus(userId, start, end);
+        UserIndex index = new UserIndex(BusyIntervalIndex.of(busy.getIntervals()), start, end, now,
+            busy.getProviderStatuses(), busy.isComplete());
+        if (index.complete()) {
+            indexes.put(userId, index);
+        }
+        return index;
+    }
+
+    /**
+     * Forget the user's index so the next query sees their latest events
+     */
+    public void invalidate(String userId) {
+        indexes.remove(userId);
+        grids.remove(userId);
+    }
+
+    public WorkingHours getWorkingHours() {
+        return workingHours;
+    }
+}
@@ -0,0 +1,39 @@
+package com.calendar.availability;
+
+import com.calendar.enums.FetchStatus;
+import com.calendar.model.TimeSlot;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Slots found for a user, together with the outcome of reading each provider's busy time. When a provider
+ * could not be read, a slot may still clash with events in that provider's calendar.
+ */
+public class AvailableSlots {
+    private final List<TimeSlot> slots;
+    private final Map<String, FetchStatus> providerStatuses;
+    private final boolean complete;
+
+    public AvailableSlots(List<TimeSlot> slots, Map<String, FetchStatus> providerStatuses, boolean complete) {
+        this.slots = slots;
+        this.providerStatuses = Collections.unmodifiableMap(providerStatuses);
+        this.complete = complete;
+    }
+
+    public List<TimeSlot> getSlots() {
+        return slots;
+    }
+
+    public Map<String, FetchStatus> getProviderStatuses() {
+        return providerStatuses;
+    }
+
+    /**
+     * True when every provider's busy time was read, see {@link com.calendar.model.AggregatedBusyTime#isComplete()}
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+}
@@ -0,0 +1,144 @@
+package com.calendar.availability;
+
+import com.calendar.model.BusyIntervals;
+import com.calendar.model.CalendarEvent;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable index of busy time. Events are flattened into disjoint, sorted intervals stored as two
+ * parallel arrays of epoch minutes, so a lookup is a binary search followed by a walk over the
+ * intervals that actually intersect the query.
+ */
+public final class BusyIntervalIndex {
+
+    /**
+     * Receives an interval as a pair of epoch minutes
+     */
+    @FunctionalInterface
+    public interface GapConsumer {
+        void accept(long startMinute, long endMinute);
+    }
+
+    private static final BusyIntervalIndex EMPTY = new BusyIntervalIndex(new long[0], new long[0]);
+
+    private final long[] starts;
+    private final long[] ends;
+
+    private BusyIntervalIndex(long[] starts, long[] ends) {
+        this.starts = starts;
+        this.ends = ends;
+    }
+
+    /**
+     * Build the index from events of any provider. Cancelled events and events without times are ignored.
+     */
+    public static BusyIntervalIndex of(List<CalendarEvent> events) {
+        return of(BusyIntervals.of(events));
+    }
+
+    /**
+     * Build the index from busy intervals reported by providers, which may overlap and be in any order
+     */
+    public static BusyIntervalIndex of(BusyIntervals busy) {
+        long[][] intervals = new long[busy.size()][];
+        int count = 0;
+        for (int i = 0; i < busy.size(); i++) {
+            long start = Math.floorDiv(busy.getStartSecond(i), 60L);
+            long end = Math.floorDiv(busy.getEndSecond(i) + 59, 60L);
+            if (end > start) {
+                intervals[count++] = new long[] {start, end};
+            }
+        }
+        if (count == 0) {
+            return EMPTY;
+        }
+
+        Arrays.sort(intervals, 0, count, (a, b) -> Long.compare(a[0], b[0]));
+        long[] starts = new long[count];
+        long[] ends = new long[count];
+        int merged = 0;
+        for (int i = 0; i < count; i++) {
+            long[] interval = intervals[i];
+            if (merged > 0 && interval[0] <= ends[merged - 1]) {
+                ends[merged - 1] = Math.max(ends[merged - 1], interval[1]);
+            } else {
+                starts[merged] = interval[0];
+                ends[merged] = interval[1];
+                merged++;
+            }
+        }
+        return new BusyIntervalIndex(Arrays.copyOf(starts, merged), Arrays.copyOf(ends, merged));
+    }
+
+    /**
+     * Whether any busy interval intersects [from, to)
+     */
+    public boolean isBusy(long fromMinute, long toMinute) {
+        int i = firstEndingAfter(fromMinute);
+        return i < starts.length && starts[i] < toMinute;
+    }
+
+    /**
+     * Report every free gap inside [from, to) that is at least minLength minutes long, in order.
+     * Runs in O(log n + k) for k busy intervals intersecting the range.
+     */
+    public void forEachFreeGap(long fromMinute, long toMinute, long minLength, GapConsumer consumer) {
+        long cursor = fromMinute;
+        for (int i = firstEndingAfter(fromMinute); i < starts.length && starts[i] < toMinute; i++) {
+            if (starts[i] - cursor >= minLength) {
+                consumer.accept(cursor, starts[i]);
+            }
+            cursor = Math.max(cursor, ends[i]);
+        }
+        if (toMinute - cursor >= minLength) {
+            consumer.accept(cursor, toMinute);
+        }
+    }
+
+    /**
+     * Report every busy interval intersecting [from, to), unclipped, in order
+     */
+    public void forEachBusy(long fromMinute, long toMinute, GapConsumer consumer) {
+        for (int i = firstEndingAfter(fromMinute); i < starts.length && starts[i] < toMinute; i++) {
+            consumer.accept(starts[i], ends[i]);
+        }
+    }
+
+    public int size() {
+        return starts.length;
+    }
+
+    /**
+     * Index of the first interval whose end is after the given minute
+     */
+    private int firstEndingAfter(long minute) {
+        int low = 0;
+        int high = ends.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ends[mid] <= minute) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    static long toMinute(LocalDateTime time) {
+        return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), 60L);
+    }
+
+    static long toMinuteCeil(LocalDateTime time) {
+        long seconds = time.toEpochSecond(ZoneOffset.UTC) + (time.getNano() > 0 ? 1 : 0);
+        return Math.floorDiv(seconds + 59, 60L);
+    }
+
+    static LocalDateTime fromMinute(long minute) {
+        return LocalDateTime.ofEpochSecond(minute * 60, 0, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,245 @@
+package com.calendar.availability;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+/**
+ * Fixed-size slots over a horizon packed into a {@code long[]}, one bit per slot, set when the slot
+ * is free. Checking a range, intersecting two calendars and finding runs of free slots are done a
+ * word (64 slots) at a time. Instances are immutable; operations return new grids.
+ */
+public final class SlotGrid {
+
+    private final long originMinute;
+    private final int slotMinutes;
+    private final int slotCount;
+    private final long[] words;
+
+    private SlotGrid(long originMinute, int slotMinutes, int slotCount, long[] words) {
+        this.originMinute = originMinute;
+        this.slotMinutes = slotMinutes;
+        this.slotCount = slotCount;
+        this.words = words;
+    }
+
+    /**
+     * Build a grid starting at origin: slots inside working hours are free unless they touch busy
+     * time, where each busy interval is first widened by the buffer on both sides.
+     */
+    public static SlotGrid build(LocalDateTime origin, int slotCount, int slotMinutes,
+                                 WorkingHours workingHours, BusyIntervalIndex busy, int bufferMinutes) {
+        long originMinute = BusyIntervalIndex.toMinute(origin);
+        long endMinute = originMinute + (long) slotCount * slotMinutes;
+        long[] words = new long[(slotCount + 63) >>> 6];
+
+        // A slot is free only if it lies entirely inside a working window
+        workingHours.forEachWindow(originMinute, endMinute, (windowStart, windowEnd) -> setRange(words,
+            (int) ceilDiv(windowStart - originMinute, slotMinutes),
+            (int) ((windowEnd - originMinute) / slotMinutes), true));
+
+        // Any overlap with (buffered) busy time makes the slot unavailable
+        busy.forEachBusy(originMinute - bufferMinutes, endMinute + bufferMinutes, (busyStart, busyEnd) -> {
+            long from = Math.max(originMinute, busyStart - bufferMinutes);
+            long to = Math.min(endMinute, busyEnd + bufferMinutes);
+            if (to > from) {
+                setRange(words, (int) ((from - originMinute) / slotMinutes),
+                    (int) ceilDiv(to - originMinute, slotMinutes), false);
+            }
+        });
+        return new SlotGrid(originMinute, slotMinutes, slotCount, words);
+    }
+
+    public boolean isFree(int slot) {
+        return slot >= 0 && slot < slotCount && (words[slot >>> 6] & (1L << slot)) != 0;
+    }
+
+    /**
+     * Whether every slot in [fromSlot, toSlot) is free
+     */
+    public boolean isRangeFree(int fromSlot, int toSlot) {
+        if (fromSlot < 0 || toSlot > slotCount || fromSlot >= toSlot) {
+            return false;
+        }
+        int firstWord = fromSlot >>> 6;
+        int lastWord = (toSlot - 1) >>> 6;
+        for (int w = firstWord; w <= lastWord; w++) {
+            long mask = -1L;
+            if (w == firstWord) {
+                mask &= -1L << fromSlot;
+            }
+            if (w == lastWord) {
+                mask &= -1L >>> (63 - ((toSlot - 1) & 63));
+            }
+            if ((words[w] & mask) != mask) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Whether the time range lies inside the grid's horizon
+     */
+    public boolean covers(LocalDateTime start, LocalDateTime end) {
+        return BusyIntervalIndex.toMinute(start) >= originMinute
+            && BusyIntervalIndex.toMinuteCeil(end) <= originMinute + (long) slotCount * slotMinutes;
+    }
+
+    /**
+     * Whether the whole time range is free; false if it falls outside the grid
+     */
+    public boolean isFree(LocalDateTime start, LocalDateTime end) {
+        long from = BusyIntervalIndex.toMinute(start) - originMinute;
+        long to = BusyIntervalIndex.toMinuteCeil(end) - originMinute;
+        if (from < 0 || to > (long) slotCount * slotMinutes) {
+            return false;
+        }
+        return isRangeFree((int) (from / slotMinutes), (int) ceilDiv(to, slotMinutes));
+    }
+
+    /**
+     * Slots free in both grids, e.g. to find time that suits several calendars
+     */
+    public SlotGrid intersect(SlotGrid other) {
+        if (other.originMinute != originMinute || other.slotMinutes != slotMinutes || other.slotCount != slotCount) {
+            throw new IllegalArgumentException("Slot grids must share origin, slot size and length");
+        }
+        long[] result = new long[words.length];
+        for (int w = 0; w < words.length; w++) {
+            result[w] = words[w] & other.words[w];
+        }
+        return new SlotGrid(originMinute, slotMinutes, slotCount, result);
+    }
+
+    /**
+     * Grid whose bit i is set when slots i .. i + length - 1 are all free, i.e. the possible start
+     * slots for a meeting of that many slots. Uses O(log length) shift-and passes over the words.
+     */
+    public SlotGrid runStarts(int length) {
+        long[] runs = words.clone();
+        int covered = 1;
+        while (covered < length) {
+            int shift = Math.min(covered, length - covered);
+            long[] shifted = shiftDown(runs, shift);
+            for (int w = 0; w < runs.length; w++) {
+                runs[w] &= shifted[w];
+            }
+            covered += shift;
+        }
+        return new SlotGrid(originMinute, slotMinutes, slotCount, runs);
+    }
+
+    /**
+     * Index of the next set slot at or after fromSlot, or -1
+     */
+    public int nextFreeSlot(int fromSlot) {
+        if (fromSlot >= slotCount) {
+            return -1;
+        }
+        int w = fromSlot >>> 6;
+        long word = words[w] & (-1L << fromSlot);
+        while (true) {
+            if (word != 0) {
+                int slot = (w << 6) + Long.numberOfTrailingZeros(word);
+                return slot < slotCount ? slot : -1;
+            }
+            if (++w == words.length) {
+                return -1;
+            }
+            word = words[w];
+        }
+    }
+
+    public int freeSlotCount() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    public LocalDateTime slotStart(int slot) {
+        return BusyIntervalIndex.fromMinute(originMinute + (long) slot * slotMinutes);
+    }
+
+    public int slotOf(LocalDateTime time) {
+        return (int) Math.floorDiv(BusyIntervalIndex.toMinute(time) - originMinute, (long) slotMinutes);
+    }
+
+    public int getSlotMinutes() {
+        return slotMinutes;
+    }
+
+    public int getSlotCount() {
+        return slotCount;
+    }
+
+    public LocalDateTime getOrigin() {
+        return BusyIntervalIndex.fromMinute(originMinute);
+    }
+
+    /**
+     * End of the horizon, exclusive
+     */
+    public LocalDateTime getEnd() {
+        return BusyIntervalIndex.fromMinute(originMinute + (long) slotCount * slotMinutes);
+    }
+
+    /**
+     * Bit i of the result is bit i + shift of the source
+     */
+    private static long[] shiftDown(long[] source, int shift) {
+        long[] result = new long[source.length];
+        int wordShift = shift >>> 6;
+        int bitShift = shift & 63;
+        for (int w = 0; w + wordShift < source.length; w++) {
+            long low = source[w + wordShift] >>> bitShift;
+            long high = bitShift != 0 && w + wordShift + 1 < source.length
+                ? source[w + wordShift + 1] << (64 - bitShift) : 0L;
+            result[w] = low | high;
+        }
+        return result;
+    }
+
+    private static void setRange(long[] words, int fromSlot, int toSlot, boolean free) {
+        if (fromSlot >= toSlot) {
+            return;
+        }
+        int firstWord = fromSlot >>> 6;
+        int lastWord = (toSlot - 1) >>> 6;
+        for (int w = firstWord; w <= lastWord; w++) {
+            long mask = -1L;
+            if (w == firstWord) {
+                mask &= -1L << fromSlot;
+            }
+            if (w == lastWord) {
+                mask &= -1L >>> (63 - ((toSlot - 1) & 63));
+            }
+            words[w] = free ? words[w] | mask : words[w] & ~mask;
+        }
+    }
+
+    private static long ceilDiv(long value, long divisor) {
+        return -Math.floorDiv(-value, divisor);
+    }
+
+    @Override
+    public String toString() {
+        return "SlotGrid[origin=" + getOrigin() + ", slotMinutes=" + slotMinutes
+            + ", slots=" + slotCount + ", free=" + freeSlotCount() + "]";
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof SlotGrid other)) {
+            return false;
+        }
+        return originMinute == other.originMinute && slotMinutes == other.slotMinutes
+            && slotCount == other.slotCount && Arrays.equals(words, other.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(words) * 31 + Long.hashCode(originMinute);
+    }
+}
@@ -0,0 +1,55 @@
+package com.calendar.availability;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Daily window in which slots may be offered, on the given days of the week
+ */
+public final class WorkingHours {
+
+    private final LocalTime start;
+    private final LocalTime end;
+    private final Set<DayOfWeek> days;
+
+    public WorkingHours(LocalTime start, LocalTime end, Set<DayOfWeek> days) {
+        if (!end.isAfter(start)) {
+            throw new IllegalArgumentException("Working hours must end after they start");
+        }
+        this.start = start;
+        this.end = end;
+        this.days = days.isEmpty() ? EnumSet.noneOf(DayOfWeek.class) : EnumSet.copyOf(days);
+    }
+
+    /**
+     * Report the working windows that intersect [from, to), clipped to the range, as epoch minutes
+     */
+    public void forEachWindow(long fromMinute, long toMinute, BusyIntervalIndex.GapConsumer consumer) {
+        LocalDate lastDay = BusyIntervalIndex.fromMinute(toMinute - 1).toLocalDate();
+        for (LocalDate day = BusyIntervalIndex.fromMinute(fromMinute).toLocalDate(); !day.isAfter(lastDay); day = day.plusDays(1)) {
+            if (!days.contains(day.getDayOfWeek())) {
+                continue;
+            }
+            long windowStart = Math.max(fromMinute, BusyIntervalIndex.toMinute(day.atTime(start)));
+            long windowEnd = Math.min(toMinute, BusyIntervalIndex.toMinute(day.atTime(end)));
+            if (windowEnd > windowStart) {
+                consumer.accept(windowStart, windowEnd);
+            }
+        }
+    }
+
+    public LocalTime getStart() {
+        return start;
+    }
+
+    public LocalTime getEnd() {
+        return end;
+    }
+
+    public Set<DayOfWeek> getDays() {
+        return days;
+    }
+}
@@ -0,0 +1,301 @@
+package com.calendar.booking;
+
+import com.calendar.availability.AvailabilityService;
+import com.calendar.availability.SlotGrid;
+import com.calendar.exception.BookingConflictException;
+import com.calendar.metrics.MetricsReporter;
+import com.calendar.model.CalendarEvent;
+import com.calendar.service.ICalendarService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Books slots in an owner's calendar without double booking. A booking first places a hold, which is
+ * checked against the owner's in-memory availability and other holds, and is then confirmed through
+ * {@link ICalendarService#createEvent}. Checks for the same owner and day are serialized on a lock
+ * stripe; unconfirmed holds expire through a timing wheel. The availability grid, which may have to be
+ * fetched from the providers, is built before the stripes are taken; each stripe counts the bookings
+ * confirmed under it, so a grid that was built while one of them was confirmed is checked again.
+ */
+@Service
+public class BookingService implements MetricsReporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingService.class);
+
+    private final ICalendarService calendarService;
+    private final AvailabilityService availabilityService;
+    private final StripedLocks locks;
+    private final AtomicLongArray stripeVersions;
+    private final HoldTimingWheel wheel;
+    private final Duration holdDuration;
+    private final Clock clock;
+    private final ScheduledExecutorService ticker;
+
+    private final Map<String, Hold> holds = new ConcurrentHashMap<>();
+    private final Map<String, Set<Hold>> holdsByOwner = new ConcurrentHashMap<>();
+
+    private final AtomicLong holdsPlaced = new AtomicLong();
+    private final AtomicLong holdsExpired = new AtomicLong();
+    private final AtomicLong bookingsConfirmed = new AtomicLong();
+    private final AtomicLong conflicts = new AtomicLong();
+    private final AtomicLong staleGrids = new AtomicLong();
+
+    @Autowired
+    public BookingService(ICalendarService calendarService,
+                          AvailabilityService availabilityService,
+                          @Value("${booking.hold-seconds:300}") long holdSeconds,
+                          @Value("${booking.lock-stripes:64}") int lockStripes,
+                          @Value("${booking.wheel.size:512}") int wheelSize,
+                          @Value("${booking.wheel.tick-ms:1000}") long tickMillis) {
+        this(calendarService, availabilityService, Duration.ofSeconds(holdSeconds), lockStripes, wheelSize, tickMillis,
+            Clock.systemUTC(), true);
+    }
+
+    public BookingService(ICalendarService calendarService, AvailabilityService availabilityService,
+                          Duration holdDuration, int lockStripes, int wheelSize, long tickMillis,
+                          Clock clock, boolean startTicker) {
+        this.calendarService = calendarService;
+        this.availabilityService = availabilityService;
+        this.holdDuration = holdDuration;
+        this.clock = clock;
+        this.locks = new StripedLocks(lockStripes);
+        this.stripeVersions = new AtomicLongArray(locks.size());
+        this.wheel = new HoldTimingWheel(wheelSize, tickMillis, clock, this::expire);
+        if (startTicker) {
+            this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "booking-hold-wheel");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.ticker.scheduleAtFixedRate(wheel::advance, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.ticker = null;
+        }
+    }
+
+    /**
+     * Reserve [start, end) in the owner's calendar. Fails with {@link BookingConflictException} if the
+     * range is not free in the owner's availability or overlaps another pending hold, and with
+     * {@link IllegalArgumentException} if it lies outside the bookable window of the availability grid.
+     */
+    public Hold placeHold(String ownerId, LocalDateTime start, LocalDateTime end) {
+        if (!end.isAfter(start)) {
+            throw new IllegalArgumentException("Booking must end after it starts");
+        }
+        int[] stripes = stripesFor(ownerId, start, end);
+        while (true) {
+            long[] versions = versionsOf(stripes);
+            SlotGrid grid = availabilityService.getBookableSlotGrid(ownerId);
+            if (!grid.covers(start, end)) {
+                throw new IllegalArgumentException("Booking is outside the bookable window from "
+                    + grid.getOrigin() + " to " + grid.getEnd());
+            }
+            locks.lock(stripes);
+            try {
+                if (!Arrays.equals(versions, versionsOf(stripes))) {
+                    // A booking on these days was confirmed while the grid was built; it may not show it
+                    staleGrids.incrementAndGet();
+                    continue;
+                }
+                for (Hold other : holdsByOwner.getOrDefault(ownerId, Set.of())) {
+                    if (other.overlaps(start, end)) {
+                        conflicts.incrementAndGet();
+                        throw new BookingConflictException("Slot is currently held by another booking");
+                    }
+                }
+                if (!grid.isFree(start, end)) {
+                    conflicts.incrementAndGet();
+                    throw new BookingConflictException("Slot is no longer available");
+                }
+
+                Hold hold = new Hold(UUID.randomUUID().toString(), ownerId, start, end, clock.instant().plus(holdDuration));
+                holds.put(hold.getId(), hold);
+                holdsByOwner.compute(ownerId, (id, ownerHolds) -> {
+                    Set<Hold> updated = ownerHolds != null ? ownerHolds : ConcurrentHashMap.newKeySet();
+                    updated.add(hold);
+                    return updated;
+                });
+                wheel.schedule(hold.getId(), hold.getExpiresAt().toEpochMilli());
+                holdsPlaced.incrementAndGet();
+                return hold;
+            } finally {
+                locks.unlock(stripes);
+            }
+        }
+    }
+
+    /**
+     * Turn a hold into a real event. The event's times are taken from the hold. The provider call is made
+     * outside the lock; the hold keeps the slot reserved meanwhile, and is kept if the call fails.
+     */
+    public List<CalendarEvent> confirm(String holdId, CalendarEvent details) {
+        Hold hold = holds.get(holdId);
+        if (hold == null) {
+            throw new BookingConflictException("Hold " + holdId + " has expired or does not exist");
+        }
+        int[] stripes = stripesFor(hold.getOwnerId(), hold.getStart(), hold.getEnd());
+        locks.lock(stripes);
+        try {
+            if (holds.get(holdId) != hold || hold.isConfirming() || !clock.instant().isBefore(hold.getExpiresAt())) {
+                throw new BookingConflictException("Hold " + holdId + " has expired or is already being confirmed");
+            }
+            hold.setConfirming(true);
+        } finally {
+            locks.unlock(stripes);
+        }
+
+        List<CalendarEvent> created;
+        try {
+            details.setStartTime(hold.getStart());
+            details.setEndTime(hold.getEnd());
+            created = calendarService.createEvent(hold.getOwnerId(), details);
+            if (created.isEmpty()) {
+                throw new IllegalStateException("No calendar provider accepted the booking");
+            }
+        } catch (RuntimeException e) {
+            locks.lock(stripes);
+            try {
+                // Nothing was booked, so the slot stays held for another attempt until the hold runs out
+                hold.setConfirming(false);
+                if (!clock.instant().isBefore(hold.getExpiresAt())) {
+                    // The wheel skipped the hold while it was confirming
+                    removeHold(hold);
+                    holdsExpired.incrementAndGet();
+                }
+            } finally {
+                locks.unlock(stripes);
+            }
+            throw e;
+        }
+
+        locks.lock(stripes);
+        try {
+            removeHold(hold);
+            availabilityService.invalidate(hold.getOwnerId());
+            for (int stripe : stripes) {
+                stripeVersions.incrementAndGet(stripe);
+            }
+        } finally {
+            locks.unlock(stripes);
+        }
+        bookingsConfirmed.incrementAndGet();
+        return created;
+    }
+
+    /**
+     * Give up a hold before it expires
+     */
+    public void release(String holdId) {
+        Hold hold = holds.get(holdId);
+        if (hold == null) {
+            return;
+        }
+        int[] stripes = stripesFor(hold.getOwnerId(), hold.getStart(), hold.getEnd());
+        locks.lock(stripes);
+        try {
+            if (!hold.isConfirming()) {
+                removeHold(hold);
+            }
+        } finally {
+            locks.unlock(stripes);
+        }
+    }
+
+    public Hold getHold(String holdId) {
+        return holds.get(holdId);
+    }
+
+    /**
+     * Advance the hold wheel by hand; used when the background ticker is not running
+     */
+    void tick() {
+        wheel.advance();
+    }
+
+    private void expire(String holdId) {
+        Hold hold = holds.get(holdId);
+        if (hold == null) {
+            return;
+        }
+        int[] stripes = stripesFor(hold.getOwnerId(), hold.getStart(), hold.getEnd());
+        locks.lock(stripes);
+        try {
+            if (!hold.isConfirming() && holds.get(holdId) == hold) {
+                removeHold(hold);
+                holdsExpired.incrementAndGet();
+                logger.debug("Hold {} for {} expired", holdId, hold.getOwnerId());
+            }
+        } finally {
+            locks.unlock(stripes);
+        }
+    }
+
+    /**
+     * Drop the hold, and the owner's entry once their last hold is gone
+     */
+    private void removeHold(Hold hold) {
+        holds.remove(hold.getId(), hold);
+        holdsByOwner.computeIfPresent(hold.getOwnerId(), (id, ownerHolds) -> {
+            ownerHolds.remove(hold);
+            return ownerHolds.isEmpty() ? null : ownerHolds;
+        });
+    }
+
+    private long[] versionsOf(int[] stripes) {
+        long[] versions = new long[stripes.length];
+        for (int i = 0; i < stripes.length; i++) {
+            versions[i] = stripeVersions.get(stripes[i]);
+        }
+        return versions;
+    }
+
+    private int[] stripesFor(String ownerId, LocalDateTime start, LocalDateTime end) {
+        return locks.stripesFor(ownerId, start.toLocalDate(), end.minusNanos(1).toLocalDate());
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "booking";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("activeHolds", holds.size());
+        metrics.put("ownersWithHolds", holdsByOwner.size());
+        metrics.put("pendingTimeouts", wheel.pending());
+        metrics.put("holdsPlaced", holdsPlaced.get());
+        metrics.put("holdsExpired", holdsExpired.get());
+        metrics.put("bookingsConfirmed", bookingsConfirmed.get());
+        metrics.put("conflicts", conflicts.get());
+        metrics.put("staleGridRechecks", staleGrids.get());
+        return metrics;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.calendar.booking;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/**
+ * Short-lived reservation of a slot in an owner's calendar, pending confirmation
+ */
+public class Hold {
+    private final String id;
+    private final String ownerId;
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+    private final Instant expiresAt;
+    private volatile boolean confirming;
+
+    public Hold(String id, String ownerId, LocalDateTime start, LocalDateTime end, Instant expiresAt) {
+        this.id = id;
+        this.ownerId = ownerId;
+        this.start = start;
+        this.end = end;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getOwnerId() {
+        return ownerId;
+    }
+
+    public LocalDateTime getStart() {
+        return start;
+    }
+
+    public LocalDateTime getEnd() {
+        return end;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    boolean isConfirming() {
+        return confirming;
+    }
+
+    void setConfirming(boolean confirming) {
+        this.confirming = confirming;
+    }
+
+    boolean overlaps(LocalDateTime otherStart, LocalDateTime otherEnd) {
+        return start.isBefore(otherEnd) && end.isAfter(otherStart);
+    }
+}
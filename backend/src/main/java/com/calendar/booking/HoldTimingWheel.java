@@ -0,0 +1,79 @@
+package com.calendar.booking;
+
+import java.time.Clock;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel for hold expiry. Scheduling is O(1) and each tick only looks at one bucket,
+ * so thousands of pending holds cost no more than a handful. Deadlines further out than one turn
+ * of the wheel simply stay in their bucket for extra rounds.
+ */
+public class HoldTimingWheel {
+
+    private record Timeout(String holdId, long deadlineTick) {
+    }
+
+    private final Queue<Timeout>[] buckets;
+    private final int mask;
+    private final long tickMillis;
+    private final Clock clock;
+    private final Consumer<String> onExpire;
+    private long lastTick;
+
+    @SuppressWarnings("unchecked")
+    public HoldTimingWheel(int wheelSize, long tickMillis, Clock clock, Consumer<String> onExpire) {
+        int size = Integer.highestOneBit(Math.max(1, wheelSize - 1)) << 1;
+        this.buckets = new Queue[size];
+        for (int i = 0; i < size; i++) {
+            buckets[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.mask = size - 1;
+        this.tickMillis = tickMillis;
+        this.clock = clock;
+        this.onExpire = onExpire;
+        this.lastTick = clock.millis() / tickMillis;
+    }
+
+    /**
+     * Arrange for the hold to be expired on the first tick at or after the deadline
+     */
+    public void schedule(String holdId, long deadlineMillis) {
+        long deadlineTick = Math.max(-Math.floorDiv(-deadlineMillis, tickMillis), clock.millis() / tickMillis + 1);
+        buckets[(int) (deadlineTick & mask)].add(new Timeout(holdId, deadlineTick));
+    }
+
+    /**
+     * Process every tick up to now. Called by the scheduler once per tick; safe to call late.
+     */
+    public synchronized void advance() {
+        long currentTick = clock.millis() / tickMillis;
+        // After a long pause one full turn visits every bucket; further turns would repeat the same work
+        long firstTick = Math.max(lastTick + 1, currentTick - mask);
+        for (long tick = firstTick; tick <= currentTick; tick++) {
+            Iterator<Timeout> timeouts = buckets[(int) (tick & mask)].iterator();
+            while (timeouts.hasNext()) {
+                Timeout timeout = timeouts.next();
+                if (timeout.deadlineTick() <= currentTick) {
+                    timeouts.remove();
+                    onExpire.accept(timeout.holdId());
+                }
+            }
+        }
+        lastTick = Math.max(lastTick, currentTick);
+    }
+
+    public int pending() {
+        int count = 0;
+        for (Queue<Timeout> bucket : buckets) {
+            count += bucket.size();
+        }
+        return count;
+    }
+
+    public long getTickMillis() {
+        return tickMillis;
+    }
+}
@@ -0,0 +1,57 @@
+package com.calendar.booking;
+
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed pool of locks selected by hashing owner and day, so bookings for the same owner and day are
+ * serialized while unrelated bookings rarely contend and no lock is ever allocated per request.
+ */
+public class StripedLocks {
+
+    private final ReentrantLock[] stripes;
+    private final int mask;
+
+    public StripedLocks(int stripeCount) {
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * Stripe indexes guarding every day the range touches, sorted and deduplicated so that callers
+     * locking several stripes always acquire them in the same order
+     */
+    public int[] stripesFor(String ownerId, LocalDate firstDay, LocalDate lastDay) {
+        return firstDay.datesUntil(lastDay.plusDays(1))
+            .mapToInt(day -> stripeIndex(ownerId, day))
+            .sorted()
+            .distinct()
+            .toArray();
+    }
+
+    public void lock(int[] indexes) {
+        for (int index : indexes) {
+            stripes[index].lock();
+        }
+    }
+
+    public void unlock(int[] indexes) {
+        for (int i = indexes.length - 1; i >= 0; i--) {
+            stripes[indexes[i]].unlock();
+        }
+    }
+
+    public int size() {
+        return stripes.length;
+    }
+
+    private int stripeIndex(String ownerId, LocalDate day) {
+        int hash = Objects.hash(ownerId, day);
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
@@ -0,0 +1,113 @@
+package com.calendar.cache;
+
+import com.calendar.metrics.MetricsReporter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Remembers which calendars each user has selected with each provider, so calendar discovery costs
+ * one provider call per user per TTL instead of one per fetch. Holds at most maxEntries lists, evicting
+ * the least recently used; an expired list is dropped when read or when it becomes the eldest entry.
+ */
+@Component
+public class CalendarListCache implements MetricsReporter {
+
+    private record ListKey(String userId, String provider) {
+    }
+
+    private record CalendarList(List<String> calendarIds, long expiresAtMillis) {
+    }
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final Clock clock;
+    private final Map<ListKey, CalendarList> lists;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong discoveries = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    @Autowired
+    public CalendarListCache(@Value("${calendar.discovery.max-entries:10000}") int maxEntries,
+                             @Value("${calendar.discovery.ttl-seconds:900}") long ttlSeconds) {
+        this(maxEntries, Duration.ofSeconds(ttlSeconds), Clock.systemUTC());
+    }
+
+    public CalendarListCache(int maxEntries, Duration ttl, Clock clock) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttl.toMillis();
+        this.clock = clock;
+        this.lists = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ListKey, CalendarList> eldest) {
+                if (size() > CalendarListCache.this.maxEntries
+                        || eldest.getValue().expiresAtMillis() <= CalendarListCache.this.clock.millis()) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * The user's calendar ids with the provider, discovering them again once the cached list expires
+     */
+    public List<String> get(String userId, String provider, Supplier<List<String>> discover) {
+        ListKey key = new ListKey(userId, provider);
+        long now = clock.millis();
+        synchronized (lists) {
+            CalendarList cached = lists.get(key);
+            if (cached != null && cached.expiresAtMillis() > now) {
+                hits.incrementAndGet();
+                return cached.calendarIds();
+            }
+            if (cached != null) {
+                lists.remove(key);
+            }
+        }
+        // Discover outside the lock; concurrent misses for one user may both call the provider
+        discoveries.incrementAndGet();
+        List<String> calendarIds = List.copyOf(discover.get());
+        synchronized (lists) {
+            lists.put(key, new CalendarList(calendarIds, clock.millis() + ttlMillis));
+        }
+        return calendarIds;
+    }
+
+    /**
+     * Forget the user's calendars with the provider, e.g. after one of them could not be read
+     */
+    public void invalidate(String userId, String provider) {
+        synchronized (lists) {
+            lists.remove(new ListKey(userId, provider));
+        }
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "calendarListCache";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        synchronized (lists) {
+            metrics.put("entries", lists.size());
+        }
+        metrics.put("maxEntries", maxEntries);
+        metrics.put("hits", hits.get());
+        metrics.put("discoveries", discoveries.get());
+        metrics.put("evictions", evictions.get());
+        return metrics;
+    }
+}
@@ -0,0 +1,115 @@
+package com.calendar.cache;
+
+import com.calendar.metrics.MetricsReporter;
+import com.calendar.model.CalendarEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight coalescing of provider event fetches. Concurrent calls for the same user, provider
+ * and range share the request already in flight instead of each going to the provider; the entry is
+ * dropped as soon as that request completes, so nothing is cached beyond its lifetime.
+ */
+@Component
+public class RequestCoalescer implements MetricsReporter {
+
+    private record FetchKey(String userId, String provider, LocalDateTime start, LocalDateTime end) {
+    }
+
+    private final boolean enabled;
+    private final Map<FetchKey, CompletableFuture<List<CalendarEvent>>> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong executions = new AtomicLong();
+    private final AtomicLong deduplicated = new AtomicLong();
+
+    @Autowired
+    public RequestCoalescer(@Value("${calendar.fetch.coalesce:true}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Return the provider's events for the range, joining an identical fetch if one is in flight
+     */
+    public List<CalendarEvent> fetch(String userId, String provider, LocalDateTime start, LocalDateTime end,
+                                     Supplier<List<CalendarEvent>> loader) {
+        calls.incrementAndGet();
+        if (!enabled) {
+            executions.incrementAndGet();
+            return loader.get();
+        }
+
+        FetchKey key = new FetchKey(userId, provider, start, end);
+        CompletableFuture<List<CalendarEvent>> own = new CompletableFuture<>();
+        CompletableFuture<List<CalendarEvent>> existing = inFlight.putIfAbsent(key, own);
+        if (existing != null) {
+            deduplicated.incrementAndGet();
+            return await(existing);
+        }
+
+        executions.incrementAndGet();
+        try {
+            List<CalendarEvent> events = loader.get();
+            own.complete(events);
+            return events;
+        } catch (RuntimeException | Error e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+
+    public long getCalls() {
+        return calls.get();
+    }
+
+    public long getDeduplicated() {
+        return deduplicated.get();
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "requestCoalescer";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("enabled", enabled);
+        metrics.put("calls", calls.get());
+        metrics.put("providerExecutions", executions.get());
+        metrics.put("deduplicatedCalls", deduplicated.get());
+        metrics.put("inFlight", inFlight.size());
+        return metrics;
+    }
+
+    private List<CalendarEvent> await(CompletableFuture<List<CalendarEvent>> shared) {
+        try {
+            return shared.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a shared provider fetch", e);
+        } catch (ExecutionException e) {
+            // Followers see the leader's failure as if they had made the call themselves
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new RuntimeException("Shared provider fetch failed", e.getCause());
+        }
+    }
+}
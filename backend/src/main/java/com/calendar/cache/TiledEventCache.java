@@ -0,0 +1,335 @@
+package com.calendar.cache;
+
+import com.calendar.metrics.MetricsReporter;
+import com.calendar.model.CalendarEvent;
+import com.calendar.model.CompactEvent;
+import com.calendar.model.StringInterner;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches provider events in fixed, aligned time tiles per user and provider. A requested range is
+ * split into tiles; cached tiles are reused and only runs of missing tiles go to the provider, so
+ * overlapping sliding windows mostly hit the cache. Tiles expire after a TTL and the least recently
+ * used ones are evicted once the cache is full. Tiles hold events in their compact form; full events
+ * are only built for the ones a read returns.
+ */
+@Component
+public class TiledEventCache implements MetricsReporter {
+
+    /**
+     * Load events from the provider for a tile-aligned range
+     */
+    @FunctionalInterface
+    public interface TileLoader {
+        List<CalendarEvent> load(LocalDateTime start, LocalDateTime end);
+    }
+
+    private static final int DEFAULT_MAX_INTERNED_STRINGS = 100_000;
+
+    private record TileKey(String userId, String provider, long tileIndex) {
+    }
+
+    private record Tile(List<CompactEvent> events, long expiresAtMillis) {
+    }
+
+    /**
+     * Write generation and tile count of a user that has cached tiles
+     */
+    private static final class UserTiles {
+        private final long generation;
+        private int count;
+
+        private UserTiles(long generation) {
+            this.generation = generation;
+        }
+    }
+
+    private final boolean enabled;
+    private final long tileMinutes;
+    private final int maxTiles;
+    private final long ttlMillis;
+    private final Clock clock;
+    private final StringInterner interner;
+    private final Map<TileKey, Tile> tiles;
+    // Both guarded by the tiles lock. Users are tracked only while they have tiles; the rest share one
+    // generation, which every invalidation moves on so a load started before a write is never kept.
+    private final Map<String, UserTiles> users = new HashMap<>();
+    private long sharedGeneration;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong loads = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @Autowired
+    public TiledEventCache(@Value("${calendar.cache.enabled:true}") boolean enabled,
+                           @Value("${calendar.cache.tile-hours:24}") long tileHours,
+                           @Value("${calendar.cache.max-tiles:10000}") int maxTiles,
+                           @Value("${calendar.cache.ttl-seconds:300}") long ttlSeconds,
+                           @Value("${calendar.cache.max-interned-strings:100000}") int maxInternedStrings) {
+        this(enabled, Duration.ofHours(tileHours), maxTiles, Duration.ofSeconds(ttlSeconds), Clock.systemUTC(),
+            maxInternedStrings);
+    }
+
+    public TiledEventCache(boolean enabled, Duration tileSize, int maxTiles, Duration ttl, Clock clock) {
+        this(enabled, tileSize, maxTiles, ttl, clock, DEFAULT_MAX_INTERNED_STRINGS);
+    }
+
+    public TiledEventCache(boolean enabled, Duration tileSize, int maxTiles, Duration ttl, Clock clock,
+                           int maxInternedStrings) {
+        this.enabled = enabled;
+        this.tileMinutes = Math.max(1, tileSize.toMinutes());
+        this.maxTiles = maxTiles;
+        this.ttlMillis = ttl.toMillis();
+        this.clock = clock;
+        this.interner = new StringInterner(maxInternedStrings);
+        this.tiles = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<TileKey, Tile> eldest) {
+                if (size() > TiledEventCache.this.maxTiles) {
+                    evictions.incrementAndGet();
+                    UserTiles user = users.get(eldest.getKey().userId());
+                    if (user != null && --user.count == 0) {
+                        users.remove(eldest.getKey().userId());
+                    }
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Return the provider's events overlapping the range, loading only the tiles that are not cached
+     */
+    public List<CalendarEvent> get(String userId, String provider, LocalDateTime start, LocalDateTime end,
+                                   TileLoader loader) {
+        if (!enabled) {
+            return loader.load(start, end);
+        }
+
+        long firstTile = tileIndex(start);
+        long lastTile = tileIndex(end.minusNanos(1));
+        long now = clock.millis();
+        long generation;
+
+        List<List<CompactEvent>> tileEvents = new ArrayList<>();
+        List<long[]> missingRuns = new ArrayList<>();
+        synchronized (tiles) {
+            generation = generation(userId);
+            for (long index = firstTile; index <= lastTile; index++) {
+                Tile tile = tiles.get(new TileKey(userId, provider, index));
+                if (tile != null && tile.expiresAtMillis() > now) {
+                    hits.incrementAndGet();
+                    tileEvents.add(tile.events());
+                    continue;
+                }
+                misses.incrementAndGet();
+                tileEvents.add(null);
+                if (!missingRuns.isEmpty() && missingRuns.get(missingRuns.size() - 1)[1] == index - 1) {
+                    missingRuns.get(missingRuns.size() - 1)[1] = index;
+                } else {
+                    missingRuns.add(new long[] {index, index});
+                }
+            }
+        }
+
+        // Each contiguous run of missing tiles costs one provider call
+        for (long[] run : missingRuns) {
+            LocalDateTime runStart = tileStart(run[0]);
+            LocalDateTime runEnd = tileStart(run[1] + 1);
+            loads.incrementAndGet();
+            List<List<CompactEvent>> loaded = splitIntoTiles(loader.load(runStart, runEnd), run[0], run[1]);
+            for (int i = 0; i < loaded.size(); i++) {
+                tileEvents.set((int) (run[0] + i - firstTile), loaded.get(i));
+            }
+            store(userId, provider, run[0], loaded, generation);
+        }
+
+        return merge(tileEvents, start, end);
+    }
+
+    /**
+     * Reload every tile touching the range from the provider, replacing whatever is cached. Used by
+     * background sync so that reads find fresh tiles instead of going to the provider inline.
+     */
+    public void refresh(String userId, String provider, LocalDateTime start, LocalDateTime end, TileLoader loader) {
+        if (!enabled) {
+            return;
+        }
+        long firstTile = tileIndex(start);
+        long lastTile = tileIndex(end.minusNanos(1));
+        long generation;
+        synchronized (tiles) {
+            generation = generation(userId);
+        }
+        loads.incrementAndGet();
+        List<CalendarEvent> events = loader.load(tileStart(firstTile), tileStart(lastTile + 1));
+        store(userId, provider, firstTile, splitIntoTiles(events, firstTile, lastTile), generation);
+    }
+
+    /**
+     * Drop every cached tile of the user, e.g. after the user changed an event
+     */
+    public void invalidateUser(String userId) {
+        synchronized (tiles) {
+            tiles.keySet().removeIf(key -> key.userId().equals(userId));
+            users.remove(userId);
+            sharedGeneration++;
+        }
+        invalidations.incrementAndGet();
+    }
+
+    public int size() {
+        synchronized (tiles) {
+            return tiles.size();
+        }
+    }
+
+    /**
+     * Number of users that have cached tiles
+     */
+    public int userCount() {
+        synchronized (tiles) {
+            return users.size();
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getLoads() {
+        return loads.get();
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "tiledEventCache";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("enabled", enabled);
+        metrics.put("tiles", size());
+        metrics.put("users", userCount());
+        metrics.put("tileHits", hits.get());
+        metrics.put("tileMisses", misses.get());
+        metrics.put("providerLoads", loads.get());
+        metrics.put("evictions", evictions.get());
+        metrics.put("userInvalidations", invalidations.get());
+        metrics.put("internedStrings", interner.size());
+        return metrics;
+    }
+
+    private void store(String userId, String provider, long firstIndex, List<List<CompactEvent>> loaded, long generation) {
+        long expiresAt = clock.millis() + ttlMillis;
+        synchronized (tiles) {
+            // A write by the user while we were loading makes this result stale; serve it but don't keep it
+            if (generation(userId) != generation) {
+                return;
+            }
+            UserTiles user = users.computeIfAbsent(userId, id -> new UserTiles(generation));
+            for (int i = 0; i < loaded.size(); i++) {
+                // Counted before the put so evicting the user's eldest tile cannot drop them meanwhile
+                user.count++;
+                if (tiles.put(new TileKey(userId, provider, firstIndex + i), new Tile(List.copyOf(loaded.get(i)), expiresAt)) != null) {
+                    user.count--;
+                }
+            }
+        }
+    }
+
+    /**
+     * Compact each event once and assign it to every tile it overlaps. All-day events are placed by their
+     * days; events that have neither times nor days cannot be placed and are not cached, as in
+     * {@link com.calendar.store.SyncPartition}.
+     */
+    private List<List<CompactEvent>> splitIntoTiles(List<CalendarEvent> events, long firstIndex, long lastIndex) {
+        List<List<CompactEvent>> split = new ArrayList<>();
+        for (long index = firstIndex; index <= lastIndex; index++) {
+            split.add(new ArrayList<>());
+        }
+        for (CalendarEvent event : events) {
+            CompactEvent compact = CompactEvent.of(event, interner);
+            if (!compact.hasInterval()) {
+                continue;
+            }
+            long from = Math.max(firstIndex, tileIndex(compact.getStartSecond()));
+            long to = Math.min(lastIndex, tileIndex(compact.getEndSecond() > compact.getStartSecond()
+                ? compact.getEndSecond() - 1 : compact.getStartSecond()));
+            for (long index = from; index <= to; index++) {
+                split.get((int) (index - firstIndex)).add(compact);
+            }
+        }
+        return split;
+    }
+
+    private List<CalendarEvent> merge(List<List<CompactEvent>> tileEvents, LocalDateTime start, LocalDateTime end) {
+        long startSecond = CompactEvent.toSecond(start);
+        long endSecond = CompactEvent.toSecond(end);
+        Map<Object, CompactEvent> merged = new LinkedHashMap<>();
+        for (List<CompactEvent> events : tileEvents) {
+            for (CompactEvent event : events) {
+                if (overlaps(event, startSecond, endSecond)) {
+                    // Events spanning several tiles are stored in each of them
+                    merged.putIfAbsent(event.getId() != null ? event.getId() : event, event);
+                }
+            }
+        }
+        List<CalendarEvent> result = new ArrayList<>(merged.size());
+        for (CompactEvent event : merged.values()) {
+            result.add(event.toCalendarEvent());
+        }
+        return result;
+    }
+
+    private boolean overlaps(CompactEvent event, long startSecond, long endSecond) {
+        if (!event.hasInterval()) {
+            return false;
+        }
+        if (event.getEndSecond() > event.getStartSecond()) {
+            return event.getStartSecond() < endSecond && event.getEndSecond() > startSecond;
+        }
+        return event.getStartSecond() >= startSecond && event.getStartSecond() < endSecond;
+    }
+
+    /**
+     * Must be called holding the tiles lock
+     */
+    private long generation(String userId) {
+        UserTiles user = users.get(userId);
+        return user != null ? user.generation : sharedGeneration;
+    }
+
+    private long tileIndex(LocalDateTime time) {
+        return tileIndex(time.toEpochSecond(ZoneOffset.UTC));
+    }
+
+    private long tileIndex(long epochSecond) {
+        return Math.floorDiv(Math.floorDiv(epochSecond, 60L), tileMinutes);
+    }
+
+    private LocalDateTime tileStart(long index) {
+        return LocalDateTime.ofEpochSecond(index * tileMinutes * 60, 0, ZoneOffset.UTC);
+    }
+}
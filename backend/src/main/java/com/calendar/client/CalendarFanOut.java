@@ -0,0 +1,309 @@
+package com.calendar.client;
+
+import com.calendar.metrics.MetricsReporter;
+import com.calendar.model.CalendarEvent;
+import com.calendar.model.SortedEventMerge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Fetches several calendars of one account in parallel and merges them into a single list ordered by
+ * start time. A per-user semaphore caps how many calendar requests one user has in flight across all
+ * of their concurrent fetches, so a user with many shared calendars cannot take over the pool; it is
+ * dropped once the user has no fetch running. A failing secondary calendar is left out of the result
+ * and reported; only a failure of the primary calendar fails the fetch.
+ */
+@Component
+public class CalendarFanOut implements MetricsReporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(CalendarFanOut.class);
+
+    /**
+     * Merged events of the calendars that could be read, and the ids of those that could not
+     */
+    public record Result(List<CalendarEvent> events, List<String> failedCalendarIds) {
+
+        public boolean isPartial() {
+            return !failedCalendarIds.isEmpty();
+        }
+    }
+
+    /**
+     * A user's semaphore and the number of fetches currently using it
+     */
+    private static final class UserPermits {
+        private final Semaphore semaphore;
+        private int fetches;
+
+        UserPermits(int permits) {
+            this.semaphore = new Semaphore(permits);
+        }
+    }
+
+    private final ExecutorService executor;
+    private final int perUserConcurrency;
+    private final Map<String, UserPermits> permits = new ConcurrentHashMap<>();
+
+    private final AtomicLong failedCalendars = new AtomicLong();
+    private final AtomicLong rejectedPrefetches = new AtomicLong();
+
+    @Autowired
+    public CalendarFanOut(@Qualifier("calendarFanOutExecutor") ExecutorService executor,
+                          @Value("${calendar.fanout.per-user-concurrency:4}") int perUserConcurrency) {
+        this.executor = executor;
+        this.perUserConcurrency = Math.max(1, perUserConcurrency);
+    }
+
+    /**
+     * Load every calendar and merge the results by start time. Each loader result must itself be
+     * sorted by start time. The first calendar is the primary one: if it fails, the others are
+     * cancelled and its failure is thrown. Other calendars that fail are listed in the result.
+     */
+    public Result fetchMerged(String userId, List<String> calendarIds,
+                              Function<String, List<CalendarEvent>> loader) {
+        if (calendarIds.size() == 1) {
+            return new Result(loader.apply(calendarIds.get(0)), List.of());
+        }
+
+        Semaphore userPermits = enter(userId);
+        List<Future<List<CalendarEvent>>> pending = new ArrayList<>(calendarIds.size());
+        try {
+            // Acquire on the calling thread so waiting for a permit never ties up a pool thread
+            for (String calendarId : calendarIds) {
+                userPermits.acquire();
+                try {
+                    pending.add(executor.submit(() -> {
+                        try {
+                            return loader.apply(calendarId);
+                        } finally {
+                            userPermits.release();
+                        }
+                    }));
+                } catch (RejectedExecutionException e) {
+                    userPermits.release();
+                    throw e;
+                }
+            }
+
+            List<List<CalendarEvent>> results = new ArrayList<>(pending.size());
+            List<String> failed = new ArrayList<>();
+            for (int i = 0; i < pending.size(); i++) {
+                try {
+                    results.add(pending.get(i).get());
+                } catch (ExecutionException e) {
+                    if (i == 0) {
+                        throw e;
+                    }
+                    failedCalendars.incrementAndGet();
+                    failed.add(calendarIds.get(i));
+                    logger.warn("Could not read calendar {} of {}, leaving it out: {}", calendarIds.get(i), userId,
+                        e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+                }
+            }
+            return new Result(SortedEventMerge.merge(results), failed);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while fetching calendars", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RuntimeException("Failed to fetch calendar", e.getCause());
+        } finally {
+            for (Future<List<CalendarEvent>> future : pending) {
+                future.cancel(true);
+            }
+            leave(userId);
+        }
+    }
+
+    /**
+     * Stream every calendar and merge them lazily by start time, so no calendar is read further ahead
+     * than the pages its own stream holds. Every stream is needed for the merge, so they are all opened
+     * at once, but the executor handed to the opener only runs a page fetch on the prefetch pool while
+     * the user has a permit free; beyond the per-user cap a fetch is refused and runs on the consuming
+     * thread when its page is needed. As in {@link #fetchMerged}, a failure of the first calendar is
+     * thrown, while another calendar that fails is dropped from the rest of the stream and passed to
+     * onFailure. Closing the returned stream closes every calendar stream.
+     */
+    public Stream<CalendarEvent> streamMerged(String userId, List<String> calendarIds, Executor prefetchExecutor,
+                                              BiFunction<String, Executor, Stream<CalendarEvent>> opener,
+                                              Consumer<String> onFailure) {
+        if (calendarIds.size() == 1) {
+            return opener.apply(calendarIds.get(0), prefetchExecutor);
+        }
+
+        Semaphore userPermits = enter(userId);
+        Executor userExecutor = prefetchExecutor != null ? permitGated(userPermits, prefetchExecutor) : null;
+        List<Stream<CalendarEvent>> streams = new ArrayList<>(calendarIds.size());
+        List<Iterator<CalendarEvent>> sources = new ArrayList<>(calendarIds.size());
+        Runnable closeAll = () -> {
+            try {
+                streams.forEach(Stream::close);
+            } finally {
+                leave(userId);
+            }
+        };
+        try {
+            for (int i = 0; i < calendarIds.size(); i++) {
+                String calendarId = calendarIds.get(i);
+                Stream<CalendarEvent> events;
+                try {
+                    events = opener.apply(calendarId, userExecutor);
+                } catch (RuntimeException e) {
+                    if (i == 0) {
+                        throw e;
+                    }
+                    dropCalendar(userId, calendarId, e, onFailure);
+                    continue;
+                }
+                streams.add(events);
+                sources.add(i == 0 ? events.iterator() : new DroppingIterator(userId, calendarId, events.iterator(), onFailure));
+            }
+        } catch (RuntimeException e) {
+            closeAll.run();
+            throw e;
+        }
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(SortedEventMerge.mergeIterators(sources),
+                    Spliterator.ORDERED | Spliterator.NONNULL), false)
+            .onClose(closeAll);
+    }
+
+    /**
+     * Run tasks on the executor only while a permit is free, releasing it when the task ends. Without a
+     * free permit the task is rejected rather than queued, so the caller runs it itself.
+     */
+    private Executor permitGated(Semaphore userPermits, Executor executor) {
+        return task -> {
+            if (!userPermits.tryAcquire()) {
+                rejectedPrefetches.incrementAndGet();
+                throw new RejectedExecutionException("Per-user prefetch cap reached");
+            }
+            try {
+                executor.execute(() -> {
+                    try {
+                        task.run();
+                    } finally {
+                        userPermits.release();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                userPermits.release();
+                throw e;
+            }
+        };
+    }
+
+    /**
+     * Secondary calendar source that ends, instead of failing the merge, when its calendar cannot be
+     * read. It reads one event ahead so that a failure always surfaces in hasNext.
+     */
+    private final class DroppingIterator implements Iterator<CalendarEvent> {
+        private final String userId;
+        private final String calendarId;
+        private final Iterator<CalendarEvent> events;
+        private final Consumer<String> onFailure;
+        private CalendarEvent lookahead;
+        private boolean done;
+
+        DroppingIterator(String userId, String calendarId, Iterator<CalendarEvent> events, Consumer<String> onFailure) {
+            this.userId = userId;
+            this.calendarId = calendarId;
+            this.events = events;
+            this.onFailure = onFailure;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (lookahead == null && !done) {
+                try {
+                    if (events.hasNext()) {
+                        lookahead = events.next();
+                    } else {
+                        done = true;
+                    }
+                } catch (RuntimeException e) {
+                    done = true;
+                    dropCalendar(userId, calendarId, e, onFailure);
+                }
+            }
+            return lookahead != null;
+        }
+
+        @Override
+        public CalendarEvent next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            CalendarEvent event = lookahead;
+            lookahead = null;
+            return event;
+        }
+    }
+
+    private void dropCalendar(String userId, String calendarId, RuntimeException e, Consumer<String> onFailure) {
+        failedCalendars.incrementAndGet();
+        logger.warn("Could not read calendar {} of {}, leaving it out: {}", calendarId, userId, e.getMessage());
+        onFailure.accept(calendarId);
+    }
+
+    /**
+     * Users that currently have a fetch running
+     */
+    public int activeUsers() {
+        return permits.size();
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "calendarFanOut";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("activeUsers", permits.size());
+        metrics.put("failedCalendars", failedCalendars.get());
+        metrics.put("rejectedPrefetches", rejectedPrefetches.get());
+        return metrics;
+    }
+
+    private Semaphore enter(String userId) {
+        return permits.compute(userId, (id, current) -> {
+            UserPermits userPermits = current != null ? current : new UserPermits(perUserConcurrency);
+            userPermits.fetches++;
+            return userPermits;
+        }).semaphore;
+    }
+
+    private void leave(String userId) {
+        permits.computeIfPresent(userId, (id, current) -> --current.fetches == 0 ? null : current);
+    }
+}
@@ -0,0 +1,97 @@
+package com.calendar.client;
+
+import com.calendar.metrics.MetricsReporter;
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.http.javanet.NetHttpTransport;
+import com.google.api.client.json.JsonFactory;
+import com.google.api.client.json.gson.GsonFactory;
+import com.google.api.services.calendar.Calendar;
+import com.google.auth.http.HttpCredentialsAdapter;
+import com.google.auth.oauth2.AccessToken;
+import com.google.auth.oauth2.OAuth2Credentials;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Builds Google Calendar clients on top of a single shared HTTP transport and caches one
+ * client per access token until that token expires.
+ */
+@Component
+public class GoogleCalendarClientFactory implements MetricsReporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(GoogleCalendarClientFactory.class);
+
+    private final HttpTransport httpTransport;
+    private final JsonFactory jsonFactory = GsonFactory.getDefaultInstance();
+    private final String applicationName;
+    private final TokenScopedClientCache<Calendar> clients;
+
+    @Autowired
+    public GoogleCalendarClientFactory(
+            @Value("${google.calendar.application-name}") String applicationName,
+            @Value("${google.calendar.http2-enabled:false}") boolean http2Enabled,
+            @Value("${google.calendar.connect-timeout-ms:10000}") long connectTimeoutMs,
+            @Value("${google.calendar.client-cache-size:1000}") int clientCacheSize) {
+        this.applicationName = applicationName;
+        this.httpTransport = http2Enabled
+                ? new JdkHttp2Transport(Duration.ofMillis(connectTimeoutMs))
+                : new NetHttpTransport();
+        this.clients = new TokenScopedClientCache<>(clientCacheSize);
+    }
+
+    /**
+     * Return the Calendar client for the access token, reusing the cached one while the token is valid
+     */
+    public Calendar getCalendar(OAuth2AccessToken accessToken) {
+        return clients.get(accessToken, this::buildCalendar);
+    }
+
+    private Calendar buildCalendar(OAuth2AccessToken accessToken) {
+        Date expiresAt = accessToken.getExpiresAt() != null ? Date.from(accessToken.getExpiresAt()) : null;
+        OAuth2Credentials credentials = OAuth2Credentials.create(
+            new AccessToken(accessToken.getTokenValue(), expiresAt));
+
+        return new Calendar.Builder(
+            httpTransport,
+            jsonFactory,
+            new HttpCredentialsAdapter(credentials))
+            .setApplicationName(applicationName)
+            .build();
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "googleCalendarClients";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("transport", httpTransport.getClass().getSimpleName());
+        metrics.put("cachedClients", clients.size());
+        metrics.put("clientCacheHits", clients.getHits());
+        metrics.put("clientCacheMisses", clients.getMisses());
+        metrics.put("clientCacheEvictions", clients.getEvictions());
+        return metrics;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        try {
+            httpTransport.shutdown();
+        } catch (IOException e) {
+            logger.warn("Failed to shut down Google HTTP transport: {}", e.getMessage());
+        }
+    }
+}
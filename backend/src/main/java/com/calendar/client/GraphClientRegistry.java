@@ -0,0 +1,114 @@
+package com.calendar.client;
+
+import com.azure.core.credential.AccessToken;
+import com.azure.core.credential.TokenCredential;
+import com.calendar.metrics.MetricsReporter;
+import com.microsoft.graph.authentication.TokenCredentialAuthProvider;
+import com.microsoft.graph.httpcore.AuthenticationHandler;
+import com.microsoft.graph.httpcore.HttpClients;
+import com.microsoft.graph.httpcore.RedirectHandler;
+import com.microsoft.graph.httpcore.RetryHandler;
+import com.microsoft.graph.requests.GraphServiceClient;
+import jakarta.annotation.PreDestroy;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hands out Microsoft Graph clients that all share one OkHttp connection pool and dispatcher.
+ * An authenticated client is cached per access token until that token expires.
+ */
+@Component
+public class GraphClientRegistry implements MetricsReporter {
+
+    private final ConnectionPool connectionPool;
+    private final Dispatcher dispatcher;
+    private final OkHttpClient baseHttpClient;
+    private final TokenScopedClientCache<GraphServiceClient<Request>> clients;
+
+    @Autowired
+    public GraphClientRegistry(
+            @Value("${outlook.http.max-idle-connections:20}") int maxIdleConnections,
+            @Value("${outlook.http.keep-alive-seconds:300}") long keepAliveSeconds,
+            @Value("${outlook.http.max-requests:64}") int maxRequests,
+            @Value("${outlook.http.max-requests-per-host:32}") int maxRequestsPerHost,
+            @Value("${outlook.client-cache-size:1000}") int clientCacheSize) {
+        this.connectionPool = new ConnectionPool(maxIdleConnections, keepAliveSeconds, TimeUnit.SECONDS);
+        this.dispatcher = new Dispatcher();
+        this.dispatcher.setMaxRequests(maxRequests);
+        this.dispatcher.setMaxRequestsPerHost(maxRequestsPerHost);
+        this.baseHttpClient = HttpClients.custom()
+                .connectionPool(connectionPool)
+                .dispatcher(dispatcher)
+                .build();
+        this.clients = new TokenScopedClientCache<>(clientCacheSize);
+    }
+
+    /**
+     * Return the Graph client for the access token, reusing the cached one while the token is valid
+     */
+    public GraphServiceClient<Request> getClient(OAuth2AccessToken accessToken) {
+        return clients.get(accessToken, this::buildClient);
+    }
+
+    private GraphServiceClient<Request> buildClient(OAuth2AccessToken accessToken) {
+        return GraphServiceClient.builder()
+                .httpClient(httpClient(accessToken))
+                .buildClient();
+    }
+
+    /**
+     * HTTP client for one token with the same middleware chain as HttpClients.createDefault: telemetry,
+     * authentication, then retries of throttled (429/503/504) calls honoring Retry-After, then redirects
+     */
+    OkHttpClient httpClient(OAuth2AccessToken accessToken) {
+        TokenCredential tokenCredential = request -> Mono.just(new AccessToken(
+            accessToken.getTokenValue(),
+            accessToken.getExpiresAt().atOffset(ZoneOffset.UTC)
+        ));
+        TokenCredentialAuthProvider authProvider = new TokenCredentialAuthProvider(tokenCredential);
+
+        // newBuilder() shares the pool and dispatcher
+        return baseHttpClient.newBuilder()
+                .addInterceptor(new AuthenticationHandler(authProvider))
+                .addInterceptor(new RetryHandler())
+                .addInterceptor(new RedirectHandler())
+                .build();
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "outlookGraphClients";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("connections", connectionPool.connectionCount());
+        metrics.put("idleConnections", connectionPool.idleConnectionCount());
+        metrics.put("runningCalls", dispatcher.runningCallsCount());
+        metrics.put("queuedCalls", dispatcher.queuedCallsCount());
+        metrics.put("cachedClients", clients.size());
+        metrics.put("clientCacheHits", clients.getHits());
+        metrics.put("clientCacheMisses", clients.getMisses());
+        metrics.put("clientCacheEvictions", clients.getEvictions());
+        return metrics;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.executorService().shutdown();
+        connectionPool.evictAll();
+    }
+}
@@ -0,0 +1,183 @@
+package com.calendar.client;
+
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.http.LowLevelHttpRequest;
+import com.google.api.client.http.LowLevelHttpResponse;
+import com.google.api.client.util.StreamingContent;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Google HTTP transport backed by the JDK {@link HttpClient}. The client negotiates HTTP/2 and
+ * multiplexes requests over pooled connections, so one instance should be shared application-wide.
+ */
+public class JdkHttp2Transport extends HttpTransport {
+
+    /** Headers the JDK client manages itself and rejects when set by callers */
+    private static final Set<String> RESTRICTED_HEADERS = Set.of(
+            "connection", "content-length", "expect", "host", "upgrade");
+
+    private final HttpClient httpClient;
+
+    public JdkHttp2Transport(Duration connectTimeout) {
+        this(HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(connectTimeout)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build());
+    }
+
+    public JdkHttp2Transport(HttpClient httpClient) {
+        this.httpClient = httpClient;
+    }
+
+    @Override
+    public boolean supportsMethod(String method) {
+        return true;
+    }
+
+    @Override
+    protected LowLevelHttpRequest buildRequest(String method, String url) {
+        return new JdkHttpRequest(httpClient, method, url);
+    }
+
+    private static final class JdkHttpRequest extends LowLevelHttpRequest {
+        private final HttpClient httpClient;
+        private final String method;
+        private final String url;
+        private final HttpRequest.Builder builder;
+
+        private JdkHttpRequest(HttpClient httpClient, String method, String url) {
+            this.httpClient = httpClient;
+            this.method = method;
+            this.url = url;
+            this.builder = HttpRequest.newBuilder(URI.create(url));
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            if (!RESTRICTED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                builder.header(name, value);
+            }
+        }
+
+        @Override
+        public void setTimeout(int connectTimeout, int readTimeout) {
+            if (readTimeout > 0) {
+                builder.timeout(Duration.ofMillis(readTimeout));
+            }
+        }
+
+        @Override
+        public LowLevelHttpResponse execute() throws IOException {
+            HttpRequest.BodyPublisher body = HttpRequest.BodyPublishers.noBody();
+            // LowLevelHttpRequest only exposes the body as this deprecated type and has no replacement
+            @SuppressWarnings("deprecation")
+            StreamingContent content = getStreamingContent();
+            if (content != null) {
+                ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+                content.writeTo(buffer);
+                body = HttpRequest.BodyPublishers.ofByteArray(buffer.toByteArray());
+                if (getContentType() != null) {
+                    builder.setHeader("Content-Type", getContentType());
+                }
+                if (getContentEncoding() != null) {
+                    builder.setHeader("Content-Encoding", getContentEncoding());
+                }
+            }
+            builder.method(method, body);
+
+            try {
+                return new JdkHttpResponse(httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofInputStream()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while calling " + method + " " + url);
+            }
+        }
+    }
+
+    private static final class JdkHttpResponse extends LowLevelHttpResponse {
+        private final HttpResponse<InputStream> response;
+        private final List<String> headerNames = new ArrayList<>();
+        private final List<String> headerValues = new ArrayList<>();
+
+        private JdkHttpResponse(HttpResponse<InputStream> response) {
+            this.response = response;
+            for (Map.Entry<String, List<String>> header : response.headers().map().entrySet()) {
+                for (String value : header.getValue()) {
+                    headerNames.add(header.getKey());
+                    headerValues.add(value);
+                }
+            }
+        }
+
+        @Override
+        public InputStream getContent() {
+            return response.body();
+        }
+
+        @Override
+        public String getContentEncoding() {
+            return response.headers().firstValue("Content-Encoding").orElse(null);
+        }
+
+        @Override
+        public long getContentLength() {
+            return response.headers().firstValueAsLong("Content-Length").orElse(-1);
+        }
+
+        @Override
+        public String getContentType() {
+            return response.headers().firstValue("Content-Type").orElse(null);
+        }
+
+        @Override
+        public String getStatusLine() {
+            String version = response.version() == HttpClient.Version.HTTP_2 ? "HTTP/2" : "HTTP/1.1";
+            return version + " " + response.statusCode();
+        }
+
+        @Override
+        public int getStatusCode() {
+            return response.statusCode();
+        }
+
+        @Override
+        public String getReasonPhrase() {
+            return null;
+        }
+
+        @Override
+        public int getHeaderCount() {
+            return headerNames.size();
+        }
+
+        @Override
+        public String getHeaderName(int index) {
+            return headerNames.get(index);
+        }
+
+        @Override
+        public String getHeaderValue(int index) {
+            return headerValues.get(index);
+        }
+
+        @Override
+        public void disconnect() throws IOException {
+            response.body().close();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.calendar.client;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Iterates over the pages of a paginated provider API. While the caller works on one page the
+ * next one is already being fetched on the prefetch executor, so at most two pages are held.
+ */
+public class PrefetchingPageIterator<T> implements Iterator<List<T>>, AutoCloseable {
+
+    /**
+     * One page of results and the cursor for the page after it, or null if this is the last one
+     */
+    public record Page<T>(List<T> items, String nextPageToken) {
+    }
+
+    /**
+     * Fetch the page for the given cursor; the cursor is null for the first page
+     */
+    @FunctionalInterface
+    public interface PageFetcher<T> {
+        Page<T> fetch(String pageToken) throws Exception;
+    }
+
+    private final PageFetcher<T> fetcher;
+    private final Executor executor;
+
+    private Future<Page<T>> pending;
+    private String pendingToken;
+    private boolean started;
+    private boolean exhausted;
+
+    public PrefetchingPageIterator(PageFetcher<T> fetcher, Executor executor) {
+        this.fetcher = fetcher;
+        this.executor = executor;
+    }
+
+    /**
+     * Lazily stream every item across all pages. The first page starts loading on the executor right
+     * away, so several streams opened together load their first pages in parallel. Closing the stream
+     * cancels any outstanding prefetch.
+     */
+    public static <T> Stream<T> stream(PageFetcher<T> fetcher, Executor executor) {
+        PrefetchingPageIterator<T> pages = new PrefetchingPageIterator<>(fetcher, executor);
+        pages.hasNext();
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(pages, Spliterator.ORDERED | Spliterator.NONNULL), false)
+            .flatMap(List::stream)
+            .onClose(pages::close);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (!started) {
+            started = true;
+            schedule(null);
+        }
+        return !exhausted;
+    }
+
+    @Override
+    public List<T> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Page<T> page = await();
+        if (page.nextPageToken() == null || page.nextPageToken().isEmpty()) {
+            exhausted = true;
+        } else {
+            schedule(page.nextPageToken());
+        }
+        return page.items() != null ? page.items() : List.of();
+    }
+
+    @Override
+    public void close() {
+        exhausted = true;
+        if (pending != null) {
+            pending.cancel(true);
+            pending = null;
+        }
+    }
+
+    private void schedule(String pageToken) {
+        pendingToken = pageToken;
+        pending = null;
+        if (executor == null) {
+            return;
+        }
+        // A plain FutureTask, unlike a CompletableFuture, interrupts the fetch when close() cancels it
+        FutureTask<Page<T>> task = new FutureTask<>(() -> fetcher.fetch(pageToken));
+        try {
+            executor.execute(task);
+            pending = task;
+        } catch (RejectedExecutionException e) {
+            // Pool is saturated: fetch this page on the caller's thread when it is needed
+            pending = null;
+        }
+    }
+
+    private Page<T> await() {
+        if (pending == null) {
+            try {
+                return fetchUnchecked(pendingToken);
+            } catch (RuntimeException e) {
+                exhausted = true;
+                throw e;
+            }
+        }
+        try {
+            return pending.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            throw new RuntimeException("Interrupted while fetching page", e);
+        } catch (CancellationException e) {
+            exhausted = true;
+            throw new RuntimeException("Page fetch was cancelled", e);
+        } catch (ExecutionException e) {
+            exhausted = true;
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException("Failed to fetch page", e.getCause());
+        } finally {
+            pending = null;
+        }
+    }
+
+    private Page<T> fetchUnchecked(String pageToken) {
+        try {
+            return fetcher.fetch(pageToken);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to fetch page", e);
+        }
+    }
+}
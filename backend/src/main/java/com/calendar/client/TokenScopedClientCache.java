@@ -0,0 +1,125 @@
+package com.calendar.client;
+
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Keeps one provider client per access token so repeated calls for the same user reuse the
+ * authenticated client. Entries are dropped once their token expires; when the cache is full the
+ * entry closest to expiry is evicted.
+ */
+public class TokenScopedClientCache<C> {
+
+    private static final long DEFAULT_LIFETIME_SECONDS = 3600;
+
+    private final Map<String, CachedClient<C>> clients = new ConcurrentHashMap<>();
+    private final int maxEntries;
+    private final Clock clock;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public TokenScopedClientCache(int maxEntries) {
+        this(maxEntries, Clock.systemUTC());
+    }
+
+    public TokenScopedClientCache(int maxEntries, Clock clock) {
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    /**
+     * Return the client cached for the token, building it with the factory when absent or expired
+     */
+    public C get(OAuth2AccessToken token, Function<OAuth2AccessToken, C> factory) {
+        Instant now = clock.instant();
+        CachedClient<C> cached = clients.get(token.getTokenValue());
+        if (cached != null && cached.expiresAt.isAfter(now)) {
+            hits.incrementAndGet();
+            return cached.client;
+        }
+
+        misses.incrementAndGet();
+        Instant expiresAt = token.getExpiresAt() != null
+                ? token.getExpiresAt()
+                : now.plusSeconds(DEFAULT_LIFETIME_SECONDS);
+        CachedClient<C> created = new CachedClient<>(factory.apply(token), expiresAt);
+        if (clients.size() >= maxEntries) {
+            evictExpired(now);
+        }
+        if (clients.size() >= maxEntries) {
+            evictEarliestExpiring();
+        }
+        clients.put(token.getTokenValue(), created);
+        return created.client;
+    }
+
+    public void invalidate(OAuth2AccessToken token) {
+        if (clients.remove(token.getTokenValue()) != null) {
+            evictions.incrementAndGet();
+        }
+    }
+
+    /**
+     * Drop every entry whose token has expired
+     */
+    public void evictExpired() {
+        evictExpired(clock.instant());
+    }
+
+    public int size() {
+        return clients.size();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    private void evictExpired(Instant now) {
+        clients.entrySet().removeIf(entry -> {
+            boolean expired = !entry.getValue().expiresAt.isAfter(now);
+            if (expired) {
+                evictions.incrementAndGet();
+            }
+            return expired;
+        });
+    }
+
+    private void evictEarliestExpiring() {
+        String victim = null;
+        Instant earliest = Instant.MAX;
+        for (Map.Entry<String, CachedClient<C>> entry : clients.entrySet()) {
+            if (entry.getValue().expiresAt.isBefore(earliest)) {
+                earliest = entry.getValue().expiresAt;
+                victim = entry.getKey();
+            }
+        }
+        if (victim != null && clients.remove(victim) != null) {
+            evictions.incrementAndGet();
+        }
+    }
+
+    private static final class CachedClient<C> {
+        private final C client;
+        private final Instant expiresAt;
+
+        private CachedClient(C client, Instant expiresAt) {
+            this.client = client;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
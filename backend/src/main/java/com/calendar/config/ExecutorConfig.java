@@ -0,0 +1,69 @@
+package com.calendar.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * Pool used to query calendar providers concurrently. Bounded in both threads and queue
+     * so a burst of requests cannot grow it without limit; rejected tasks surface as failed providers.
+     */
+    @Bean(name = "calendarProviderExecutor")
+    public ExecutorService calendarProviderExecutor(
+            @Value("${calendar.fetch.max-threads:8}") int maxThreads,
+            @Value("${calendar.fetch.queue-capacity:100}") int queueCapacity) {
+        return boundedExecutor("calendar-provider-", maxThreads, queueCapacity);
+    }
+
+    /**
+     * Pool that fetches the next page of provider results while the current one is converted.
+     * Kept separate from the provider pool so a provider task never waits on its own pool.
+     */
+    @Bean(name = "pagePrefetchExecutor")
+    public ExecutorService pagePrefetchExecutor(
+            @Value("${calendar.fetch.prefetch-threads:4}") int threads,
+            @Value("${calendar.fetch.prefetch-queue-capacity:100}") int queueCapacity) {
+        return boundedExecutor("page-prefetch-", threads, queueCapacity);
+    }
+
+    /**
+     * Pool that reads the calendars of one account in parallel. Provider tasks wait on it, so it
+     * must not be the provider pool.
+     */
+    @Bean(name = "calendarFanOutExecutor")
+    public ExecutorService calendarFanOutExecutor(
+            @Value("${calendar.fanout.threads:8}") int threads,
+            @Value("${calendar.fanout.queue-capacity:200}") int queueCapacity) {
+        return boundedExecutor("calendar-fanout-", threads, queueCapacity);
+    }
+
+    public static ExecutorService boundedExecutor(String threadPrefix, int threads, int queueCapacity) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                threads, threads,
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                daemonThreadFactory(threadPrefix),
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static ThreadFactory daemonThreadFactory(String threadPrefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, threadPrefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,101 @@
+package com.calendar.controller;
+
+import com.calendar.availability.AvailabilityService;
+import com.calendar.availability.AvailableSlots;
+import com.calendar.dto.ApiResponse;
+import com.calendar.model.TimeSlot;
+import com.calendar.store.AuthorizedClientStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClientService;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/availability")
+@Slf4j
+public class AvailabilityController {
+
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    @Autowired
+    private OAuth2AuthorizedClientService authorizedClientService;
+
+    @Autowired
+    private AuthorizedClientStore clientStore;
+
+    @GetMapping("/slots")
+    public ResponseEntity<ApiResponse<List<TimeSlot>>> findFreeSlots(
+            @RequestParam LocalDateTime start,
+            @RequestParam LocalDateTime end,
+            @RequestParam(defaultValue = "30") int durationMinutes) {
+        try {
+            if (!end.isAfter(start) || durationMinutes <= 0) {
+                return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>("ERROR", "end must be after start and duration must be positive", null));
+            }
+            OAuth2AuthorizedClient client = CurrentUser.authorizedClient(authorizedClientService);
+            if (client == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(new ApiResponse<>("ERROR", "No authenticated OAuth2 client found", null));
+            }
+
+            String userId = CurrentUser.userId();
+            clientStore.putIfNewer(userId, client);
+
+            AvailableSlots slots = availabilityService.findFreeSlots(userId, start, end, Duration.ofMinutes(durationMinutes));
+            return ResponseEntity.ok(new ApiResponse<>("SUCCESS", slotsMessage(slots, "free"), slots.getSlots(),
+                slots.getProviderStatuses()));
+        } catch (Exception ex) {
+            log.error("Error finding free slots", ex);
+            return new ResponseEntity<>(new ApiResponse<>("ERROR", "Failed to find free slots: " + ex.getMessage(), null), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @GetMapping("/open-slots")
+    public ResponseEntity<ApiResponse<List<TimeSlot>>> findOpenSlots(
+            @RequestParam LocalDateTime start,
+            @RequestParam LocalDateTime end,
+            @RequestParam(defaultValue = "30") int durationMinutes) {
+        try {
+            if (!end.isAfter(start) || durationMinutes <= 0) {
+                return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>("ERROR", "end must be after start and duration must be positive", null));
+            }
+            OAuth2AuthorizedClient client = CurrentUser.authorizedClient(authorizedClientService);
+            if (client == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(new ApiResponse<>("ERROR", "No authenticated OAuth2 client found", null));
+            }
+
+            String userId = CurrentUser.userId();
+            clientStore.putIfNewer(userId, client);
+
+            AvailableSlots slots = availabilityService.findOpenSlots(userId, start, end, Duration.ofMinutes(durationMinutes));
+            return ResponseEntity.ok(new ApiResponse<>("SUCCESS", slotsMessage(slots, "open"), slots.getSlots(),
+                slots.getProviderStatuses()));
+        } catch (Exception ex) {
+            log.error("Error finding open slots", ex);
+            return new ResponseEntity<>(new ApiResponse<>("ERROR", "Failed to find open slots: " + ex.getMessage(), null), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Slots found without every provider's busy time may clash with events that could not be read,
+     * so the message says which providers were missing
+     */
+    private String slotsMessage(AvailableSlots slots, String kind) {
+        String found = "Found " + slots.getSlots().size() + " " + kind + " slot(s)";
+        return slots.isComplete() ? found : found + " with partial results: " + slots.getProviderStatuses();
+    }
+}
@@ -0,0 +1,113 @@
+package com.calendar.controller;
+
+import com.calendar.booking.BookingService;
+import com.calendar.booking.Hold;
+import com.calendar.dto.ApiResponse;
+import com.calendar.dto.CalendarEventDto;
+import com.calendar.exception.BookingConflictException;
+import com.calendar.exception.CalendarUnavailableException;
+import com.calendar.store.AuthorizedClientStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClientService;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/api/bookings")
+@Slf4j
+public class BookingController {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private OAuth2AuthorizedClientService authorizedClientService;
+
+    @Autowired
+    private AuthorizedClientStore clientStore;
+
+    @PostMapping("/holds")
+    public ResponseEntity<ApiResponse<Hold>> placeHold(
+            @RequestParam LocalDateTime start,
+            @RequestParam LocalDateTime end,
+            @RequestParam(required = false) String ownerId) {
+        try {
+            String owner = resolveOwner(ownerId);
+            Hold hold = bookingService.placeHold(owner, start, end);
+            return ResponseEntity.ok(new ApiResponse<>("SUCCESS", "Slot held until " + hold.getExpiresAt(), hold));
+        } catch (BookingConflictException ex) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new ApiResponse<>("ERROR", ex.getMessage(), null));
+        } catch (AccessDeniedException ex) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(new ApiResponse<>("ERROR", ex.getMessage(), null));
+        } catch (CalendarUnavailableException ex) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(new ApiResponse<>("ERROR", ex.getMessage(), null));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>("ERROR", ex.getMessage(), null));
+        } catch (Exception ex) {
+            log.error("Error placing hold", ex);
+            return new ResponseEntity<>(new ApiResponse<>("ERROR", "Failed to place hold: " + ex.getMessage(), null), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @PostMapping("/holds/{holdId}/confirm")
+    public ResponseEntity<ApiResponse<List<CalendarEventDto>>> confirmHold(
+            @PathVariable String holdId,
+            @RequestBody CalendarEventDto eventDto) {
+        try {
+            Hold hold = bookingService.getHold(holdId);
+            if (hold != null) {
+                resolveOwner(hold.getOwnerId());
+            }
+            List<CalendarEventDto> created = bookingService.confirm(holdId, CalendarEventMapper.toEntity(eventDto))
+                    .stream()
+                    .map(CalendarEventMapper::toDto)
+                    .collect(Collectors.toList());
+            return ResponseEntity.ok(new ApiResponse<>("SUCCESS", "Booking confirmed", created));
+        } catch (BookingConflictException ex) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new ApiResponse<>("ERROR", ex.getMessage(), null));
+        } catch (AccessDeniedException ex) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(new ApiResponse<>("ERROR", ex.getMessage(), null));
+        } catch (Exception ex) {
+            log.error("Error confirming booking", ex);
+            return new ResponseEntity<>(new ApiResponse<>("ERROR", "Failed to confirm booking: " + ex.getMessage(), null), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @DeleteMapping("/holds/{holdId}")
+    public ResponseEntity<ApiResponse<Void>> releaseHold(@PathVariable String holdId) {
+        Hold hold = bookingService.getHold(holdId);
+        if (hold != null) {
+            try {
+                resolveOwner(hold.getOwnerId());
+            } catch (AccessDeniedException ex) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body(new ApiResponse<>("ERROR", ex.getMessage(), null));
+            }
+        }
+        bookingService.release(holdId);
+        return ResponseEntity.ok(new ApiResponse<>("SUCCESS", "Hold released", null));
+    }
+
+    /**
+     * Bookings are made in the signed-in user's own calendar; any other owner is refused. The user's
+     * authorized client is registered so the service can reach the providers on their behalf.
+     */
+    private String resolveOwner(String ownerId) {
+        String userId = CurrentUser.userId();
+        if (ownerId != null && !ownerId.equals(userId)) {
+            throw new AccessDeniedException("Bookings can only be made in your own calendar");
+        }
+        OAuth2AuthorizedClient client = CurrentUser.authorizedClient(authorizedClientService);
+        if (client != null) {
+            clientStore.putIfNewer(userId, client);
+        }
+        return userId;
+    }
+}
@@ -1,21 +1,30 @@
 package com.calendar.controller;
 
 import com.calendar.dto.ApiResponse;
+import com.calendar.dto.BatchOperationDto;
+import com.calendar.dto.BatchResultDto;
 import com.calendar.dto.CalendarEventDto;
-import com.calendar.model.CalendarEvent;
-import com.calendar.service.CalendarService;
+import com.calendar.enums.FetchStatus;
+import com.calendar.model.AggregatedEvents;
+import com.calendar.model.BatchOperation;
+import com.calendar.model.BatchResult;
 import com.calendar.service.ICalendarService;
+import com.calendar.store.AuthorizedClientStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
 import org.springframework.security.oauth2.client.OAuth2AuthorizedClientService;
-import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
@@ -32,48 +41,111 @@ public class CalendarController {
     @Autowired
     private OAuth2AuthorizedClientService authorizedClientService;
 
+    @Autowired
+    private AuthorizedClientStore clientStore;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${calendar.batch.max-operations:1000}")
+    private int maxBatchOperations;
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final int STREAM_FLUSH_EVERY = 100;
+
     @GetMapping("/events")
     public ResponseEntity<ApiResponse<List<CalendarEventDto>>> fetchAllEvents(
             @RequestParam LocalDateTime start,
             @RequestParam LocalDateTime end) {
         try {
-            OAuth2AuthorizedClient client = getCurrentAuthorizedClient();
+            OAuth2AuthorizedClient client = CurrentUser.authorizedClient(authorizedClientService);
             if (client == null) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(new ApiResponse<>("ERROR", "No authenticated OAuth2 client found", null));
             }
             
             // Store the client for the service to use
-            String userId = getCurrentUserId();
-            ((CalendarService) calendarService).storeAuthorizedClient(userId, client);
+            String userId = CurrentUser.userId();
+            clientStore.putIfNewer(userId, client);
             
-            List<CalendarEventDto> events = calendarService.fetchAllEvents(userId, start, end)
+            AggregatedEvents aggregated = calendarService.fetchAllEventsWithStatus(userId, start, end);
+            List<CalendarEventDto> events = aggregated.getEvents()
                     .stream()
-                    .map(this::toDto)
+                    .map(CalendarEventMapper::toDto)
                     .collect(Collectors.toList());
-            return ResponseEntity.ok(new ApiResponse<>("SUCCESS", "Fetched events successfully", events));
+            String message = aggregated.isPartial()
+                    ? "Fetched events with partial results: " + aggregated.getProviderStatuses()
+                    : "Fetched events successfully";
+            return ResponseEntity.ok(new ApiResponse<>("SUCCESS", message, events, aggregated.getProviderStatuses()));
         } catch (Exception ex) {
             log.error("Error fetching events", ex);
             return new ResponseEntity<>(new ApiResponse<>("ERROR", "Failed to fetch events: " + ex.getMessage(), null), HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
+    /**
+     * Same as GET /events, but writes one JSON event per line as soon as any provider returns it
+     */
+    @GetMapping(value = "/events/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamAllEvents(
+            @RequestParam LocalDateTime start,
+            @RequestParam LocalDateTime end) {
+        OAuth2AuthorizedClient client = CurrentUser.authorizedClient(authorizedClientService);
+        if (client == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        
+        String userId = CurrentUser.userId();
+        clientStore.putIfNewer(userId, client);
+        
+        StreamingResponseBody body = out -> {
+            int[] written = {0};
+            Map<String, FetchStatus> statuses = calendarService.streamAllEvents(userId, start, end, event -> {
+                writeLine(out, CalendarEventMapper.toDto(event));
+                // Flush the first event straight away so the client can start rendering
+                if (++written[0] == 1 || written[0] % STREAM_FLUSH_EVERY == 0) {
+                    flush(out);
+                }
+            });
+            out.flush();
+            log.info("Streamed {} events for user {} with provider statuses {}", written[0], userId, statuses);
+        };
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+
+    private void writeLine(OutputStream out, CalendarEventDto dto) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(dto));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void flush(OutputStream out) {
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     @PostMapping("/events")
     public ResponseEntity<ApiResponse<List<CalendarEventDto>>> createEvent(
             @RequestBody CalendarEventDto eventDto) {
         try {
-            OAuth2AuthorizedClient client = getCurrentAuthorizedClient();
+            OAuth2AuthorizedClient client = CurrentUser.authorizedClient(authorizedClientService);
             if (client == null) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(new ApiResponse<>("ERROR", "No authenticated OAuth2 client found", null));
             }
             
-            String userId = getCurrentUserId();
-            ((CalendarService) calendarService).storeAuthorizedClient(userId, client);
+            String userId = CurrentUser.userId();
+            clientStore.putIfNewer(userId, client);
             
-            List<CalendarEventDto> created = calendarService.createEvent(userId, toEntity(eventDto))
+            List<CalendarEventDto> created = calendarService.createEvent(userId, CalendarEventMapper.toEntity(eventDto))
                     .stream()
-                    .map(this::toDto)
+                    .map(CalendarEventMapper::toDto)
                     .collect(Collectors.toList());
             return ResponseEntity.ok(new ApiResponse<>("SUCCESS", "Event(s) created successfully", created));
         } catch (Exception ex) {
@@ -86,18 +158,18 @@ public class CalendarController {
     public ResponseEntity<ApiResponse<List<CalendarEventDto>>> updateEvent(
             @RequestBody CalendarEventDto eventDto) {
         try {
-            OAuth2AuthorizedClient client = getCurrentAuthorizedClient();
+            OAuth2AuthorizedClient client = CurrentUser.authorizedClient(authorizedClientService);
             if (client == null) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(new ApiResponse<>("ERROR", "No authenticated OAuth2 client found", null));
             }
             
-            String userId = getCurrentUserId();
-            ((CalendarService) calendarService).storeAuthorizedClient(userId, client);
+            String userId = CurrentUser.userId();
+            clientStore.putIfNewer(userId, client);
             
-            List<CalendarEventDto> updated = calendarService.updateEvent(userId, toEntity(eventDto))
+            List<CalendarEventDto> updated = calendarService.updateEvent(userId, CalendarEventMapper.toEntity(eventDto))
                     .stream()
-                    .map(this::toDto)
+                    .map(CalendarEventMapper::toDto)
                     .collect(Collectors.toList());
             return ResponseEntity.ok(new ApiResponse<>("SUCCESS", "Event(s) updated successfully", updated));
         } catch (Exception ex) {
@@ -109,14 +181,14 @@ public class CalendarController {
     @DeleteMapping("/events/{eventId}")
     public ResponseEntity<ApiResponse<Void>> deleteEvent(@PathVariable String eventId) {
         try {
-            OAuth2AuthorizedClient client = getCurrentAuthorizedClient();
+            OAuth2AuthorizedClient client = CurrentUser.authorizedClient(authorizedClientService);
             if (client == null) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(new ApiResponse<>("ERROR", "No authenticated OAuth2 client found", null));
             }
             
-            String userId = getCurrentUserId();
-            ((CalendarService) calendarService).storeAuthorizedClient(userId, client);
+            String userId = CurrentUser.userId();
+            clientStore.putIfNewer(userId, client);
             
             calendarService.deleteEvent(userId, eventId);
             return ResponseEntity.ok(new ApiResponse<>("SUCCESS", "Event deleted successfully", null));
@@ -126,10 +198,52 @@ public class CalendarController {
         }
     }
 
+    /**
+     * Bulk create/update/delete. Each provider sends its share through its native batch endpoint, and
+     * every operation gets its own result so one bad entry does not fail the import.
+     */
+    @PostMapping("/events:batch")
+    public ResponseEntity<ApiResponse<List<BatchResultDto>>> executeBatch(
+            @RequestBody List<BatchOperationDto> operations) {
+        try {
+            OAuth2AuthorizedClient client = CurrentUser.authorizedClient(authorizedClientService);
+            if (client == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(new ApiResponse<>("ERROR", "No authenticated OAuth2 client found", null));
+            }
+            if (operations == null || operations.isEmpty() || operations.size() > maxBatchOperations) {
+                return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>("ERROR", "A batch must contain between 1 and " + maxBatchOperations + " operations", null));
+            }
+            
+            String userId = CurrentUser.userId();
+            clientStore.putIfNewer(userId, client);
+            
+            List<BatchOperation> batch = operations.stream()
+                    .map(this::toOperation)
+                    .collect(Collectors.toList());
+            List<BatchResultDto> results = calendarService.executeBatch(userId, batch)
+                    .stream()
+                    .map(this::toDto)
+                    .collect(Collectors.toList());
+            long failed = results.stream().filter(result -> !"SUCCESS".equals(result.getResult())).count();
+            String message = failed == 0
+                    ? "Batch executed successfully"
+                    : "Batch executed with " + failed + " failed operation(s)";
+            return ResponseEntity.ok(new ApiResponse<>("SUCCESS", message, results));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest()
+                .body(new ApiResponse<>("ERROR", "Invalid batch: " + ex.getMessage(), null));
+        } catch (Exception ex) {
+            log.error("Error executing batch", ex);
+            return new ResponseEntity<>(new ApiResponse<>("ERROR", "Failed to execute batch: " + ex.getMessage(), null), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
     @GetMapping("/status")
     public ResponseEntity<ApiResponse<Map<String, Object>>> getCalendarStatus() {
         try {
-            OAuth2AuthorizedClient client = getCurrentAuthorizedClient();
+            OAuth2AuthorizedClient client = CurrentUser.authorizedClient(authorizedClientService);
             if (client == null) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(new ApiResponse<>("ERROR", "No authenticated OAuth2 client found", null));
@@ -150,53 +264,37 @@ public class CalendarController {
         }
     }
 
-    private OAuth2AuthorizedClient getCurrentAuthorizedClient() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication instanceof OAuth2AuthenticationToken) {
-            OAuth2AuthenticationToken oauthToken = (OAuth2AuthenticationToken) authentication;
-            return authorizedClientService.loadAuthorizedClient(
-                oauthToken.getAuthorizedClientRegistrationId(), 
-                oauthToken.getName()
-            );
+    // Helper methods for mapping between DTO and entity
+    private BatchOperation toOperation(BatchOperationDto dto) {
+        if (dto.getType() == null) {
+            throw new IllegalArgumentException("operation type is required");
         }
-        return null;
-    }
-
-    private String getCurrentUserId() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication instanceof OAuth2AuthenticationToken) {
-            OAuth2AuthenticationToken oauthToken = (OAuth2AuthenticationToken) authentication;
-            return oauthToken.getName();
+        switch (dto.getType()) {
+            case DELETE:
+                if (dto.getEventId() == null) {
+                    throw new IllegalArgumentException("DELETE requires an eventId");
+                }
+                return new BatchOperation(dto.getType(), null, dto.getEventId(), dto.getCalendarSource());
+            case UPDATE:
+                if (dto.getEvent() == null || dto.getEvent().getId() == null) {
+                    throw new IllegalArgumentException("UPDATE requires an event with an id");
+                }
+                return new BatchOperation(dto.getType(), CalendarEventMapper.toEntity(dto.getEvent()), dto.getEvent().getId(), dto.getCalendarSource());
+            default:
+                if (dto.getEvent() == null) {
+                    throw new IllegalArgumentException("CREATE requires an event");
+                }
+                return new BatchOperation(dto.getType(), CalendarEventMapper.toEntity(dto.getEvent()), null, dto.getCalendarSource());
         }
-        return "anonymous";
     }
 
-    // Helper methods for mapping between DTO and entity
-    private CalendarEventDto toDto(CalendarEvent event) {
-        return new CalendarEventDto(
-                event.getId(),
-                event.getTitle(),
-                event.getDescription(),
-                event.getLocation(),
-                event.getStartTime(),
-                event.getEndTime(),
-                event.isAllDay(),
-                event.getStatus(),
-                event.getCalendarSource()
+    private BatchResultDto toDto(BatchResult result) {
+        return new BatchResultDto(
+                result.getIndex(),
+                result.getProvider(),
+                result.isSuccess() ? "SUCCESS" : "ERROR",
+                result.getEvent() != null ? CalendarEventMapper.toDto(result.getEvent()) : null,
+                result.getError()
         );
     }
-
-    private CalendarEvent toEntity(CalendarEventDto dto) {
-        CalendarEvent event = new CalendarEvent();
-        event.setId(dto.getId());
-        event.setTitle(dto.getTitle());
-        event.setDescription(dto.getDescription());
-        event.setLocation(dto.getLocation());
-        event.setStartTime(dto.getStartTime());
-        event.setEndTime(dto.getEndTime());
-        event.setAllDay(dto.isAllDay());
-        event.setStatus(dto.getStatus());
-        event.setCalendarSource(dto.getCalendarSource());
-        return event;
-    }
-} 
\ No newline at end of file
+}
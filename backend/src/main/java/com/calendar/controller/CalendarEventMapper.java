@@ -0,0 +1,41 @@
+package com.calendar.controller;
+
+import com.calendar.dto.CalendarEventDto;
+import com.calendar.model.CalendarEvent;
+
+/**
+ * Maps events to and from the DTO the calendar endpoints accept and return
+ */
+final class CalendarEventMapper {
+
+    private CalendarEventMapper() {
+    }
+
+    static CalendarEventDto toDto(CalendarEvent event) {
+        return new CalendarEventDto(
+                event.getId(),
+                event.getTitle(),
+                event.getDescription(),
+                event.getLocation(),
+                event.getStartTime(),
+                event.getEndTime(),
+                event.isAllDay(),
+                event.getStatus(),
+                event.getCalendarSource()
+        );
+    }
+
+    static CalendarEvent toEntity(CalendarEventDto dto) {
+        CalendarEvent event = new CalendarEvent();
+        event.setId(dto.getId());
+        event.setTitle(dto.getTitle());
+        event.setDescription(dto.getDescription());
+        event.setLocation(dto.getLocation());
+        event.setStartTime(dto.getStartTime());
+        event.setEndTime(dto.getEndTime());
+        event.setAllDay(dto.isAllDay());
+        event.setStatus(dto.getStatus());
+        event.setCalendarSource(dto.getCalendarSource());
+        return event;
+    }
+}
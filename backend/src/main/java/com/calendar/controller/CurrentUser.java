@@ -0,0 +1,38 @@
+package com.calendar.controller;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClientService;
+import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
+
+/**
+ * The signed-in user of the current request, as the controllers see them
+ */
+final class CurrentUser {
+
+    private CurrentUser() {
+    }
+
+    /**
+     * The user's authorized client, or null when the request is not OAuth2-authenticated
+     */
+    static OAuth2AuthorizedClient authorizedClient(OAuth2AuthorizedClientService authorizedClientService) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication instanceof OAuth2AuthenticationToken oauthToken) {
+            return authorizedClientService.loadAuthorizedClient(
+                oauthToken.getAuthorizedClientRegistrationId(),
+                oauthToken.getName()
+            );
+        }
+        return null;
+    }
+
+    static String userId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication instanceof OAuth2AuthenticationToken oauthToken) {
+            return oauthToken.getName();
+        }
+        return "anonymous";
+    }
+}
@@ -0,0 +1,30 @@
+package com.calendar.controller;
+
+import com.calendar.dto.ApiResponse;
+import com.calendar.metrics.MetricsReporter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@RestController
+@RequestMapping("/api/metrics")
+public class MetricsController {
+
+    @Autowired
+    private List<MetricsReporter> reporters;
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<Map<String, Map<String, Object>>>> getMetrics() {
+        Map<String, Map<String, Object>> metrics = new TreeMap<>();
+        for (MetricsReporter reporter : reporters) {
+            metrics.put(reporter.getMetricsName(), reporter.getMetrics());
+        }
+        return ResponseEntity.ok(new ApiResponse<>("SUCCESS", "Metrics retrieved", metrics));
+    }
+}
@@ -0,0 +1,62 @@
+package com.calendar.controller;
+
+import com.calendar.dto.ApiResponse;
+import com.calendar.dto.CalendarEventDto;
+import com.calendar.service.ReactiveCalendarService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClientService;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Non-blocking variant of GET /api/calendar/events. The servlet thread is released as soon as the
+ * provider calls are issued and the response is written when the last one completes.
+ */
+@RestController
+@RequestMapping("/api/calendar")
+@ConditionalOnProperty(name = "spring.security.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class ReactiveCalendarController {
+
+    @Autowired
+    private ReactiveCalendarService reactiveCalendarService;
+    
+    @Autowired
+    private OAuth2AuthorizedClientService authorizedClientService;
+
+    @GetMapping("/events/reactive")
+    public Mono<ResponseEntity<ApiResponse<List<CalendarEventDto>>>> fetchAllEvents(
+            @RequestParam LocalDateTime start,
+            @RequestParam LocalDateTime end) {
+        OAuth2AuthorizedClient client = CurrentUser.authorizedClient(authorizedClientService);
+        if (client == null) {
+            return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(new ApiResponse<>("ERROR", "No authenticated OAuth2 client found", null)));
+        }
+        
+        return reactiveCalendarService.fetchAllEventsWithStatus(client, CurrentUser.userId(), start, end)
+            .map(aggregated -> {
+                List<CalendarEventDto> events = aggregated.getEvents()
+                        .stream()
+                        .map(CalendarEventMapper::toDto)
+                        .collect(Collectors.toList());
+                String message = aggregated.isPartial()
+                        ? "Fetched events with partial results: " + aggregated.getProviderStatuses()
+                        : "Fetched events successfully";
+                return ResponseEntity.ok(new ApiResponse<>("SUCCESS", message, events, aggregated.getProviderStatuses()));
+            })
+            .onErrorResume(ex -> {
+                log.error("Error fetching events", ex);
+                return Mono.just(new ResponseEntity<>(new ApiResponse<>("ERROR", "Failed to fetch events: " + ex.getMessage(), null), HttpStatus.INTERNAL_SERVER_ERROR));
+            });
+    }
+}
@@ -4,41 +4,102 @@ import com.calendar.enums.CalendarSource;
 import com.calendar.enums.Status;
 import com.calendar.model.CalendarEvent;
 import com.google.api.services.calendar.model.Event;
+import com.google.api.services.calendar.model.EventDateTime;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.stereotype.Component;
 
 import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.List;
 
 @Component
 public class GoogleEventToCalendarEventConverter implements Converter<Event, CalendarEvent> {
+    
+    private static final Status[] STATUSES = Status.values();
+    
     @Override
     public CalendarEvent convert(Event googleEvent) {
+        return convert(googleEvent, ZoneId.systemDefault().getRules());
+    }
+    
+    /**
+     * Convert a whole page in one pass, resolving the zone rules once rather than per event
+     */
+    public List<CalendarEvent> convertAll(List<Event> googleEvents) {
+        if (googleEvents == null) {
+            return new ArrayList<>();
+        }
+        ZoneRules rules = ZoneId.systemDefault().getRules();
+        List<CalendarEvent> events = new ArrayList<>(googleEvents.size());
+        for (Event googleEvent : googleEvents) {
+            events.add(convert(googleEvent, rules));
+        }
+        return events;
+    }
+    
+    private CalendarEvent convert(Event googleEvent, ZoneRules rules) {
         CalendarEvent event = new CalendarEvent();
         event.setId(googleEvent.getId());
         event.setTitle(googleEvent.getSummary());
         event.setDescription(googleEvent.getDescription());
         event.setLocation(googleEvent.getLocation());
         event.setCalendarSource(CalendarSource.GOOGLE);
+        event.setICalUid(googleEvent.getICalUID());
+        if (googleEvent.getOrganizer() != null) {
+            event.setOrganizer(googleEvent.getOrganizer().getEmail());
+        }
         
-        if (googleEvent.getStart().getDateTime() != null) {
-            event.setStartTime(LocalDateTime.ofInstant(
-                Instant.ofEpochMilli(googleEvent.getStart().getDateTime().getValue()),
-                ZoneId.systemDefault()
-            ));
-            event.setEndTime(LocalDateTime.ofInstant(
-                Instant.ofEpochMilli(googleEvent.getEnd().getDateTime().getValue()),
-                ZoneId.systemDefault()
-            ));
+        if (googleEvent.getStart() != null && googleEvent.getStart().getDateTime() != null) {
+            event.setStartTime(toLocalDateTime(googleEvent.getStart().getDateTime().getValue(), rules));
+            event.setEndTime(toLocalDateTime(googleEvent.getEnd().getDateTime().getValue(), rules));
             event.setAllDay(false);
         } else {
             // Handle all-day events
             event.setAllDay(true);
-            // Set start and end times based on date
+            event.setStartDate(toLocalDate(googleEvent.getStart()));
+            event.setEndDate(toLocalDate(googleEvent.getEnd()));
         }
         
-        event.setStatus(Status.valueOf(googleEvent.getStatus()));
+        event.setStatus(toStatus(googleEvent.getStatus()));
         return event;
     }
-} 
\ No newline at end of file
+    
+    /**
+     * All-day events carry a date only, encoded as midnight UTC
+     */
+    private static LocalDate toLocalDate(EventDateTime eventDateTime) {
+        if (eventDateTime == null || eventDateTime.getDate() == null) {
+            return null;
+        }
+        return LocalDate.ofEpochDay(Math.floorDiv(eventDateTime.getDate().getValue(), 86_400_000L));
+    }
+    
+    private static LocalDateTime toLocalDateTime(long epochMillis, ZoneRules rules) {
+        // Fixed-offset zones (UTC on most servers) need no transition lookup and no Instant
+        ZoneOffset offset = rules.isFixedOffset()
+            ? rules.getOffset(Instant.EPOCH)
+            : rules.getOffset(Instant.ofEpochMilli(epochMillis));
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochMillis, 1000L),
+            (int) Math.floorMod(epochMillis, 1000L) * 1_000_000, offset);
+    }
+    
+    /**
+     * Google reports statuses in lower case ("confirmed"); unknown values map to null instead of failing the page
+     */
+    private static Status toStatus(String status) {
+        if (status == null) {
+            return null;
+        }
+        for (Status candidate : STATUSES) {
+            if (candidate.name().equalsIgnoreCase(status)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+}
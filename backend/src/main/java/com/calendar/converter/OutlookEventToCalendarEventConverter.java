@@ -3,15 +3,38 @@ package com.calendar.converter;
 import com.calendar.enums.CalendarSource;
 import com.calendar.enums.Status;
 import com.calendar.model.CalendarEvent;
+import com.microsoft.graph.models.DateTimeTimeZone;
 import com.microsoft.graph.models.Event;
+import com.microsoft.graph.models.FreeBusyStatus;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.stereotype.Component;
 
+import java.time.DateTimeException;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
 
 @Component
 public class OutlookEventToCalendarEventConverter implements Converter<Event, CalendarEvent> {
+    
+    private static final Status[] STATUSES = Status.values();
+    
+    private final ZoneId zone;
+    
+    /**
+     * Times are converted to the system zone, the one Google times are read in
+     */
+    public OutlookEventToCalendarEventConverter() {
+        this(ZoneId.systemDefault());
+    }
+    
+    public OutlookEventToCalendarEventConverter(ZoneId zone) {
+        this.zone = zone;
+    }
+    
     @Override
     public CalendarEvent convert(Event outlookEvent) {
         CalendarEvent event = new CalendarEvent();
@@ -22,22 +45,85 @@ public class OutlookEventToCalendarEventConverter implements Converter<Event, Ca
             event.setLocation(outlookEvent.location.displayName);
         }
         event.setCalendarSource(CalendarSource.OUTLOOK);
+        event.setICalUid(outlookEvent.iCalUId);
+        if (outlookEvent.organizer != null && outlookEvent.organizer.emailAddress != null) {
+            event.setOrganizer(outlookEvent.organizer.emailAddress.address);
+        }
         
-        if (outlookEvent.start != null && outlookEvent.start.dateTime != null) {
-            LocalDateTime startTime = LocalDateTime.parse(outlookEvent.start.dateTime, DateTimeFormatter.ISO_DATE_TIME);
-            LocalDateTime endTime = LocalDateTime.parse(outlookEvent.end.dateTime, DateTimeFormatter.ISO_DATE_TIME);
-            event.setStartTime(startTime);
-            event.setEndTime(endTime);
-            event.setAllDay(false);
+        boolean allDay = Boolean.TRUE.equals(outlookEvent.isAllDay);
+        event.setAllDay(allDay);
+        if (allDay) {
+            // All-day events span whole dates; keep the dates and no times, as for Google
+            LocalDateTime startDate = toLocalDateTime(outlookEvent.start, true);
+            LocalDateTime endDate = toLocalDateTime(outlookEvent.end, true);
+            event.setStartDate(startDate != null ? startDate.toLocalDate() : null);
+            event.setEndDate(endDate != null ? endDate.toLocalDate() : null);
         } else {
-            // Handle all-day events
-            event.setAllDay(true);
-            // Set start and end times based on date
+            event.setStartTime(toLocalDateTime(outlookEvent.start, false));
+            event.setEndTime(toLocalDateTime(outlookEvent.end, false));
         }
         
         if (outlookEvent.showAs != null) {
-            event.setStatus(Status.valueOf(outlookEvent.showAs.toString()));
+            event.setStatus(toStatus(outlookEvent.showAs));
         }
         return event;
     }
-} 
\ No newline at end of file
+    
+    /**
+     * Convert a whole page in one pass without going through ConversionService per event
+     */
+    public List<CalendarEvent> convertAll(List<Event> outlookEvents) {
+        if (outlookEvents == null) {
+            return new ArrayList<>();
+        }
+        List<CalendarEvent> events = new ArrayList<>(outlookEvents.size());
+        for (Event outlookEvent : outlookEvents) {
+            events.add(convert(outlookEvent));
+        }
+        return events;
+    }
+    
+    /**
+     * Graph writes times as wall-clock time in the zone named next to them, UTC unless the request
+     * asked for another. Timed values are moved to this converter's zone; all-day values are midnight
+     * of their date and are kept as they are.
+     */
+    public LocalDateTime toLocalDateTime(DateTimeTimeZone value, boolean allDay) {
+        if (value == null || value.dateTime == null) {
+            return null;
+        }
+        LocalDateTime wallClock = LocalDateTime.parse(value.dateTime, DateTimeFormatter.ISO_DATE_TIME);
+        ZoneId source = sourceZone(value.timeZone);
+        if (allDay || source.equals(zone)) {
+            return wallClock;
+        }
+        return wallClock.atZone(source).withZoneSameInstant(zone).toLocalDateTime();
+    }
+    
+    /**
+     * Zones Graph names in Windows form cannot be resolved here; they are only returned when asked
+     * for, which this service never does, so fall back to Graph's default of UTC
+     */
+    private static ZoneId sourceZone(String timeZone) {
+        if (timeZone == null || timeZone.isEmpty() || "UTC".equalsIgnoreCase(timeZone)) {
+            return ZoneOffset.UTC;
+        }
+        try {
+            return ZoneId.of(timeZone);
+        } catch (DateTimeException e) {
+            return ZoneOffset.UTC;
+        }
+    }
+    
+    /**
+     * showAs values without a Status counterpart (BUSY, FREE, OOF...) map to null instead of failing the page
+     */
+    private static Status toStatus(FreeBusyStatus showAs) {
+        for (Status candidate : STATUSES) {
+            if (candidate.name().equals(showAs.name())) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+}
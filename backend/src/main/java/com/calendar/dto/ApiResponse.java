@@ -1,10 +1,17 @@
 package com.calendar.dto;
 
+import com.calendar.enums.FetchStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Map;
 
 public class ApiResponse<T> {
     private String result;
     private String message;
     private T data;
+    /** Outcome of each provider call, for responses built from several providers */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Map<String, FetchStatus> providerStatuses;
 
     public ApiResponse(String result, String message, T data) {
         this.result = result;
@@ -12,6 +19,11 @@ public class ApiResponse<T> {
         this.data = data;
     }
 
+    public ApiResponse(String result, String message, T data, Map<String, FetchStatus> providerStatuses) {
+        this(result, message, data);
+        this.providerStatuses = providerStatuses;
+    }
+
     public String getResult() {
         return result;
     }
@@ -35,4 +47,12 @@ public class ApiResponse<T> {
     public void setData(T data) {
         this.data = data;
     }
-} 
\ No newline at end of file
+
+    public Map<String, FetchStatus> getProviderStatuses() {
+        return providerStatuses;
+    }
+
+    public void setProviderStatuses(Map<String, FetchStatus> providerStatuses) {
+        this.providerStatuses = providerStatuses;
+    }
+}
@@ -0,0 +1,52 @@
+package com.calendar.dto;
+
+import com.calendar.enums.BatchOperationType;
+import com.calendar.enums.CalendarSource;
+
+public class BatchOperationDto {
+    private BatchOperationType type;
+    private CalendarEventDto event;
+    private String eventId;
+    private CalendarSource calendarSource;
+
+    public BatchOperationDto() {}
+
+    public BatchOperationDto(BatchOperationType type, CalendarEventDto event, String eventId, CalendarSource calendarSource) {
+        this.type = type;
+        this.event = event;
+        this.eventId = eventId;
+        this.calendarSource = calendarSource;
+    }
+
+    public BatchOperationType getType() {
+        return type;
+    }
+
+    public void setType(BatchOperationType type) {
+        this.type = type;
+    }
+
+    public CalendarEventDto getEvent() {
+        return event;
+    }
+
+    public void setEvent(CalendarEventDto event) {
+        this.event = event;
+    }
+
+    public String getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(String eventId) {
+        this.eventId = eventId;
+    }
+
+    public CalendarSource getCalendarSource() {
+        return calendarSource;
+    }
+
+    public void setCalendarSource(CalendarSource calendarSource) {
+        this.calendarSource = calendarSource;
+    }
+}
@@ -0,0 +1,59 @@
+package com.calendar.dto;
+
+public class BatchResultDto {
+    private int index;
+    private String provider;
+    private String result;
+    private CalendarEventDto event;
+    private String error;
+
+    public BatchResultDto() {}
+
+    public BatchResultDto(int index, String provider, String result, CalendarEventDto event, String error) {
+        this.index = index;
+        this.provider = provider;
+        this.result = result;
+        this.event = event;
+        this.error = error;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public String getProvider() {
+        return provider;
+    }
+
+    public void setProvider(String provider) {
+        this.provider = provider;
+    }
+
+    public String getResult() {
+        return result;
+    }
+
+    public void setResult(String result) {
+        this.result = result;
+    }
+
+    public CalendarEventDto getEvent() {
+        return event;
+    }
+
+    public void setEvent(CalendarEventDto event) {
+        this.event = event;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
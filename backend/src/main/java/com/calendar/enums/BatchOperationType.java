@@ -0,0 +1,7 @@
+package com.calendar.enums;
+
+public enum BatchOperationType {
+    CREATE,
+    UPDATE,
+    DELETE
+}
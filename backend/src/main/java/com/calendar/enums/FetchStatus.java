@@ -0,0 +1,7 @@
+package com.calendar.enums;
+
+public enum FetchStatus {
+    SUCCESS,
+    FAILED,
+    TIMED_OUT
+}
@@ -0,0 +1,10 @@
+package com.calendar.exception;
+
+/**
+ * Thrown when a requested booking overlaps existing events or another pending hold
+ */
+public class BookingConflictException extends RuntimeException {
+    public BookingConflictException(String message) {
+        super(message);
+    }
+}
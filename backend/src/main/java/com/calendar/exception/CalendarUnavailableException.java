@@ -0,0 +1,10 @@
+package com.calendar.exception;
+
+/**
+ * Thrown when an owner's availability cannot be trusted because a calendar provider could not be read
+ */
+public class CalendarUnavailableException extends RuntimeException {
+    public CalendarUnavailableException(String message) {
+        super(message);
+    }
+}
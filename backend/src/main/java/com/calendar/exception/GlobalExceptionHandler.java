@@ -19,6 +19,11 @@ public class GlobalExceptionHandler {
         return errorResponseEntity(ex.getMessage(), HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(BookingConflictException.class)
+    public ResponseEntity<ApiResponse<?>> handleBookingConflictException(BookingConflictException ex) {
+        return errorResponseEntity(ex.getMessage(), HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiResponse<?>> handleGenericException(Exception ex) {
         return errorResponseEntity("An unexpected error occurred: " + ex.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
@@ -0,0 +1,18 @@
+package com.calendar.metrics;
+
+import java.util.Map;
+
+/**
+ * Component that exposes runtime counters through the metrics endpoint
+ */
+public interface MetricsReporter {
+    /**
+     * Name the metrics are grouped under
+     */
+    String getMetricsName();
+
+    /**
+     * Snapshot of the current counters
+     */
+    Map<String, Object> getMetrics();
+}
@@ -0,0 +1,43 @@
+package com.calendar.model;
+
+import com.calendar.enums.FetchStatus;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Busy time merged from every configured provider, together with the outcome of each provider call
+ */
+public class AggregatedBusyTime {
+    private final BusyIntervals intervals;
+    private final Map<String, FetchStatus> providerStatuses;
+
+    public AggregatedBusyTime(BusyIntervals intervals, Map<String, FetchStatus> providerStatuses) {
+        this.intervals = intervals;
+        this.providerStatuses = Collections.unmodifiableMap(providerStatuses);
+    }
+
+    public BusyIntervals getIntervals() {
+        return intervals;
+    }
+
+    public Map<String, FetchStatus> getProviderStatuses() {
+        return providerStatuses;
+    }
+
+    /**
+     * True when at least one provider answered and every provider succeeded. Without that, time that
+     * looks free may be booked in a calendar that could not be read.
+     */
+    public boolean isComplete() {
+        if (providerStatuses.isEmpty()) {
+            return false;
+        }
+        for (FetchStatus status : providerStatuses.values()) {
+            if (status != FetchStatus.SUCCESS) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,40 @@
+package com.calendar.model;
+
+import com.calendar.enums.FetchStatus;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Events merged from every configured provider, together with the outcome of each provider call
+ */
+public class AggregatedEvents {
+    private final List<CalendarEvent> events;
+    private final Map<String, FetchStatus> providerStatuses;
+
+    public AggregatedEvents(List<CalendarEvent> events, Map<String, FetchStatus> providerStatuses) {
+        this.events = events;
+        this.providerStatuses = Collections.unmodifiableMap(providerStatuses);
+    }
+
+    public List<CalendarEvent> getEvents() {
+        return events;
+    }
+
+    public Map<String, FetchStatus> getProviderStatuses() {
+        return providerStatuses;
+    }
+
+    /**
+     * True when at least one provider failed or missed the deadline
+     */
+    public boolean isPartial() {
+        for (FetchStatus status : providerStatuses.values()) {
+            if (status != FetchStatus.SUCCESS) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,59 @@
+package com.calendar.model;
+
+import com.calendar.enums.BatchOperationType;
+import com.calendar.enums.CalendarSource;
+
+/**
+ * One write in a bulk request. CREATE and UPDATE carry the event, DELETE only the event id.
+ */
+public class BatchOperation {
+    private final BatchOperationType type;
+    private final CalendarEvent event;
+    private final String eventId;
+    private final CalendarSource calendarSource;
+
+    public BatchOperation(BatchOperationType type, CalendarEvent event, String eventId, CalendarSource calendarSource) {
+        this.type = type;
+        this.event = event;
+        this.eventId = eventId;
+        this.calendarSource = calendarSource;
+    }
+
+    public static BatchOperation create(CalendarEvent event) {
+        return new BatchOperation(BatchOperationType.CREATE, event, null, null);
+    }
+
+    public static BatchOperation update(CalendarEvent event) {
+        return new BatchOperation(BatchOperationType.UPDATE, event, event.getId(), null);
+    }
+
+    public static BatchOperation delete(String eventId) {
+        return new BatchOperation(BatchOperationType.DELETE, null, eventId, null);
+    }
+
+    public BatchOperationType getType() {
+        return type;
+    }
+
+    public CalendarEvent getEvent() {
+        return event;
+    }
+
+    public String getEventId() {
+        return eventId;
+    }
+
+    public CalendarSource getCalendarSource() {
+        return calendarSource;
+    }
+
+    /**
+     * The provider this operation is meant for, or null to apply it to every configured provider
+     */
+    public CalendarSource getTargetSource() {
+        if (calendarSource != null) {
+            return calendarSource;
+        }
+        return event != null ? event.getCalendarSource() : null;
+    }
+}
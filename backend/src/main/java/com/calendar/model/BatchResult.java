@@ -0,0 +1,52 @@
+package com.calendar.model;
+
+/**
+ * Outcome of one batch operation on one provider. The index points back into the submitted operations.
+ */
+public class BatchResult {
+    private final int index;
+    private final String provider;
+    private final boolean success;
+    private final CalendarEvent event;
+    private final String error;
+
+    public BatchResult(int index, String provider, boolean success, CalendarEvent event, String error) {
+        this.index = index;
+        this.provider = provider;
+        this.success = success;
+        this.event = event;
+        this.error = error;
+    }
+
+    public static BatchResult succeeded(int index, String provider, CalendarEvent event) {
+        return new BatchResult(index, provider, true, event, null);
+    }
+
+    public static BatchResult failed(int index, String provider, String error) {
+        return new BatchResult(index, provider, false, null, error);
+    }
+
+    public BatchResult withIndex(int index) {
+        return new BatchResult(index, provider, success, event, error);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public String getProvider() {
+        return provider;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public CalendarEvent getEvent() {
+        return event;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
@@ -0,0 +1,105 @@
+package com.calendar.model;
+
+import com.calendar.enums.Status;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Busy time as two parallel arrays of epoch seconds, start inclusive and end exclusive. This is all
+ * availability needs from a provider, without the titles, descriptions and locations of full events.
+ * Intervals are kept in the order they were added and may overlap.
+ */
+public class BusyIntervals {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private long[] starts;
+    private long[] ends;
+    private int size;
+
+    public BusyIntervals() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public BusyIntervals(int capacity) {
+        this.starts = new long[Math.max(1, capacity)];
+        this.ends = new long[Math.max(1, capacity)];
+    }
+
+    /**
+     * Busy time of the given events. Cancelled events and events without times are skipped.
+     */
+    public static BusyIntervals of(List<CalendarEvent> events) {
+        BusyIntervals busy = new BusyIntervals(events.size());
+        for (CalendarEvent event : events) {
+            if (event.getStatus() != Status.CANCELLED) {
+                busy.add(event.getStartTime(), event.getEndTime());
+            }
+        }
+        return busy;
+    }
+
+    /**
+     * Add [start, end). Missing or empty ranges are ignored; a fractional end second is rounded up.
+     */
+    public void add(LocalDateTime start, LocalDateTime end) {
+        if (start == null || end == null) {
+            return;
+        }
+        long startSecond = start.toEpochSecond(ZoneOffset.UTC);
+        long endSecond = end.toEpochSecond(ZoneOffset.UTC) + (end.getNano() > 0 ? 1 : 0);
+        if (endSecond > startSecond) {
+            append(startSecond, endSecond);
+        }
+    }
+
+    public void addAll(BusyIntervals other) {
+        for (int i = 0; i < other.size; i++) {
+            append(other.starts[i], other.ends[i]);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long getStartSecond(int index) {
+        return starts[checkIndex(index)];
+    }
+
+    public long getEndSecond(int index) {
+        return ends[checkIndex(index)];
+    }
+
+    public LocalDateTime getStart(int index) {
+        return LocalDateTime.ofEpochSecond(getStartSecond(index), 0, ZoneOffset.UTC);
+    }
+
+    public LocalDateTime getEnd(int index) {
+        return LocalDateTime.ofEpochSecond(getEndSecond(index), 0, ZoneOffset.UTC);
+    }
+
+    private void append(long startSecond, long endSecond) {
+        if (size == starts.length) {
+            starts = Arrays.copyOf(starts, size * 2);
+            ends = Arrays.copyOf(ends, size * 2);
+        }
+        starts[size] = startSecond;
+        ends[size] = endSecond;
+        size++;
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        return index;
+    }
+}
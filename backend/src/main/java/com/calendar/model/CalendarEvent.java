@@ -3,6 +3,7 @@ package com.calendar.model;
 import com.calendar.enums.CalendarSource;
 import com.calendar.enums.Status;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 public class CalendarEvent {
@@ -13,8 +14,12 @@ public class CalendarEvent {
     private LocalDateTime startTime;
     private LocalDateTime endTime;
     private boolean allDay;
+    private LocalDate startDate;
+    private LocalDate endDate;
     private Status status;
     private CalendarSource calendarSource;
+    private String iCalUid;
+    private String organizer;
 
     public String getId() {
         return id;
@@ -72,6 +77,28 @@ public class CalendarEvent {
         this.allDay = allDay;
     }
 
+    /**
+     * First day of an all-day event, which has dates instead of start and end times
+     */
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    /**
+     * Day after the last day of an all-day event, exclusive as providers report it
+     */
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
     public Status getStatus() {
         return status;
     }
@@ -87,4 +114,26 @@ public class CalendarEvent {
     public void setCalendarSource(CalendarSource calendarSource) {
         this.calendarSource = calendarSource;
     }
+
+    /**
+     * RFC 5545 UID shared by every copy of a meeting invitation, whichever calendar it landed in
+     */
+    public String getICalUid() {
+        return iCalUid;
+    }
+
+    public void setICalUid(String iCalUid) {
+        this.iCalUid = iCalUid;
+    }
+
+    /**
+     * Organizer's email address
+     */
+    public String getOrganizer() {
+        return organizer;
+    }
+
+    public void setOrganizer(String organizer) {
+        this.organizer = organizer;
+    }
 }
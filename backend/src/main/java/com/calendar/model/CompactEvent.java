@@ -0,0 +1,138 @@
+package com.calendar.model;
+
+import com.calendar.enums.CalendarSource;
+import com.calendar.enums.Status;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Memory-lean form of a {@link CalendarEvent} for events held in caches and stores. The times are
+ * epoch seconds (UTC of the local time, as in {@link BusyIntervals}) instead of two LocalDateTime
+ * object graphs, status and source are ordinals, and titles, locations and organizers go through a
+ * shared {@link StringInterner}. Full events are only built again by {@link #toCalendarEvent()} when
+ * they leave the cache. Sub-second precision is dropped; providers report whole minutes.
+ *
+ * Besides the event's own times a compact event carries the interval it occupies, which is also
+ * known for all-day events that have no times: it runs from the start of their first day to the start
+ * of the day after the last.
+ */
+public final class CompactEvent {
+
+    /** Start and end of an event whose interval is not known */
+    public static final long NO_TIME = Long.MIN_VALUE;
+
+    private static final Status[] STATUSES = Status.values();
+    private static final CalendarSource[] SOURCES = CalendarSource.values();
+
+    private static final byte TIMED = 1;
+    private static final byte ALL_DAY = 2;
+
+    private final String id;
+    private final String title;
+    private final String description;
+    private final String location;
+    private final String iCalUid;
+    private final String organizer;
+    private final long startSecond;
+    private final long endSecond;
+    private final byte status;
+    private final byte source;
+    private final byte flags;
+
+    private CompactEvent(CalendarEvent event, long startSecond, long endSecond, StringInterner interner) {
+        this.id = event.getId();
+        this.title = interner.intern(event.getTitle());
+        this.description = event.getDescription();
+        this.location = interner.intern(event.getLocation());
+        this.iCalUid = event.getICalUid();
+        this.organizer = interner.intern(event.getOrganizer());
+        this.startSecond = startSecond;
+        this.endSecond = endSecond;
+        this.status = (byte) (event.getStatus() != null ? event.getStatus().ordinal() : -1);
+        this.source = (byte) (event.getCalendarSource() != null ? event.getCalendarSource().ordinal() : -1);
+        this.flags = (byte) ((hasTimes(event) ? TIMED : 0) | (event.isAllDay() ? ALL_DAY : 0));
+    }
+
+    /**
+     * Compact an event that occupies its own start and end time, or its days if it is an all-day event
+     */
+    public static CompactEvent of(CalendarEvent event, StringInterner interner) {
+        if (!hasTimes(event) && event.getStartDate() != null && event.getEndDate() != null) {
+            return of(event, event.getStartDate().atStartOfDay(), event.getEndDate().atStartOfDay(), interner);
+        }
+        return of(event, event.getStartTime(), event.getEndTime(), interner);
+    }
+
+    /**
+     * Compact an event with the interval it occupies, used when the event has no times of its own
+     */
+    public static CompactEvent of(CalendarEvent event, LocalDateTime start, LocalDateTime end, StringInterner interner) {
+        if (hasTimes(event)) {
+            start = event.getStartTime();
+            end = event.getEndTime();
+        }
+        return new CompactEvent(event, toSecond(start), toSecond(end), interner);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Whether the interval is known; without it the event cannot be placed in time
+     */
+    public boolean hasInterval() {
+        return startSecond != NO_TIME && endSecond != NO_TIME;
+    }
+
+    public long getStartSecond() {
+        return startSecond;
+    }
+
+    public long getEndSecond() {
+        return endSecond;
+    }
+
+    /**
+     * Build the full event, with its own times only if it had them; all-day events get their days back
+     */
+    public CalendarEvent toCalendarEvent() {
+        CalendarEvent event = new CalendarEvent();
+        event.setId(id);
+        event.setTitle(title);
+        event.setDescription(description);
+        event.setLocation(location);
+        event.setICalUid(iCalUid);
+        event.setOrganizer(organizer);
+        if ((flags & TIMED) != 0) {
+            event.setStartTime(toLocalDateTime(startSecond));
+            event.setEndTime(toLocalDateTime(endSecond));
+        }
+        event.setAllDay((flags & ALL_DAY) != 0);
+        if ((flags & (TIMED | ALL_DAY)) == ALL_DAY && hasInterval()) {
+            event.setStartDate(toLocalDate(startSecond));
+            event.setEndDate(toLocalDate(endSecond));
+        }
+        event.setStatus(status >= 0 ? STATUSES[status] : null);
+        event.setCalendarSource(source >= 0 ? SOURCES[source] : null);
+        return event;
+    }
+
+    public static long toSecond(LocalDateTime time) {
+        return time != null ? time.toEpochSecond(ZoneOffset.UTC) : NO_TIME;
+    }
+
+    public static LocalDateTime toLocalDateTime(long second) {
+        return second != NO_TIME ? LocalDateTime.ofEpochSecond(second, 0, ZoneOffset.UTC) : null;
+    }
+
+    private static LocalDate toLocalDate(long second) {
+        return LocalDate.ofEpochDay(Math.floorDiv(second, 86_400L));
+    }
+
+    private static boolean hasTimes(CalendarEvent event) {
+        return event.getStartTime() != null && event.getEndTime() != null;
+    }
+}
@@ -0,0 +1,163 @@
+package com.calendar.model;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * K-way merge of per-source event lists into one list ordered by start time. Each list is expected to
+ * be sorted already, as providers return events in startTime order, so merging costs O(n log k) for k
+ * lists instead of re-sorting all n events. A list that turns out not to be sorted is sorted on its own
+ * first, so the result is always in order. Ties keep the order of the lists, then of the events.
+ */
+public final class SortedEventMerge {
+
+    /** Events without a start time sort first, as in a provider's own startTime ordering */
+    public static final Comparator<CalendarEvent> BY_START = Comparator.comparing(
+        CalendarEvent::getStartTime, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private SortedEventMerge() {
+    }
+
+    /**
+     * Position in one of the merged lists; compared by its current event, then by list
+     */
+    private static final class Cursor implements Comparable<Cursor> {
+        private final List<CalendarEvent> events;
+        private final int order;
+        private int position;
+
+        Cursor(List<CalendarEvent> events, int order) {
+            this.events = events;
+            this.order = order;
+        }
+
+        CalendarEvent head() {
+            return events.get(position);
+        }
+
+        @Override
+        public int compareTo(Cursor other) {
+            int byStart = compareStart(head().getStartTime(), other.head().getStartTime());
+            return byStart != 0 ? byStart : Integer.compare(order, other.order);
+        }
+    }
+
+    public static List<CalendarEvent> merge(List<List<CalendarEvent>> lists) {
+        int total = 0;
+        List<List<CalendarEvent>> nonEmpty = new ArrayList<>(lists.size());
+        for (List<CalendarEvent> events : lists) {
+            if (events != null && !events.isEmpty()) {
+                nonEmpty.add(isSorted(events) ? events : sortedCopy(events));
+                total += events.size();
+            }
+        }
+        if (nonEmpty.isEmpty()) {
+            return new ArrayList<>();
+        }
+        if (nonEmpty.size() == 1) {
+            return new ArrayList<>(nonEmpty.get(0));
+        }
+
+        PriorityQueue<Cursor> heap = new PriorityQueue<>(nonEmpty.size());
+        for (int i = 0; i < nonEmpty.size(); i++) {
+            heap.add(new Cursor(nonEmpty.get(i), i));
+        }
+        List<CalendarEvent> merged = new ArrayList<>(total);
+        while (!heap.isEmpty()) {
+            Cursor cursor = heap.poll();
+            merged.add(cursor.head());
+            if (++cursor.position < cursor.events.size()) {
+                heap.add(cursor);
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Lazy form of {@link #merge} for sources that are read as they go, such as paged provider streams.
+     * Only the head of each source is held. Sources are trusted to be sorted, as they cannot be sorted
+     * up front; an event out of order is passed on when it is reached.
+     */
+    public static Iterator<CalendarEvent> mergeIterators(List<? extends Iterator<CalendarEvent>> sources) {
+        return new MergingIterator(sources);
+    }
+
+    /**
+     * Head of one merged source; compared by that event, then by source
+     */
+    private record Head(CalendarEvent event, Iterator<CalendarEvent> source, int order) implements Comparable<Head> {
+
+        @Override
+        public int compareTo(Head other) {
+            int byStart = compareStart(event.getStartTime(), other.event.getStartTime());
+            return byStart != 0 ? byStart : Integer.compare(order, other.order);
+        }
+    }
+
+    private static final class MergingIterator implements Iterator<CalendarEvent> {
+        private final List<? extends Iterator<CalendarEvent>> sources;
+        private PriorityQueue<Head> heap;
+
+        MergingIterator(List<? extends Iterator<CalendarEvent>> sources) {
+            this.sources = sources;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (heap == null) {
+                // Pull the first heads only when asked, so building the merge does no I/O
+                heap = new PriorityQueue<>(Math.max(1, sources.size()));
+                for (int i = 0; i < sources.size(); i++) {
+                    offer(sources.get(i), i);
+                }
+            }
+            return !heap.isEmpty();
+        }
+
+        @Override
+        public CalendarEvent next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Head head = heap.poll();
+            offer(head.source(), head.order());
+            return head.event();
+        }
+
+        private void offer(Iterator<CalendarEvent> source, int order) {
+            if (source.hasNext()) {
+                heap.add(new Head(source.next(), source, order));
+            }
+        }
+    }
+
+    /**
+     * Same order as {@link #BY_START} on the start times alone
+     */
+    public static int compareStart(LocalDateTime a, LocalDateTime b) {
+        if (a == null || b == null) {
+            return a == b ? 0 : (a == null ? -1 : 1);
+        }
+        return a.compareTo(b);
+    }
+
+    static boolean isSorted(List<CalendarEvent> events) {
+        for (int i = 1; i < events.size(); i++) {
+            if (compareStart(events.get(i - 1).getStartTime(), events.get(i).getStartTime()) > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<CalendarEvent> sortedCopy(List<CalendarEvent> events) {
+        List<CalendarEvent> copy = new ArrayList<>(events);
+        copy.sort(BY_START);
+        return copy;
+    }
+}
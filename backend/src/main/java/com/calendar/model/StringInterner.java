@@ -0,0 +1,38 @@
+package com.calendar.model;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shares one instance of strings that repeat across many events, such as titles, locations and
+ * organizers, instead of keeping the copy each provider response deserialized. Bounded: once full,
+ * new strings are returned as they are rather than added.
+ */
+public final class StringInterner {
+
+    private final int maxSize;
+    private final Map<String, String> strings = new ConcurrentHashMap<>();
+
+    public StringInterner(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        String shared = strings.get(value);
+        if (shared != null) {
+            return shared;
+        }
+        if (strings.size() >= maxSize) {
+            return value;
+        }
+        shared = strings.putIfAbsent(value, value);
+        return shared != null ? shared : value;
+    }
+
+    public int size() {
+        return strings.size();
+    }
+}
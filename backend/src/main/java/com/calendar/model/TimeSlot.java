@@ -0,0 +1,29 @@
+package com.calendar.model;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * A free window of time, start inclusive and end exclusive
+ */
+public class TimeSlot {
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+
+    public TimeSlot(LocalDateTime start, LocalDateTime end) {
+        this.start = start;
+        this.end = end;
+    }
+
+    public LocalDateTime getStart() {
+        return start;
+    }
+
+    public LocalDateTime getEnd() {
+        return end;
+    }
+
+    public Duration getDuration() {
+        return Duration.between(start, end);
+    }
+}
@@ -0,0 +1,279 @@
+package com.calendar.security;
+
+import com.calendar.config.ExecutorConfig;
+import com.calendar.metrics.MetricsReporter;
+import com.calendar.service.CalendarService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.oauth2.client.AuthorizedClientServiceOAuth2AuthorizedClientManager;
+import org.springframework.security.oauth2.client.OAuth2AuthorizeRequest;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClientManager;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClientProviderBuilder;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClientService;
+import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
+import org.springframework.security.oauth2.core.OAuth2AuthorizationException;
+import org.springframework.security.oauth2.core.OAuth2ErrorCodes;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Refreshes users' access tokens in the background before they expire, so provider calls always find
+ * a valid token and never wait on a refresh round trip. Each token is refreshed at a jittered point
+ * inside the refresh-ahead window to spread refreshes out, and concurrent refreshes for the same user
+ * share one call to the authorization server. After a failed refresh the user is retried with
+ * exponential backoff; a refresh token the server rejects as invalid_grant is revoked for good, so the
+ * user's client is dropped until they sign in again.
+ */
+@Service
+@ConditionalOnProperty(name = "spring.security.enabled", havingValue = "true", matchIfMissing = true)
+public class TokenRefreshService implements MetricsReporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRefreshService.class);
+    
+    /** Backoff doubles per consecutive failure up to this many times */
+    private static final int MAX_BACKOFF_DOUBLINGS = 5;
+    
+    private record Backoff(int failures, long retryAtMillis) {
+    }
+
+    private final CalendarService calendarService;
+    private final OAuth2AuthorizedClientManager refreshManager;
+    private final long refreshAheadMillis;
+    private final long jitterMillis;
+    private final long retryBackoffMillis;
+    private final Clock clock;
+    private final ExecutorService refreshExecutor;
+    private final ScheduledExecutorService ticker;
+
+    private final Map<String, CompletableFuture<OAuth2AuthorizedClient>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Backoff> backoffs = new ConcurrentHashMap<>();
+
+    private final AtomicLong refreshed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong deduplicated = new AtomicLong();
+    private final AtomicLong revoked = new AtomicLong();
+
+    @Autowired
+    public TokenRefreshService(CalendarService calendarService,
+                               ClientRegistrationRepository clientRegistrationRepository,
+                               OAuth2AuthorizedClientService authorizedClientService,
+                               @Value("${calendar.token.refresh-ahead-seconds:300}") long refreshAheadSeconds,
+                               @Value("${calendar.token.jitter-seconds:60}") long jitterSeconds,
+                               @Value("${calendar.token.tick-ms:15000}") long tickMillis,
+                               @Value("${calendar.token.refresh-threads:2}") int refreshThreads,
+                               @Value("${calendar.token.retry-backoff-seconds:30}") long retryBackoffSeconds) {
+        this(calendarService,
+            refreshManager(clientRegistrationRepository, authorizedClientService,
+                Duration.ofSeconds(refreshAheadSeconds + jitterSeconds)),
+            Duration.ofSeconds(refreshAheadSeconds), Duration.ofSeconds(jitterSeconds),
+            Duration.ofSeconds(retryBackoffSeconds),
+            ExecutorConfig.boundedExecutor("token-refresh-", refreshThreads, 1000), Clock.systemUTC(), tickMillis);
+    }
+
+    /**
+     * @param retryBackoff wait before retrying a user whose refresh failed, doubled per further failure
+     * @param tickMillis how often to look for tokens due for refresh; 0 or less disables the background ticker
+     */
+    public TokenRefreshService(CalendarService calendarService, OAuth2AuthorizedClientManager refreshManager,
+                               Duration refreshAhead, Duration jitter, Duration retryBackoff,
+                               ExecutorService refreshExecutor, Clock clock, long tickMillis) {
+        this.calendarService = calendarService;
+        this.refreshManager = refreshManager;
+        this.refreshAheadMillis = refreshAhead.toMillis();
+        this.jitterMillis = Math.max(1, jitter.toMillis());
+        this.retryBackoffMillis = retryBackoff.toMillis();
+        this.refreshExecutor = refreshExecutor;
+        this.clock = clock;
+        if (tickMillis > 0) {
+            this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "token-refresh-ticker");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.ticker.scheduleWithFixedDelay(this::refreshDueTokens, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.ticker = null;
+        }
+    }
+
+    /**
+     * The request-bound manager used by the web layer needs a servlet request, so background refreshes
+     * go through a manager backed by the authorized client service instead. Its clock skew covers the
+     * whole refresh-ahead window, so a token handed to it is always refreshed.
+     */
+    private static OAuth2AuthorizedClientManager refreshManager(ClientRegistrationRepository clientRegistrationRepository,
+                                                                OAuth2AuthorizedClientService authorizedClientService,
+                                                                Duration clockSkew) {
+        AuthorizedClientServiceOAuth2AuthorizedClientManager manager =
+            new AuthorizedClientServiceOAuth2AuthorizedClientManager(clientRegistrationRepository, authorizedClientService);
+        manager.setAuthorizedClientProvider(OAuth2AuthorizedClientProviderBuilder.builder()
+            .refreshToken(refreshToken -> refreshToken.clockSkew(clockSkew))
+            .build());
+        return manager;
+    }
+
+    /**
+     * Start a refresh for every known user whose token is inside its refresh window, skipping users that
+     * are backing off after a failed refresh
+     */
+    public void refreshDueTokens() {
+        try {
+            long now = clock.millis();
+            Set<String> userIds = calendarService.getKnownUserIds();
+            backoffs.keySet().retainAll(userIds);
+            for (String userId : userIds) {
+                Backoff backoff = backoffs.get(userId);
+                if (backoff != null && now < backoff.retryAtMillis()) {
+                    continue;
+                }
+                OAuth2AuthorizedClient client = calendarService.getAuthorizedClient(userId);
+                if (client != null && isDue(userId, client, now)) {
+                    refresh(userId);
+                }
+            }
+        } catch (RuntimeException e) {
+            // An exception would cancel the ticker for good
+            logger.error("Token refresh round failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Refresh the user's token now, joining the refresh already running for the user if there is one.
+     * Completes with the refreshed client, or the current one if it could not be refreshed.
+     */
+    public CompletableFuture<OAuth2AuthorizedClient> refresh(String userId) {
+        CompletableFuture<OAuth2AuthorizedClient> own = new CompletableFuture<>();
+        CompletableFuture<OAuth2AuthorizedClient> existing = inFlight.putIfAbsent(userId, own);
+        if (existing != null) {
+            deduplicated.incrementAndGet();
+            return existing;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    own.complete(refreshNow(userId));
+                } catch (RuntimeException e) {
+                    own.completeExceptionally(e);
+                } finally {
+                    inFlight.remove(userId, own);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(userId, own);
+            own.completeExceptionally(e);
+        }
+        return own;
+    }
+
+    /**
+     * Whether the token expires within the refresh-ahead window, shifted by the user's jitter
+     */
+    boolean isDue(String userId, OAuth2AuthorizedClient client, long nowMillis) {
+        if (client.getRefreshToken() == null || client.getAccessToken().getExpiresAt() == null) {
+            return false;
+        }
+        Instant expiresAt = client.getAccessToken().getExpiresAt();
+        long refreshAt = expiresAt.toEpochMilli() - refreshAheadMillis - jitterFor(userId, expiresAt);
+        return nowMillis >= refreshAt;
+    }
+
+    /**
+     * Stable offset in [0, jitter) for this user and token, so users whose tokens were issued together
+     * do not all refresh on the same tick
+     */
+    long jitterFor(String userId, Instant expiresAt) {
+        return Math.floorMod((userId.hashCode() * 31L + expiresAt.getEpochSecond()) * 0x9E3779B9L, jitterMillis);
+    }
+
+    private OAuth2AuthorizedClient refreshNow(String userId) {
+        OAuth2AuthorizedClient client = calendarService.getAuthorizedClient(userId);
+        if (client == null) {
+            return null;
+        }
+        try {
+            OAuth2AuthorizedClient result = refreshManager.authorize(OAuth2AuthorizeRequest.withAuthorizedClient(client)
+                .principal(client.getPrincipalName())
+                .build());
+            if (result == null || result == client) {
+                return client;
+            }
+            backoffs.remove(userId);
+            // Keep a newer login that arrived while we were refreshing
+            if (calendarService.replaceAuthorizedClient(userId, client, result)) {
+                refreshed.incrementAndGet();
+                logger.debug("Refreshed access token for user {}", userId);
+            }
+            return calendarService.getAuthorizedClient(userId);
+        } catch (OAuth2AuthorizationException e) {
+            failed.incrementAndGet();
+            if (!OAuth2ErrorCodes.INVALID_GRANT.equals(e.getError().getErrorCode())) {
+                return backOff(userId, client, e);
+            }
+            // The refresh token was revoked or has expired; only a new login can help
+            backoffs.remove(userId);
+            if (calendarService.removeAuthorizedClient(userId, client)) {
+                revoked.incrementAndGet();
+                logger.info("Refresh token of user {} is no longer valid, dropping the client", userId);
+            }
+            return calendarService.getAuthorizedClient(userId);
+        } catch (RuntimeException e) {
+            failed.incrementAndGet();
+            return backOff(userId, client, e);
+        }
+    }
+
+    private OAuth2AuthorizedClient backOff(String userId, OAuth2AuthorizedClient client, RuntimeException e) {
+        Backoff backoff = backoffs.compute(userId, (id, previous) -> {
+            int failures = previous != null ? previous.failures() + 1 : 1;
+            long delay = retryBackoffMillis << Math.min(failures - 1, MAX_BACKOFF_DOUBLINGS);
+            return new Backoff(failures, clock.millis() + delay);
+        });
+        logger.warn("Failed to refresh access token for user {} ({} in a row): {}", userId, backoff.failures(),
+            e.getMessage());
+        return client;
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "tokenRefresh";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("refreshed", refreshed.get());
+        metrics.put("failed", failed.get());
+        metrics.put("deduplicated", deduplicated.get());
+        metrics.put("revoked", revoked.get());
+        metrics.put("backingOff", backoffs.size());
+        metrics.put("inFlight", inFlight.size());
+        return metrics;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+        refreshExecutor.shutdownNow();
+    }
+}
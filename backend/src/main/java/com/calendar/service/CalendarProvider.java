@@ -1,10 +1,15 @@
 package com.calendar.service;
 
+import com.calendar.model.BatchOperation;
+import com.calendar.model.BatchResult;
+import com.calendar.model.BusyIntervals;
 import com.calendar.model.CalendarEvent;
 import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface CalendarProvider {
     /**
@@ -12,6 +17,21 @@ public interface CalendarProvider {
      */
     List<CalendarEvent> fetchEvents(OAuth2AuthorizedClient client, LocalDateTime start, LocalDateTime end);
     
+    /**
+     * Stream events from the calendar provider page by page. The stream must be closed once consumed.
+     */
+    default Stream<CalendarEvent> streamEvents(OAuth2AuthorizedClient client, LocalDateTime start, LocalDateTime end) {
+        return fetchEvents(client, start, end).stream();
+    }
+    
+    /**
+     * Fetch only the busy time in the range. The default derives it from the full events; providers
+     * override it with their free/busy endpoint, which returns no event bodies.
+     */
+    default BusyIntervals fetchBusyIntervals(OAuth2AuthorizedClient client, LocalDateTime start, LocalDateTime end) {
+        return BusyIntervals.of(fetchEvents(client, start, end));
+    }
+    
     /**
      * Create an event in the calendar provider
      */
@@ -27,6 +47,31 @@ public interface CalendarProvider {
      */
     void deleteEvent(OAuth2AuthorizedClient client, String eventId);
     
+    /**
+     * Apply several writes, returning one result per operation in the same order. A failed operation
+     * does not fail the others. The default makes one call per operation; providers override it with
+     * their native batch endpoint.
+     */
+    default List<BatchResult> executeBatch(OAuth2AuthorizedClient client, List<BatchOperation> operations) {
+        List<BatchResult> results = new ArrayList<>(operations.size());
+        for (int i = 0; i < operations.size(); i++) {
+            BatchOperation operation = operations.get(i);
+            try {
+                switch (operation.getType()) {
+                    case CREATE -> results.add(BatchResult.succeeded(i, getProviderName(), createEvent(client, operation.getEvent())));
+                    case UPDATE -> results.add(BatchResult.succeeded(i, getProviderName(), updateEvent(client, operation.getEvent())));
+                    case DELETE -> {
+                        deleteEvent(client, operation.getEventId());
+                        results.add(BatchResult.succeeded(i, getProviderName(), null));
+                    }
+                }
+            } catch (Exception e) {
+                results.add(BatchResult.failed(i, getProviderName(), e.getMessage()));
+            }
+        }
+        return results;
+    }
+    
     /**
      * Get the name of the calendar provider
      */
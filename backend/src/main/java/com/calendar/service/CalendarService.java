@@ -1,74 +1,450 @@
 package com.calendar.service;
 
+import com.calendar.cache.RequestCoalescer;
+import com.calendar.cache.TiledEventCache;
+import com.calendar.config.ExecutorConfig;
+import com.calendar.enums.FetchStatus;
+import com.calendar.model.AggregatedBusyTime;
+import com.calendar.model.AggregatedEvents;
+import com.calendar.model.BatchOperation;
+import com.calendar.model.BatchResult;
+import com.calendar.model.BusyIntervals;
 import com.calendar.model.CalendarEvent;
+import com.calendar.model.SortedEventMerge;
+import com.calendar.store.AuthorizedClientStore;
+import com.calendar.store.BoundedAuthorizedClientStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
-import org.springframework.security.oauth2.client.OAuth2AuthorizedClientManager;
 import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
 import org.springframework.stereotype.Service;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @ConditionalOnProperty(name = "spring.security.enabled", havingValue = "true", matchIfMissing = true)
 public class CalendarService implements ICalendarService {
     
     private static final Logger logger = LoggerFactory.getLogger(CalendarService.class);
+    private static final long DEFAULT_FETCH_TIMEOUT_MS = 10_000;
+    private static final int STREAM_BUFFER_SIZE = 256;
     private final List<CalendarProvider> calendarProviders;
-    private final OAuth2AuthorizedClientManager clientManager;
-    private final Map<String, OAuth2AuthorizedClient> authorizedClients = new ConcurrentHashMap<>();
+    private final AuthorizedClientStore clientStore;
+    private final ExecutorService providerExecutor;
+    private final boolean parallelFetch;
+    private final long fetchTimeoutMs;
+    private final TiledEventCache eventCache;
+    private final RequestCoalescer requestCoalescer;
+    
+    public CalendarService(List<CalendarProvider> calendarProviders) {
+        this(calendarProviders,
+            ExecutorConfig.boundedExecutor("calendar-provider-", 8, 100), true, DEFAULT_FETCH_TIMEOUT_MS);
+    }
+    
+    public CalendarService(List<CalendarProvider> calendarProviders,
+                         ExecutorService providerExecutor,
+                         boolean parallelFetch,
+                         long fetchTimeoutMs) {
+        this(calendarProviders, providerExecutor, parallelFetch, fetchTimeoutMs, null, null,
+            new BoundedAuthorizedClientStore(10_000, Duration.ofHours(24), Clock.systemUTC()));
+    }
     
     @Autowired
-    public CalendarService(List<CalendarProvider> calendarProviders, 
-                         OAuth2AuthorizedClientManager clientManager) {
+    public CalendarService(List<CalendarProvider> calendarProviders,
+                         @Qualifier("calendarProviderExecutor") ExecutorService providerExecutor,
+                         @Value("${calendar.fetch.parallel:true}") boolean parallelFetch,
+                         @Value("${calendar.fetch.timeout-ms:10000}") long fetchTimeoutMs,
+                         TiledEventCache eventCache,
+                         RequestCoalescer requestCoalescer,
+                         AuthorizedClientStore clientStore) {
         this.calendarProviders = calendarProviders;
-        this.clientManager = clientManager;
+        this.providerExecutor = providerExecutor;
+        this.parallelFetch = parallelFetch;
+        this.fetchTimeoutMs = fetchTimeoutMs;
+        this.eventCache = eventCache;
+        this.requestCoalescer = requestCoalescer;
+        this.clientStore = clientStore;
     }
     
     /**
      * Store authorized client for a user
      */
     public void storeAuthorizedClient(String userId, OAuth2AuthorizedClient client) {
-        authorizedClients.put(userId, client);
+        clientStore.put(userId, client);
     }
     
+    /**
+     * Swap in a refreshed client, unless the user's client changed since it was read
+     */
+    public boolean replaceAuthorizedClient(String userId, OAuth2AuthorizedClient expected, OAuth2AuthorizedClient replacement) {
+        return clientStore.replace(userId, expected, replacement);
+    }
+
+    /**
+     * Forget a client that can no longer be used, unless the user's client changed since it was read
+     */
+    public boolean removeAuthorizedClient(String userId, OAuth2AuthorizedClient expected) {
+        return clientStore.remove(userId, expected);
+    }
+
     /**
      * Get authorized client for a user
      */
     public OAuth2AuthorizedClient getAuthorizedClient(String userId) {
-        return authorizedClients.get(userId);
+        return clientStore.get(userId);
+    }
+    
+    /**
+     * Users that have an authorized client registered with this service
+     */
+    public Set<String> getKnownUserIds() {
+        return clientStore.userIds();
     }
     
     @Override
     public List<CalendarEvent> fetchAllEvents(String userId, LocalDateTime start, LocalDateTime end) {
-        List<CalendarEvent> allEvents = new ArrayList<>();
+        return fetchAllEventsWithStatus(userId, start, end).getEvents();
+    }
+    
+    @Override
+    public AggregatedEvents fetchAllEventsWithStatus(String userId, LocalDateTime start, LocalDateTime end) {
         OAuth2AuthorizedClient client = getAuthorizedClient(userId);
         
         if (client == null) {
             logger.warn("No authorized client found for user: {}", userId);
-            return allEvents;
+            return new AggregatedEvents(new ArrayList<>(), new LinkedHashMap<>());
         }
         
+        List<CalendarProvider> providers = new ArrayList<>();
         for (CalendarProvider provider : calendarProviders) {
             if (provider.isConfigured()) {
+                providers.add(provider);
+            }
+        }
+        
+        if (parallelFetch && providers.size() > 1) {
+            return fetchConcurrently(providers, client, userId, start, end);
+        }
+        return fetchSequentially(providers, client, userId, start, end);
+    }
+    
+    private AggregatedEvents fetchSequentially(List<CalendarProvider> providers, OAuth2AuthorizedClient client,
+                                               String userId, LocalDateTime start, LocalDateTime end) {
+        List<List<CalendarEvent>> results = new ArrayList<>();
+        Map<String, FetchStatus> statuses = new LinkedHashMap<>();
+        
+        for (CalendarProvider provider : providers) {
+            try {
+                results.add(fetchProviderEvents(provider, client, userId, start, end));
+                statuses.put(provider.getProviderName(), FetchStatus.SUCCESS);
+            } catch (Exception e) {
+                statuses.put(provider.getProviderName(), FetchStatus.FAILED);
+                logger.error("Error fetching events from {} for user {}: {}", 
+                    provider.getProviderName(), userId, e.getMessage());
+            }
+        }
+        
+        return merged(results, userId, statuses);
+    }
+    
+    /**
+     * Query every provider at once and wait for them against a single deadline. Providers that
+     * fail or miss the deadline are reported in the statuses while the others are still returned.
+     */
+    private AggregatedEvents fetchConcurrently(List<CalendarProvider> providers, OAuth2AuthorizedClient client,
+                                               String userId, LocalDateTime start, LocalDateTime end) {
+        List<List<CalendarEvent>> results = new ArrayList<>();
+        Map<String, FetchStatus> statuses = new LinkedHashMap<>();
+        Map<CalendarProvider, Future<List<CalendarEvent>>> pending = new LinkedHashMap<>();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(fetchTimeoutMs);
+        
+        for (CalendarProvider provider : providers) {
+            try {
+                pending.put(provider, providerExecutor.submit(() -> fetchProviderEvents(provider, client, userId, start, end)));
+            } catch (RejectedExecutionException e) {
+                statuses.put(provider.getProviderName(), FetchStatus.FAILED);
+                logger.error("Provider pool saturated, skipping {} for user {}", provider.getProviderName(), userId);
+            }
+        }
+        
+        for (Map.Entry<CalendarProvider, Future<List<CalendarEvent>>> entry : pending.entrySet()) {
+            String providerName = entry.getKey().getProviderName();
+            Future<List<CalendarEvent>> future = entry.getValue();
+            try {
+                long remaining = Math.max(0, deadline - System.nanoTime());
+                results.add(future.get(remaining, TimeUnit.NANOSECONDS));
+                statuses.put(providerName, FetchStatus.SUCCESS);
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                statuses.put(providerName, FetchStatus.TIMED_OUT);
+                logger.warn("Timed out after {} ms fetching events from {} for user {}", 
+                    fetchTimeoutMs, providerName, userId);
+            } catch (ExecutionException e) {
+                statuses.put(providerName, FetchStatus.FAILED);
+                logger.error("Error fetching events from {} for user {}: {}", 
+                    providerName, userId, e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.cancel(true);
+                statuses.put(providerName, FetchStatus.FAILED);
+            }
+        }
+        
+        return merged(results, userId, statuses);
+    }
+    
+    /**
+     * Merge the providers' start-ordered results into one start-ordered list without re-sorting, then
+     * collapse meetings that appear in more than one calendar
+     */
+    private static AggregatedEvents merged(List<List<CalendarEvent>> results, String userId,
+                                           Map<String, FetchStatus> statuses) {
+        EventDeduplicator merged = new EventDeduplicator();
+        merged.addAll(SortedEventMerge.merge(results));
+        if (merged.getDuplicates() > 0) {
+            logger.debug("Collapsed {} duplicate event(s) across calendars for user {}", merged.getDuplicates(), userId);
+        }
+        return new AggregatedEvents(merged.getEvents(), statuses);
+    }
+    
+    /**
+     * Marks the end of one provider's events on its streaming queue
+     */
+    private record ProviderDone(String providerName, FetchStatus status) {
+    }
+    
+    /**
+     * One provider's stream as seen by the merge: its queue and the earliest event not yet sent
+     */
+    private static final class StreamRun {
+        private final String providerName;
+        private final int order;
+        private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(STREAM_BUFFER_SIZE);
+        private CalendarEvent head;
+        
+        StreamRun(String providerName, int order) {
+            this.providerName = providerName;
+            this.order = order;
+        }
+    }
+    
+    private static final Comparator<StreamRun> BY_HEAD_START = (a, b) -> {
+        int byStart = SortedEventMerge.compareStart(a.head.getStartTime(), b.head.getStartTime());
+        return byStart != 0 ? byStart : Integer.compare(a.order, b.order);
+    };
+    
+    /**
+     * Stream every provider concurrently, each through its own small bounded queue, so memory stays flat
+     * however large the range is. Providers return events in start order, so a k-way merge over the
+     * queue heads sends events to the sink in start order without buffering or sorting them; the first
+     * event goes out once every provider has produced its first one. A provider that produces nothing
+     * for the fetch timeout is abandoned and reported as timed out. Copies of a meeting already sent
+     * are dropped; only their fingerprints are kept, never the events.
+     */
+    @Override
+    public Map<String, FetchStatus> streamAllEvents(String userId, LocalDateTime start, LocalDateTime end,
+                                                    Consumer<CalendarEvent> sink) {
+        Map<String, FetchStatus> statuses = new LinkedHashMap<>();
+        OAuth2AuthorizedClient client = getAuthorizedClient(userId);
+        
+        if (client == null) {
+            logger.warn("No authorized client found for user: {}", userId);
+            return statuses;
+        }
+        
+        List<StreamRun> runs = new ArrayList<>();
+        List<Future<?>> pending = new ArrayList<>();
+        for (CalendarProvider provider : calendarProviders) {
+            if (!provider.isConfigured()) {
+                continue;
+            }
+            String providerName = provider.getProviderName();
+            StreamRun run = new StreamRun(providerName, runs.size());
+            try {
+                pending.add(providerExecutor.submit(() -> {
+                    FetchStatus status = FetchStatus.SUCCESS;
+                    try (Stream<CalendarEvent> events = provider.streamEvents(client, start, end)) {
+                        Iterator<CalendarEvent> iterator = events.iterator();
+                        while (iterator.hasNext()) {
+                            run.queue.put(iterator.next());
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return null;
+                    } catch (Exception e) {
+                        status = FetchStatus.FAILED;
+                        logger.error("Error streaming events from {} for user {}: {}", 
+                            providerName, userId, e.getMessage());
+                    }
+                    run.queue.put(new ProviderDone(providerName, status));
+                    return null;
+                }));
+                runs.add(run);
+            } catch (RejectedExecutionException e) {
+                statuses.put(providerName, FetchStatus.FAILED);
+                logger.error("Provider pool saturated, skipping {} for user {}", providerName, userId);
+            }
+        }
+        
+        PriorityQueue<StreamRun> heads = new PriorityQueue<>(Math.max(1, runs.size()), BY_HEAD_START);
+        EventDeduplicator seen = new EventDeduplicator();
+        try {
+            for (StreamRun run : runs) {
+                if (advance(run, statuses, userId)) {
+                    heads.add(run);
+                }
+            }
+            while (!heads.isEmpty()) {
+                StreamRun run = heads.poll();
+                if (seen.firstSeen(run.head)) {
+                    sink.accept(run.head);
+                }
+                if (advance(run, statuses, userId)) {
+                    heads.add(run);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            // Stops producers that are still running, e.g. because the client went away mid-stream
+            for (Future<?> future : pending) {
+                future.cancel(true);
+            }
+        }
+        return statuses;
+    }
+    
+    /**
+     * Move the run to its next event. Returns false once the provider is done or has timed out.
+     */
+    private boolean advance(StreamRun run, Map<String, FetchStatus> statuses, String userId) throws InterruptedException {
+        Object item = run.queue.poll(fetchTimeoutMs, TimeUnit.MILLISECONDS);
+        if (item == null) {
+            statuses.put(run.providerName, FetchStatus.TIMED_OUT);
+            logger.warn("No events from {} for {} ms while streaming for user {}", 
+                run.providerName, fetchTimeoutMs, userId);
+            return false;
+        }
+        if (item instanceof ProviderDone done) {
+            statuses.put(done.providerName(), done.status());
+            return false;
+        }
+        run.head = (CalendarEvent) item;
+        return true;
+    }
+    
+    /**
+     * Busy time from every configured provider's free/busy endpoint, queried concurrently against the
+     * fetch timeout. A provider that fails or times out contributes no busy time and is reported in the
+     * statuses, so callers that must not double book can tell missing busy time from free time.
+     */
+    @Override
+    public AggregatedBusyTime fetchBusyTimeWithStatus(String userId, LocalDateTime start, LocalDateTime end) {
+        BusyIntervals busy = new BusyIntervals();
+        Map<String, FetchStatus> statuses = new LinkedHashMap<>();
+        OAuth2AuthorizedClient client = getAuthorizedClient(userId);
+        
+        if (client == null) {
+            logger.warn("No authorized client found for user: {}", userId);
+            return new AggregatedBusyTime(busy, statuses);
+        }
+        
+        Map<String, Future<BusyIntervals>> pending = new LinkedHashMap<>();
+        for (CalendarProvider provider : calendarProviders) {
+            if (!provider.isConfigured()) {
+                continue;
+            }
+            if (!parallelFetch) {
                 try {
-                    List<CalendarEvent> events = provider.fetchEvents(client, start, end);
-                    allEvents.addAll(events);
+                    busy.addAll(provider.fetchBusyIntervals(client, start, end));
+                    statuses.put(provider.getProviderName(), FetchStatus.SUCCESS);
                 } catch (Exception e) {
-                    logger.error("Error fetching events from {} for user {}: {}", 
+                    statuses.put(provider.getProviderName(), FetchStatus.FAILED);
+                    logger.error("Error fetching busy time from {} for user {}: {}", 
                         provider.getProviderName(), userId, e.getMessage());
                 }
+                continue;
+            }
+            try {
+                pending.put(provider.getProviderName(),
+                    providerExecutor.submit(() -> provider.fetchBusyIntervals(client, start, end)));
+            } catch (RejectedExecutionException e) {
+                statuses.put(provider.getProviderName(), FetchStatus.FAILED);
+                logger.error("Provider pool saturated, skipping {} for user {}", provider.getProviderName(), userId);
             }
         }
         
-        return allEvents;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(fetchTimeoutMs);
+        for (Map.Entry<String, Future<BusyIntervals>> entry : pending.entrySet()) {
+            Future<BusyIntervals> future = entry.getValue();
+            try {
+                long remaining = Math.max(0, deadline - System.nanoTime());
+                busy.addAll(future.get(remaining, TimeUnit.NANOSECONDS));
+                statuses.put(entry.getKey(), FetchStatus.SUCCESS);
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                statuses.put(entry.getKey(), FetchStatus.TIMED_OUT);
+                logger.warn("Timed out after {} ms fetching busy time from {} for user {}", 
+                    fetchTimeoutMs, entry.getKey(), userId);
+            } catch (ExecutionException e) {
+                statuses.put(entry.getKey(), FetchStatus.FAILED);
+                logger.error("Error fetching busy time from {} for user {}: {}", 
+                    entry.getKey(), userId, e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.cancel(true);
+                statuses.put(entry.getKey(), FetchStatus.FAILED);
+            }
+        }
+        return new AggregatedBusyTime(busy, statuses);
+    }
+    
+    private List<CalendarEvent> fetchProviderEvents(CalendarProvider provider, OAuth2AuthorizedClient client,
+                                                    String userId, LocalDateTime start, LocalDateTime end) {
+        if (requestCoalescer == null) {
+            return fetchThroughCache(provider, client, userId, start, end);
+        }
+        return requestCoalescer.fetch(userId, provider.getProviderName(), start, end,
+            () -> fetchThroughCache(provider, client, userId, start, end));
+    }
+    
+    private List<CalendarEvent> fetchThroughCache(CalendarProvider provider, OAuth2AuthorizedClient client,
+                                                  String userId, LocalDateTime start, LocalDateTime end) {
+        if (eventCache == null) {
+            return provider.fetchEvents(client, start, end);
+        }
+        return eventCache.get(userId, provider.getProviderName(), start, end,
+            (tileStart, tileEnd) -> provider.fetchEvents(client, tileStart, tileEnd));
+    }
+    
+    private void invalidateCachedEvents(String userId) {
+        if (eventCache != null) {
+            eventCache.invalidateUser(userId);
+        }
     }
     
     @Override
@@ -93,6 +469,7 @@ public class CalendarService implements ICalendarService {
             }
         }
         
+        invalidateCachedEvents(userId);
         return createdEvents;
     }
     
@@ -118,6 +495,7 @@ public class CalendarService implements ICalendarService {
             }
         }
         
+        invalidateCachedEvents(userId);
         return updatedEvents;
     }
     
@@ -140,6 +518,58 @@ public class CalendarService implements ICalendarService {
                 }
             }
         }
+        invalidateCachedEvents(userId);
+    }
+    
+    /**
+     * Route each operation to its target provider, or to every configured provider when it names none,
+     * and let each provider send its share through its own batch endpoint
+     */
+    @Override
+    public List<BatchResult> executeBatch(String userId, List<BatchOperation> operations) {
+        List<BatchResult> results = new ArrayList<>();
+        OAuth2AuthorizedClient client = getAuthorizedClient(userId);
+        
+        if (client == null) {
+            logger.warn("No authorized client found for user: {}", userId);
+            return results;
+        }
+        
+        for (CalendarProvider provider : calendarProviders) {
+            if (!provider.isConfigured()) {
+                continue;
+            }
+            List<Integer> indexes = new ArrayList<>();
+            List<BatchOperation> routed = new ArrayList<>();
+            for (int i = 0; i < operations.size(); i++) {
+                BatchOperation operation = operations.get(i);
+                if (operation.getTargetSource() == null
+                        || operation.getTargetSource().name().equals(provider.getProviderName())) {
+                    indexes.add(i);
+                    routed.add(operation);
+                }
+            }
+            if (routed.isEmpty()) {
+                continue;
+            }
+            
+            try {
+                List<BatchResult> providerResults = provider.executeBatch(client, routed);
+                for (int j = 0; j < providerResults.size(); j++) {
+                    results.add(providerResults.get(j).withIndex(indexes.get(j)));
+                }
+            } catch (Exception e) {
+                logger.error("Error executing batch in {} for user {}: {}", 
+                    provider.getProviderName(), userId, e.getMessage());
+                for (int index : indexes) {
+                    results.add(BatchResult.failed(index, provider.getProviderName(), e.getMessage()));
+                }
+            }
+        }
+        
+        results.sort(Comparator.comparingInt(BatchResult::getIndex));
+        invalidateCachedEvents(userId);
+        return results;
     }
     
     @Override
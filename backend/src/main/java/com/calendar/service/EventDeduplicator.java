@@ -0,0 +1,104 @@
+package com.calendar.service;
+
+import com.calendar.enums.CalendarSource;
+import com.calendar.model.CalendarEvent;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Collapses the copies of one meeting that show up in several calendars while provider results are
+ * merged. Every event is fingerprinted once and looked up in a hash index, so a merge is linear in the
+ * number of events and results can be fed in as each provider returns them. The first copy wins.
+ *
+ * Events match when they share an iCalUID and start, since recurring instances share the UID. Without
+ * one they match on normalized title, start, end and organizer, but only across different sources so
+ * that two identical blocks in one calendar are both kept. Events without times are never collapsed.
+ * Not thread-safe; use one per merge.
+ */
+public final class EventDeduplicator {
+
+    private record UidKey(String iCalUid, LocalDateTime start) {
+    }
+
+    private record ContentKey(String title, LocalDateTime start, LocalDateTime end, String organizer) {
+    }
+
+    private final Set<UidKey> uids = new HashSet<>();
+    private final Map<ContentKey, CalendarSource> contents = new HashMap<>();
+    private final List<CalendarEvent> events = new ArrayList<>();
+    private int duplicates;
+
+    /**
+     * Index the event and tell whether it is the first copy seen; duplicates are counted and dropped
+     */
+    public boolean firstSeen(CalendarEvent event) {
+        if (event.getStartTime() == null || event.getEndTime() == null) {
+            return true;
+        }
+        UidKey uidKey = event.getICalUid() != null ? new UidKey(event.getICalUid(), event.getStartTime()) : null;
+        ContentKey contentKey = new ContentKey(normalize(event.getTitle()), event.getStartTime(),
+            event.getEndTime(), normalize(event.getOrganizer()));
+        CalendarSource contentSource = contents.get(contentKey);
+        if ((uidKey != null && uids.contains(uidKey))
+                || (contentSource != null && contentSource != event.getCalendarSource())) {
+            duplicates++;
+            return false;
+        }
+        if (uidKey != null) {
+            uids.add(uidKey);
+        }
+        contents.putIfAbsent(contentKey, event.getCalendarSource());
+        return true;
+    }
+
+    /**
+     * Merge one provider's events, keeping those not seen before
+     */
+    public void addAll(Collection<CalendarEvent> providerEvents) {
+        for (CalendarEvent event : providerEvents) {
+            if (firstSeen(event)) {
+                events.add(event);
+            }
+        }
+    }
+
+    public List<CalendarEvent> getEvents() {
+        return events;
+    }
+
+    public int getDuplicates() {
+        return duplicates;
+    }
+
+    /**
+     * Case- and whitespace-insensitive form, so "Team  Sync " and "team sync" match
+     */
+    static String normalize(String value) {
+        if (value == null) {
+            return null;
+        }
+        StringBuilder normalized = new StringBuilder(value.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = normalized.length() > 0;
+            } else {
+                if (pendingSpace) {
+                    normalized.append(' ');
+                    pendingSpace = false;
+                }
+                normalized.append(c);
+            }
+        }
+        return normalized.toString().toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,27 +1,71 @@
 package com.calendar.service;
 
+import com.calendar.cache.CalendarListCache;
+import com.calendar.client.CalendarFanOut;
+import com.calendar.client.GoogleCalendarClientFactory;
+import com.calendar.client.PrefetchingPageIterator;
+import com.calendar.client.PrefetchingPageIterator.Page;
+import com.calendar.converter.GoogleEventToCalendarEventConverter;
 import com.calendar.enums.CalendarSource;
+import com.calendar.model.BatchOperation;
+import com.calendar.model.BatchResult;
+import com.calendar.model.BusyIntervals;
 import com.calendar.model.CalendarEvent;
-import com.google.api.client.http.javanet.NetHttpTransport;
-import com.google.api.client.json.gson.GsonFactory;
+import com.calendar.store.SyncPartition;
+import com.calendar.store.SyncPartition.StoredEvent;
+import com.calendar.store.SyncedEventStore;
+import com.google.api.client.googleapis.batch.BatchRequest;
+import com.google.api.client.googleapis.batch.json.JsonBatchCallback;
+import com.google.api.client.googleapis.json.GoogleJsonError;
+import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import com.google.api.client.http.HttpHeaders;
+import com.google.api.client.util.DateTime;
 import com.google.api.services.calendar.Calendar;
+import com.google.api.services.calendar.model.CalendarList;
+import com.google.api.services.calendar.model.CalendarListEntry;
 import com.google.api.services.calendar.model.Event;
-import com.google.auth.http.HttpCredentialsAdapter;
-import com.google.auth.oauth2.AccessToken;
-import com.google.auth.oauth2.OAuth2Credentials;
+import com.google.api.services.calendar.model.EventDateTime;
+import com.google.api.services.calendar.model.Events;
+import com.google.api.services.calendar.model.FreeBusyCalendar;
+import com.google.api.services.calendar.model.FreeBusyRequest;
+import com.google.api.services.calendar.model.FreeBusyRequestItem;
+import com.google.api.services.calendar.model.FreeBusyResponse;
+import com.google.api.services.calendar.model.TimePeriod;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class GoogleCalendarProvider implements CalendarProvider {
     
+    private static final Logger logger = LoggerFactory.getLogger(GoogleCalendarProvider.class);
+    
+    /** Google accepts at most 50 calls in one batch request */
+    private static final int MAX_BATCH_SIZE = 50;
+    
+    private static final String PRIMARY_CALENDAR = "primary";
+    
     @Value("${spring.security.oauth2.client.registration.google.client-id}")
     private String clientId;
     
@@ -34,61 +78,400 @@ public class GoogleCalendarProvider implements CalendarProvider {
     @Autowired
     private ConversionService conversionService;
     
+    @Autowired
+    private GoogleEventToCalendarEventConverter eventConverter;
+    
+    @Value("${google.calendar.page-size:250}")
+    private int pageSize;
+    
+    @Value("${google.calendar.incremental-sync.enabled:true}")
+    private boolean incrementalSyncEnabled;
+    
+    @Value("${google.calendar.incremental-sync.past-days:90}")
+    private int syncPastDays;
+    
+    @Value("${google.calendar.incremental-sync.future-days:365}")
+    private int syncFutureDays;
+    
+    /** Reads within this long of the last sync are served from the partition without asking Google */
+    @Value("${google.calendar.incremental-sync.min-interval-seconds:60}")
+    private long syncMinIntervalSeconds;
+    
+    @Value("${google.calendar.discovery.enabled:true}")
+    private boolean discoveryEnabled;
+    
+    @Autowired
+    private GoogleCalendarClientFactory clientFactory;
+    
+    @Autowired
+    private CalendarListCache calendarListCache;
+    
+    @Autowired
+    private CalendarFanOut calendarFanOut;
+    
+    @Autowired
+    private SyncedEventStore eventStore;
+    
+    @Autowired
+    @Qualifier("pagePrefetchExecutor")
+    private ExecutorService prefetchExecutor;
+    
     protected Calendar getCalendarService(OAuth2AuthorizedClient client) {
-        OAuth2Credentials credentials = OAuth2Credentials.create(
-            new AccessToken(
-                client.getAccessToken().getTokenValue(),
-                java.util.Date.from(client.getAccessToken().getExpiresAt())
-            )
-        );
-
-        return new Calendar.Builder(
-            new NetHttpTransport(),
-            new GsonFactory(),
-            new HttpCredentialsAdapter(credentials))
-            .setApplicationName(applicationName)
-            .build();
+        return clientFactory.getCalendar(client.getAccessToken());
     }
     
     @Override
     public List<CalendarEvent> fetchEvents(OAuth2AuthorizedClient client, LocalDateTime start, LocalDateTime end) {
+        List<String> calendarIds = getCalendarIds(client);
+        if (incrementalSyncEnabled && eventStore != null && client.getPrincipalName() != null) {
+            SyncPartition partition = eventStore.partition(client.getPrincipalName(), CalendarSource.GOOGLE);
+            if (!isCurrent(partition)) {
+                partition = synchronize(client);
+            }
+            if (partition.covers(start, end)) {
+                // Only the primary calendar is synced; the others are still read from the API
+                return calendarIds.size() == 1
+                    ? partition.query(start, end)
+                    : fetchCalendars(client, calendarIds, start, end, partition);
+            }
+        }
+        try (Stream<CalendarEvent> events = streamEvents(client, start, end)) {
+            return events.collect(Collectors.toList());
+        }
+    }
+    
+    @Override
+    public Stream<CalendarEvent> streamEvents(OAuth2AuthorizedClient client, LocalDateTime start, LocalDateTime end) {
+        List<String> calendarIds = getCalendarIds(client);
+        if (calendarIds.size() == 1) {
+            return streamCalendar(client, calendarIds.get(0), start, end);
+        }
         try {
-            Calendar calendarService = getCalendarService(client);
-            List<CalendarEvent> events = new ArrayList<>();
-            
-            java.util.Date startDate = java.util.Date.from(start.atZone(java.time.ZoneId.systemDefault()).toInstant());
-            java.util.Date endDate = java.util.Date.from(end.atZone(java.time.ZoneId.systemDefault()).toInstant());
+            return calendarFanOut.streamMerged(client.getPrincipalName(), calendarIds, prefetchExecutor,
+                (calendarId, executor) -> streamCalendar(client, calendarId, start, end, executor),
+                calendarId -> forgetCalendars(client));
+        } catch (RuntimeException e) {
+            forgetCalendars(client);
+            throw e;
+        }
+    }
+    
+    private Stream<CalendarEvent> streamCalendar(OAuth2AuthorizedClient client, String calendarId,
+                                                 LocalDateTime start, LocalDateTime end) {
+        return streamCalendar(client, calendarId, start, end, prefetchExecutor);
+    }
+    
+    private Stream<CalendarEvent> streamCalendar(OAuth2AuthorizedClient client, String calendarId,
+                                                 LocalDateTime start, LocalDateTime end, Executor executor) {
+        Calendar calendarService = getCalendarService(client);
+        
+        java.util.Date startDate = java.util.Date.from(start.atZone(java.time.ZoneId.systemDefault()).toInstant());
+        java.util.Date endDate = java.util.Date.from(end.atZone(java.time.ZoneId.systemDefault()).toInstant());
 
-            com.google.api.client.util.DateTime startDateTime = new com.google.api.client.util.DateTime(startDate);
-            com.google.api.client.util.DateTime endDateTime = new com.google.api.client.util.DateTime(endDate);
+        com.google.api.client.util.DateTime startDateTime = new com.google.api.client.util.DateTime(startDate);
+        com.google.api.client.util.DateTime endDateTime = new com.google.api.client.util.DateTime(endDate);
 
-            com.google.api.services.calendar.model.Events googleEvents = calendarService.events()
-                .list("primary")
-                .setTimeMin(startDateTime)
-                .setTimeMax(endDateTime)
-                .setOrderBy("startTime")
-                .setSingleEvents(true)
-                .execute();
-                
-            for (Event event : googleEvents.getItems()) {
-                CalendarEvent calendarEvent = conversionService.convert(event, CalendarEvent.class);
-                events.add(calendarEvent);
+        return PrefetchingPageIterator.<CalendarEvent>stream(pageToken -> {
+            try {
+                Calendar.Events.List request = calendarService.events()
+                    .list(calendarId)
+                    .setTimeMin(startDateTime)
+                    .setTimeMax(endDateTime)
+                    .setOrderBy("startTime")
+                    .setSingleEvents(true);
+                if (pageSize > 0) {
+                    request.setMaxResults(pageSize);
+                }
+                if (pageToken != null) {
+                    request.setPageToken(pageToken);
+                }
+                Events googleEvents = request.execute();
+                // Convert the page in one pass, on the prefetch thread when there is one
+                return new Page<>(eventConverter.convertAll(googleEvents.getItems()), googleEvents.getNextPageToken());
+            } catch (Exception e) {
+                throw new RuntimeException("Failed to fetch events from Google Calendar", e);
             }
+        }, executor);
+    }
+    
+    /**
+     * Read every calendar in parallel and merge them by start time. The primary calendar is served
+     * from the synced partition when one is given. Other calendars that cannot be read are left out.
+     */
+    private List<CalendarEvent> fetchCalendars(OAuth2AuthorizedClient client, List<String> calendarIds,
+                                               LocalDateTime start, LocalDateTime end, SyncPartition primary) {
+        CalendarFanOut.Result result;
+        try {
+            result = calendarFanOut.fetchMerged(client.getPrincipalName(), calendarIds, calendarId -> {
+                if (primary != null && PRIMARY_CALENDAR.equals(calendarId)) {
+                    return primary.query(start, end);
+                }
+                try (Stream<CalendarEvent> events = streamCalendar(client, calendarId, start, end)) {
+                    return events.collect(Collectors.toList());
+                }
+            });
+        } catch (RuntimeException e) {
+            forgetCalendars(client);
+            throw e;
+        }
+        if (result.isPartial()) {
+            forgetCalendars(client);
+        }
+        return result.events();
+    }
+    
+    /**
+     * A calendar may have been unshared since discovery; list them again on the next fetch
+     */
+    private void forgetCalendars(OAuth2AuthorizedClient client) {
+        if (calendarListCache != null && client.getPrincipalName() != null) {
+            calendarListCache.invalidate(client.getPrincipalName(), getProviderName());
+        }
+    }
+    
+    /**
+     * The user's selected calendars, primary first. Only the primary calendar is used when discovery
+     * is off, the user is unknown or the calendar list cannot be read.
+     */
+    protected List<String> getCalendarIds(OAuth2AuthorizedClient client) {
+        if (!discoveryEnabled || calendarListCache == null || calendarFanOut == null || client.getPrincipalName() == null) {
+            return List.of(PRIMARY_CALENDAR);
+        }
+        try {
+            return calendarListCache.get(client.getPrincipalName(), getProviderName(), () -> discoverCalendars(client));
+        } catch (RuntimeException e) {
+            logger.warn("Could not list Google calendars for {}, using the primary calendar only: {}",
+                client.getPrincipalName(), e.getMessage());
+            return List.of(PRIMARY_CALENDAR);
+        }
+    }
+    
+    private List<String> discoverCalendars(OAuth2AuthorizedClient client) {
+        try {
+            Calendar calendarService = getCalendarService(client);
+            List<String> calendarIds = new ArrayList<>();
+            calendarIds.add(PRIMARY_CALENDAR);
+            String pageToken = null;
+            do {
+                CalendarList page = calendarService.calendarList().list()
+                    .setMinAccessRole("reader")
+                    .setPageToken(pageToken)
+                    .execute();
+                if (page.getItems() != null) {
+                    for (CalendarListEntry entry : page.getItems()) {
+                        if (Boolean.TRUE.equals(entry.getSelected()) && !Boolean.TRUE.equals(entry.getPrimary())
+                                && !Boolean.TRUE.equals(entry.getDeleted())) {
+                            calendarIds.add(entry.getId());
+                        }
+                    }
+                }
+                pageToken = page.getNextPageToken();
+            } while (pageToken != null);
+            return calendarIds;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to list calendars in Google Calendar", e);
+        }
+    }
+    
+    /**
+     * Bring the user's synced partition up to date. The first call lists the sync window in full;
+     * later calls only pull what changed since the stored syncToken. A sync token is bound to the
+     * window it was issued for, so once the window no longer reaches far enough ahead the window is
+     * moved with a full resync. Callers that queued behind a sync that just finished reuse its result.
+     */
+    public SyncPartition synchronize(OAuth2AuthorizedClient client) {
+        SyncPartition partition = eventStore.partition(client.getPrincipalName(), CalendarSource.GOOGLE);
+        partition.getSyncLock().lock();
+        try {
+            if (isCurrent(partition)) {
+                return partition;
+            }
+            partition.beginSync();
+            Calendar calendarService = getCalendarService(client);
+            if (partition.isSynced() && !coversHorizon(partition)) {
+                logger.info("Google sync window for {} has fallen behind, running full resync", client.getPrincipalName());
+                partition.reset();
+            }
+            if (partition.isSynced()) {
+                try {
+                    incrementalSync(calendarService, partition);
+                    return partition;
+                } catch (GoogleJsonResponseException e) {
+                    if (e.getStatusCode() != 410) {
+                        throw e;
+                    }
+                    // The sync token expired or was invalidated; Google requires a full resync
+                    logger.info("Google sync token expired for {}, running full resync", client.getPrincipalName());
+                    partition.reset();
+                }
+            }
+            fullSync(calendarService, partition);
+            return partition;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to sync events from Google Calendar", e);
+        } finally {
+            partition.getSyncLock().unlock();
+        }
+    }
+    
+    /**
+     * A write reached the provider; the next read syncs so it does not serve a partition without it
+     */
+    private void markStale(OAuth2AuthorizedClient client) {
+        if (eventStore != null && client.getPrincipalName() != null) {
+            eventStore.markStale(client.getPrincipalName(), CalendarSource.GOOGLE);
+        }
+    }
+    
+    private boolean isCurrent(SyncPartition partition) {
+        return partition.isFresh(Duration.ofSeconds(syncMinIntervalSeconds), Instant.now()) && coversHorizon(partition);
+    }
+    
+    /**
+     * Whether the window still reaches the configured number of days ahead, give or take a day
+     */
+    private boolean coversHorizon(SyncPartition partition) {
+        LocalDateTime now = LocalDateTime.now();
+        return partition.covers(now.minusDays(syncPastDays - 1L), now.plusDays(syncFutureDays - 1L));
+    }
+    
+    private void fullSync(Calendar calendarService, SyncPartition partition) throws IOException {
+        LocalDateTime windowStart = LocalDateTime.now().minusDays(syncPastDays);
+        LocalDateTime windowEnd = LocalDateTime.now().plusDays(syncFutureDays);
+        Map<String, StoredEvent> snapshot = new HashMap<>();
+        
+        String pageToken = null;
+        Events page;
+        do {
+            Calendar.Events.List request = syncRequest(calendarService, pageToken);
+            request.setTimeMin(new DateTime(java.util.Date.from(windowStart.atZone(ZoneId.systemDefault()).toInstant())));
+            request.setTimeMax(new DateTime(java.util.Date.from(windowEnd.atZone(ZoneId.systemDefault()).toInstant())));
+            page = request.execute();
+            if (page.getItems() != null) {
+                for (Event event : page.getItems()) {
+                    if (!"cancelled".equals(event.getStatus())) {
+                        snapshot.put(event.getId(), toStoredEvent(event));
+                    }
+                }
+            }
+            pageToken = page.getNextPageToken();
+        } while (pageToken != null);
+        
+        partition.replaceAll(snapshot, page.getNextSyncToken(), windowStart, windowEnd);
+    }
+    
+    private void incrementalSync(Calendar calendarService, SyncPartition partition) throws IOException {
+        String pageToken = null;
+        Events page;
+        do {
+            Calendar.Events.List request = syncRequest(calendarService, pageToken);
+            request.setSyncToken(partition.getSyncCursor());
+            page = request.execute();
+            if (page.getItems() != null) {
+                for (Event event : page.getItems()) {
+                    if ("cancelled".equals(event.getStatus())) {
+                        partition.remove(event.getId());
+                    } else {
+                        partition.upsert(toStoredEvent(event));
+                    }
+                }
+            }
+            pageToken = page.getNextPageToken();
+        } while (pageToken != null);
+        
+        partition.advance(page.getNextSyncToken());
+    }
+    
+    private Calendar.Events.List syncRequest(Calendar calendarService, String pageToken) throws IOException {
+        Calendar.Events.List request = calendarService.events().list(PRIMARY_CALENDAR);
+        request.setSingleEvents(true);
+        if (pageSize > 0) {
+            request.setMaxResults(pageSize);
+        }
+        if (pageToken != null) {
+            request.setPageToken(pageToken);
+        }
+        return request;
+    }
+    
+    private StoredEvent toStoredEvent(Event event) {
+        return new StoredEvent(
+            eventConverter.convert(event),
+            toLocalDateTime(event.getStart()),
+            toLocalDateTime(event.getEnd())
+        );
+    }
+    
+    private LocalDateTime toLocalDateTime(EventDateTime eventDateTime) {
+        if (eventDateTime == null) {
+            return null;
+        }
+        if (eventDateTime.getDateTime() != null) {
+            return LocalDateTime.ofInstant(Instant.ofEpochMilli(eventDateTime.getDateTime().getValue()), ZoneId.systemDefault());
+        }
+        if (eventDateTime.getDate() != null) {
+            // All-day events carry a date only, encoded as midnight UTC
+            return LocalDateTime.ofInstant(Instant.ofEpochMilli(eventDateTime.getDate().getValue()), ZoneOffset.UTC);
+        }
+        return null;
+    }
+    
+    @Override
+    public BusyIntervals fetchBusyIntervals(OAuth2AuthorizedClient client, LocalDateTime start, LocalDateTime end) {
+        try {
+            Calendar calendarService = getCalendarService(client);
+            FreeBusyRequest request = new FreeBusyRequest()
+                .setTimeMin(new DateTime(java.util.Date.from(start.atZone(ZoneId.systemDefault()).toInstant())))
+                .setTimeMax(new DateTime(java.util.Date.from(end.atZone(ZoneId.systemDefault()).toInstant())))
+                .setItems(getCalendarIds(client).stream()
+                    .map(calendarId -> new FreeBusyRequestItem().setId(calendarId))
+                    .collect(Collectors.toList()));
+            FreeBusyResponse response = calendarService.freebusy().query(request).execute();
             
-            return events;
+            BusyIntervals busy = new BusyIntervals();
+            if (response.getCalendars() == null) {
+                return busy;
+            }
+            for (Map.Entry<String, FreeBusyCalendar> entry : response.getCalendars().entrySet()) {
+                FreeBusyCalendar calendar = entry.getValue();
+                if (calendar.getErrors() != null && !calendar.getErrors().isEmpty()) {
+                    String reason = calendar.getErrors().get(0).getReason();
+                    if (PRIMARY_CALENDAR.equals(entry.getKey())) {
+                        throw new IllegalStateException(reason);
+                    }
+                    // A shared calendar that can no longer be read should not hide the others
+                    logger.warn("Skipping busy time of Google calendar {}: {}", entry.getKey(), reason);
+                    forgetCalendars(client);
+                    continue;
+                }
+                if (calendar.getBusy() == null) {
+                    continue;
+                }
+                for (TimePeriod period : calendar.getBusy()) {
+                    busy.add(toLocalDateTime(period.getStart()), toLocalDateTime(period.getEnd()));
+                }
+            }
+            return busy;
         } catch (Exception e) {
-            throw new RuntimeException("Failed to fetch events from Google Calendar", e);
+            throw new RuntimeException("Failed to fetch busy time from Google Calendar", e);
         }
     }
     
+    private LocalDateTime toLocalDateTime(DateTime dateTime) {
+        return dateTime != null
+            ? LocalDateTime.ofInstant(Instant.ofEpochMilli(dateTime.getValue()), ZoneId.systemDefault())
+            : null;
+    }
+    
     @Override
     public CalendarEvent createEvent(OAuth2AuthorizedClient client, CalendarEvent event) {
         try {
             Calendar calendarService = getCalendarService(client);
             Event googleEvent = conversionService.convert(event, Event.class);
             Event createdEvent = calendarService.events()
-                .insert("primary", googleEvent)
+                .insert(PRIMARY_CALENDAR, googleEvent)
                 .execute();
+            markStale(client);
             return conversionService.convert(createdEvent, CalendarEvent.class);
         } catch (Exception e) {
             throw new RuntimeException("Failed to create event in Google Calendar", e);
@@ -101,8 +484,9 @@ public class GoogleCalendarProvider implements CalendarProvider {
             Calendar calendarService = getCalendarService(client);
             Event googleEvent = conversionService.convert(event, Event.class);
             Event updatedEvent = calendarService.events()
-                .update("primary", event.getId(), googleEvent)
+                .update(PRIMARY_CALENDAR, event.getId(), googleEvent)
                 .execute();
+            markStale(client);
             return conversionService.convert(updatedEvent, CalendarEvent.class);
         } catch (Exception e) {
             throw new RuntimeException("Failed to update event in Google Calendar", e);
@@ -113,12 +497,94 @@ public class GoogleCalendarProvider implements CalendarProvider {
     public void deleteEvent(OAuth2AuthorizedClient client, String eventId) {
         try {
             Calendar calendarService = getCalendarService(client);
-            calendarService.events().delete("primary", eventId).execute();
+            calendarService.events().delete(PRIMARY_CALENDAR, eventId).execute();
+            markStale(client);
         } catch (Exception e) {
             throw new RuntimeException("Failed to delete event from Google Calendar", e);
         }
     }
     
+    /**
+     * Send the operations as Google batch requests of up to 50 calls each, one HTTP round trip per chunk
+     */
+    @Override
+    public List<BatchResult> executeBatch(OAuth2AuthorizedClient client, List<BatchOperation> operations) {
+        Calendar calendarService = getCalendarService(client);
+        BatchResult[] results = new BatchResult[operations.size()];
+        
+        for (int from = 0; from < operations.size(); from += MAX_BATCH_SIZE) {
+            int to = Math.min(from + MAX_BATCH_SIZE, operations.size());
+            try {
+                BatchRequest batch = calendarService.batch();
+                for (int i = from; i < to; i++) {
+                    try {
+                        queue(calendarService, batch, operations.get(i), i, results);
+                    } catch (Exception e) {
+                        results[i] = BatchResult.failed(i, getProviderName(), e.getMessage());
+                    }
+                }
+                if (batch.size() > 0) {
+                    batch.execute();
+                }
+                failUnanswered(results, from, to, "No response in batch");
+            } catch (Exception e) {
+                logger.error("Google batch request for operations {}-{} failed: {}", from, to - 1, e.getMessage());
+                failUnanswered(results, from, to, e.getMessage());
+            }
+        }
+        if (Arrays.stream(results).anyMatch(result -> result != null && result.isSuccess())) {
+            markStale(client);
+        }
+        return Arrays.asList(results);
+    }
+    
+    private void queue(Calendar calendarService, BatchRequest batch, BatchOperation operation,
+                       int index, BatchResult[] results) throws IOException {
+        switch (operation.getType()) {
+            case CREATE -> calendarService.events()
+                .insert(PRIMARY_CALENDAR, conversionService.convert(operation.getEvent(), Event.class))
+                .queue(batch, eventCallback(index, results));
+            case UPDATE -> calendarService.events()
+                .update(PRIMARY_CALENDAR, operation.getEvent().getId(), conversionService.convert(operation.getEvent(), Event.class))
+                .queue(batch, eventCallback(index, results));
+            case DELETE -> calendarService.events()
+                .delete(PRIMARY_CALENDAR, operation.getEventId())
+                .queue(batch, new JsonBatchCallback<Void>() {
+                    @Override
+                    public void onSuccess(Void unused, HttpHeaders responseHeaders) {
+                        results[index] = BatchResult.succeeded(index, getProviderName(), null);
+                    }
+                    
+                    @Override
+                    public void onFailure(GoogleJsonError error, HttpHeaders responseHeaders) {
+                        results[index] = BatchResult.failed(index, getProviderName(), error.getMessage());
+                    }
+                });
+        }
+    }
+    
+    private void failUnanswered(BatchResult[] results, int from, int to, String error) {
+        for (int i = from; i < to; i++) {
+            if (results[i] == null) {
+                results[i] = BatchResult.failed(i, getProviderName(), error);
+            }
+        }
+    }
+    
+    private JsonBatchCallback<Event> eventCallback(int index, BatchResult[] results) {
+        return new JsonBatchCallback<>() {
+            @Override
+            public void onSuccess(Event event, HttpHeaders responseHeaders) {
+                results[index] = BatchResult.succeeded(index, getProviderName(), eventConverter.convert(event));
+            }
+            
+            @Override
+            public void onFailure(GoogleJsonError error, HttpHeaders responseHeaders) {
+                results[index] = BatchResult.failed(index, getProviderName(), error.getMessage());
+            }
+        };
+    }
+    
     @Override
     public String getProviderName() {
         return CalendarSource.GOOGLE.name();
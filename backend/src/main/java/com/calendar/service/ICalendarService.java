@@ -1,8 +1,16 @@
 package com.calendar.service;
 
+import com.calendar.enums.FetchStatus;
+import com.calendar.model.AggregatedBusyTime;
+import com.calendar.model.AggregatedEvents;
+import com.calendar.model.BatchOperation;
+import com.calendar.model.BatchResult;
+import com.calendar.model.BusyIntervals;
 import com.calendar.model.CalendarEvent;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 public interface ICalendarService {
     
@@ -11,6 +19,36 @@ public interface ICalendarService {
      */
     List<CalendarEvent> fetchAllEvents(String userId, LocalDateTime start, LocalDateTime end);
     
+    /**
+     * Fetch events from all configured calendar providers, reporting the outcome of each provider
+     */
+    AggregatedEvents fetchAllEventsWithStatus(String userId, LocalDateTime start, LocalDateTime end);
+    
+    /**
+     * Hand events from all configured calendar providers to the sink as they arrive, reporting the outcome of each provider
+     */
+    default Map<String, FetchStatus> streamAllEvents(String userId, LocalDateTime start, LocalDateTime end,
+                                                     Consumer<CalendarEvent> sink) {
+        AggregatedEvents aggregated = fetchAllEventsWithStatus(userId, start, end);
+        aggregated.getEvents().forEach(sink);
+        return aggregated.getProviderStatuses();
+    }
+    
+    /**
+     * Busy time across all configured calendar providers for a specific user
+     */
+    default BusyIntervals fetchBusyIntervals(String userId, LocalDateTime start, LocalDateTime end) {
+        return fetchBusyTimeWithStatus(userId, start, end).getIntervals();
+    }
+    
+    /**
+     * Busy time across all configured calendar providers, reporting the outcome of each provider
+     */
+    default AggregatedBusyTime fetchBusyTimeWithStatus(String userId, LocalDateTime start, LocalDateTime end) {
+        AggregatedEvents aggregated = fetchAllEventsWithStatus(userId, start, end);
+        return new AggregatedBusyTime(BusyIntervals.of(aggregated.getEvents()), aggregated.getProviderStatuses());
+    }
+    
     /**
      * Create an event in all configured calendar providers for a specific user
      */
@@ -26,6 +64,11 @@ public interface ICalendarService {
      */
     void deleteEvent(String userId, String eventId);
     
+    /**
+     * Apply a list of creates, updates and deletes, returning the results ordered by operation index
+     */
+    List<BatchResult> executeBatch(String userId, List<BatchOperation> operations);
+    
     /**
      * Get list of configured calendar providers
      */
@@ -1,7 +1,11 @@
 package com.calendar.service;
 
+import com.calendar.model.AggregatedEvents;
+import com.calendar.model.BatchOperation;
+import com.calendar.model.BatchResult;
 import com.calendar.model.CalendarEvent;
 import com.calendar.enums.CalendarSource;
+import com.calendar.enums.FetchStatus;
 import com.calendar.enums.Status;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -10,7 +14,9 @@ import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
@@ -56,6 +62,17 @@ public class MockCalendarService implements ICalendarService {
         return mockEvents;
     }
     
+    /**
+     * Fetch mock events, reporting every mock provider as successful
+     */
+    @Override
+    public AggregatedEvents fetchAllEventsWithStatus(String userId, LocalDateTime start, LocalDateTime end) {
+        Map<String, FetchStatus> statuses = new LinkedHashMap<>();
+        statuses.put(CalendarSource.GOOGLE.name(), FetchStatus.SUCCESS);
+        statuses.put(CalendarSource.OUTLOOK.name(), FetchStatus.SUCCESS);
+        return new AggregatedEvents(fetchAllEvents(userId, start, end), statuses);
+    }
+    
     /**
      * Create an event in all configured calendar providers for a specific user
      */
@@ -94,6 +111,25 @@ public class MockCalendarService implements ICalendarService {
         // Mock implementation - just log the action
     }
     
+    /**
+     * Mock implementation of batch writes
+     */
+    @Override
+    public List<BatchResult> executeBatch(String userId, List<BatchOperation> operations) {
+        logger.info("Mock: Executing {} batch operations for user {}", operations.size(), userId);
+        
+        List<BatchResult> results = new ArrayList<>();
+        for (int i = 0; i < operations.size(); i++) {
+            BatchOperation operation = operations.get(i);
+            CalendarEvent event = operation.getEvent();
+            if (event != null && event.getId() == null) {
+                event.setId("mock-" + UUID.randomUUID().toString().substring(0, 8));
+            }
+            results.add(BatchResult.succeeded(i, "Mock", event));
+        }
+        return results;
+    }
+    
     /**
      * Get list of configured calendar providers
      */
@@ -1,30 +1,88 @@
 package com.calendar.service;
 
+import com.calendar.cache.CalendarListCache;
+import com.calendar.client.CalendarFanOut;
+import com.calendar.client.GraphClientRegistry;
+import com.calendar.client.PrefetchingPageIterator;
+import com.calendar.client.PrefetchingPageIterator.Page;
+import com.calendar.converter.OutlookEventToCalendarEventConverter;
 import com.calendar.enums.CalendarSource;
+import com.calendar.model.BatchOperation;
+import com.calendar.model.BatchResult;
+import com.calendar.model.BusyIntervals;
 import com.calendar.model.CalendarEvent;
-import com.azure.core.credential.AccessToken;
-import com.azure.core.credential.TokenCredential;
-import com.microsoft.graph.authentication.TokenCredentialAuthProvider;
+import com.calendar.store.AuthorizedClientStore;
+import com.calendar.store.SyncPartition;
+import com.calendar.store.SyncPartition.StoredEvent;
+import com.calendar.store.SyncedEventStore;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.microsoft.graph.content.BatchRequestContent;
+import com.microsoft.graph.content.BatchResponseContent;
+import com.microsoft.graph.content.BatchResponseStep;
+import com.microsoft.graph.http.GraphServiceException;
+import com.microsoft.graph.http.HttpMethod;
+import com.microsoft.graph.models.CalendarGetScheduleParameterSet;
+import com.microsoft.graph.models.DateTimeTimeZone;
 import com.microsoft.graph.models.Event;
+import com.microsoft.graph.models.FreeBusyStatus;
+import com.microsoft.graph.models.ScheduleInformation;
+import com.microsoft.graph.models.ScheduleItem;
+import com.microsoft.graph.models.User;
+import com.microsoft.graph.options.HeaderOption;
+import com.microsoft.graph.options.Option;
+import com.microsoft.graph.options.QueryOption;
+import com.microsoft.graph.requests.CalendarCollectionPage;
+import com.microsoft.graph.requests.CalendarGetScheduleCollectionPage;
 import com.microsoft.graph.requests.EventCollectionPage;
+import com.microsoft.graph.requests.EventCollectionRequestBuilder;
+import com.microsoft.graph.requests.EventDeltaCollectionPage;
+import com.microsoft.graph.requests.EventDeltaCollectionRequestBuilder;
 import com.microsoft.graph.requests.GraphServiceClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
 import org.springframework.stereotype.Service;
-import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
-import java.time.OffsetDateTime;
-import java.time.ZoneOffset;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class OutlookCalendarProvider implements CalendarProvider {
     
+    private static final Logger logger = LoggerFactory.getLogger(OutlookCalendarProvider.class);
+    
+    /** Graph JSON batching accepts at most 20 requests per $batch call */
+    private static final int MAX_BATCH_SIZE = 20;
+    
+    /** Wait before resending a throttled step that carries no Retry-After, as Graph's RetryHandler does */
+    private static final Duration DEFAULT_RETRY_AFTER = Duration.ofSeconds(3);
+    
+    /** Stands for the mailbox's default calendar, which is read through me/calendarView */
+    private static final String DEFAULT_CALENDAR = "default";
+    
+    /** Longest range a single getSchedule call accepts */
+    private static final int MAX_SCHEDULE_DAYS = 62;
+    
     @Value("${spring.security.oauth2.client.registration.outlook.client-id}")
     private String clientId;
     
@@ -37,43 +95,402 @@ public class OutlookCalendarProvider implements CalendarProvider {
     @Autowired
     private ConversionService conversionService;
     
+    @Autowired
+    private OutlookEventToCalendarEventConverter eventConverter;
+    
+    @Value("${outlook.calendar.page-size:100}")
+    private int pageSize;
+    
+    @Value("${outlook.calendar.delta-sync.enabled:true}")
+    private boolean deltaSyncEnabled;
+    
+    @Value("${outlook.calendar.delta-sync.past-days:90}")
+    private int syncPastDays;
+    
+    @Value("${outlook.calendar.delta-sync.future-days:365}")
+    private int syncFutureDays;
+    
+    /** Reads within this long of the last sync are served from the partition without asking Graph */
+    @Value("${outlook.calendar.delta-sync.min-interval-seconds:60}")
+    private long syncMinIntervalSeconds;
+    
+    /** Steps throttled inside a $batch call (429/503) are sent again in a new call up to this many times */
+    @Value("${outlook.calendar.batch.max-retries:3}")
+    private int batchMaxRetries;
+    
+    /** Longest Retry-After honored between batch retries */
+    @Value("${outlook.calendar.batch.max-retry-after-seconds:30}")
+    private long batchMaxRetryAfterSeconds;
+    
+    @Value("${outlook.calendar.discovery.enabled:true}")
+    private boolean discoveryEnabled;
+    
+    @Autowired
+    private GraphClientRegistry graphClientRegistry;
+    
+    @Autowired
+    private CalendarListCache calendarListCache;
+    
+    @Autowired
+    private CalendarFanOut calendarFanOut;
+    
+    @Autowired
+    private SyncedEventStore eventStore;
+    
+    @Autowired
+    @Qualifier("pagePrefetchExecutor")
+    private ExecutorService prefetchExecutor;
+    
+    private final Map<String, String> scheduleAddresses = new ConcurrentHashMap<>();
+    
+    /** Forgets a user's schedule address once their authorized client leaves the store */
+    @Autowired
+    void watchClientStore(AuthorizedClientStore clientStore) {
+        clientStore.addRemovalListener(scheduleAddresses::remove);
+    }
+    
     protected GraphServiceClient<?> getGraphClient(OAuth2AuthorizedClient client) {
-        TokenCredential tokenCredential = new TokenCredential() {
-            public Mono<AccessToken> getToken(com.azure.core.credential.TokenRequestContext request) {
-                return Mono.just(new AccessToken(
-                    client.getAccessToken().getTokenValue(),
-                    client.getAccessToken().getExpiresAt().atOffset(ZoneOffset.UTC)
-                ));
-            }
-        };
-        TokenCredentialAuthProvider authProvider = new TokenCredentialAuthProvider(tokenCredential);
-        return GraphServiceClient.builder().authenticationProvider(authProvider).buildClient();
+        return graphClientRegistry.getClient(client.getAccessToken());
+    }
+    
+    protected EventCollectionRequestBuilder nextPageRequest(GraphServiceClient<?> graphClient, String nextLink) {
+        return new EventCollectionRequestBuilder(nextLink, graphClient, null);
+    }
+    
+    protected EventDeltaCollectionRequestBuilder deltaRequest(GraphServiceClient<?> graphClient, String deltaLink, List<Option> options) {
+        return new EventDeltaCollectionRequestBuilder(deltaLink, graphClient, options);
     }
     
     @Override
     public List<CalendarEvent> fetchEvents(OAuth2AuthorizedClient client, LocalDateTime start, LocalDateTime end) {
+        List<String> calendarIds = getCalendarIds(client);
+        if (deltaSyncEnabled && eventStore != null && client.getPrincipalName() != null) {
+            SyncPartition partition = eventStore.partition(client.getPrincipalName(), CalendarSource.OUTLOOK);
+            if (!isCurrent(partition)) {
+                partition = synchronize(client);
+            }
+            if (partition.covers(start, end)) {
+                // Only the default calendar is synced; the others are still read from the API
+                return calendarIds.size() == 1
+                    ? partition.query(start, end)
+                    : fetchCalendars(client, calendarIds, start, end, partition);
+            }
+        }
+        try (Stream<CalendarEvent> events = streamEvents(client, start, end)) {
+            return events.collect(Collectors.toList());
+        }
+    }
+    
+    @Override
+    public Stream<CalendarEvent> streamEvents(OAuth2AuthorizedClient client, LocalDateTime start, LocalDateTime end) {
+        List<String> calendarIds = getCalendarIds(client);
+        if (calendarIds.size() == 1) {
+            return streamCalendar(client, calendarIds.get(0), start, end);
+        }
+        try {
+            return calendarFanOut.streamMerged(client.getPrincipalName(), calendarIds, prefetchExecutor,
+                (calendarId, executor) -> streamCalendar(client, calendarId, start, end, executor),
+                calendarId -> forgetCalendars(client));
+        } catch (RuntimeException e) {
+            forgetCalendars(client);
+            throw e;
+        }
+    }
+    
+    private Stream<CalendarEvent> streamCalendar(OAuth2AuthorizedClient client, String calendarId,
+                                                 LocalDateTime start, LocalDateTime end) {
+        return streamCalendar(client, calendarId, start, end, prefetchExecutor);
+    }
+    
+    private Stream<CalendarEvent> streamCalendar(OAuth2AuthorizedClient client, String calendarId,
+                                                 LocalDateTime start, LocalDateTime end, Executor executor) {
+        GraphServiceClient<?> graphClient = getGraphClient(client);
+        EventCollectionRequestBuilder calendarView = DEFAULT_CALENDAR.equals(calendarId)
+            ? graphClient.me().calendarView()
+            : graphClient.me().calendars(calendarId).calendarView();
+        
+        // calendarView expands recurring events within the window given by these two parameters
+        List<QueryOption> window = List.of(
+            new QueryOption("startDateTime", formatDateTime(start)),
+            new QueryOption("endDateTime", formatDateTime(end)),
+            new QueryOption("$orderby", "start/dateTime")
+        );
+        
+        return PrefetchingPageIterator.<CalendarEvent>stream(nextLink -> {
+            try {
+                EventCollectionPage outlookEvents;
+                if (nextLink == null) {
+                    outlookEvents = pageSize > 0
+                        ? calendarView.buildRequest(window).top(pageSize).get()
+                        : calendarView.buildRequest(window).get();
+                } else {
+                    outlookEvents = nextPageRequest(graphClient, nextLink).buildRequest().get();
+                }
+                EventCollectionRequestBuilder nextPage = outlookEvents.getNextPage();
+                return new Page<>(eventConverter.convertAll(outlookEvents.getCurrentPage()),
+                    nextPage != null ? nextPage.getRequestUrl() : null);
+            } catch (Exception e) {
+                throw new RuntimeException("Failed to fetch events from Outlook Calendar", e);
+            }
+        }, executor);
+    }
+    
+    /**
+     * Read every calendar in parallel and merge them by start time. The default calendar is served
+     * from the synced partition when one is given. Other calendars that cannot be read are left out.
+     */
+    private List<CalendarEvent> fetchCalendars(OAuth2AuthorizedClient client, List<String> calendarIds,
+                                               LocalDateTime start, LocalDateTime end, SyncPartition defaultCalendar) {
+        CalendarFanOut.Result result;
+        try {
+            result = calendarFanOut.fetchMerged(client.getPrincipalName(), calendarIds, calendarId -> {
+                if (defaultCalendar != null && DEFAULT_CALENDAR.equals(calendarId)) {
+                    return defaultCalendar.query(start, end);
+                }
+                try (Stream<CalendarEvent> events = streamCalendar(client, calendarId, start, end)) {
+                    return events.collect(Collectors.toList());
+                }
+            });
+        } catch (RuntimeException e) {
+            forgetCalendars(client);
+            throw e;
+        }
+        if (result.isPartial()) {
+            forgetCalendars(client);
+        }
+        return result.events();
+    }
+    
+    /**
+     * A calendar may have been unshared since discovery; list them again on the next fetch
+     */
+    private void forgetCalendars(OAuth2AuthorizedClient client) {
+        calendarListCache.invalidate(client.getPrincipalName(), getProviderName());
+    }
+    
+    /**
+     * The user's calendars, default first. Only the default calendar is used when discovery is off,
+     * the user is unknown or the calendar list cannot be read.
+     */
+    protected List<String> getCalendarIds(OAuth2AuthorizedClient client) {
+        if (!discoveryEnabled || calendarListCache == null || calendarFanOut == null || client.getPrincipalName() == null) {
+            return List.of(DEFAULT_CALENDAR);
+        }
+        try {
+            return calendarListCache.get(client.getPrincipalName(), getProviderName(), () -> discoverCalendars(client));
+        } catch (RuntimeException e) {
+            logger.warn("Could not list Outlook calendars for {}, using the default calendar only: {}",
+                client.getPrincipalName(), e.getMessage());
+            return List.of(DEFAULT_CALENDAR);
+        }
+    }
+    
+    private List<String> discoverCalendars(OAuth2AuthorizedClient client) {
         try {
             GraphServiceClient<?> graphClient = getGraphClient(client);
-            List<CalendarEvent> events = new ArrayList<>();
-            
-            EventCollectionPage outlookEvents = graphClient.me().calendarView()
-                .buildRequest()
-                .filter(String.format("start/dateTime ge '%s' and end/dateTime le '%s'",
-                    start.format(DateTimeFormatter.ISO_DATE_TIME),
-                    end.format(DateTimeFormatter.ISO_DATE_TIME)))
+            List<String> calendarIds = new ArrayList<>();
+            calendarIds.add(DEFAULT_CALENDAR);
+            CalendarCollectionPage page = graphClient.me().calendars().buildRequest()
+                .select("id,isDefaultCalendar")
                 .get();
-                
-            for (Event outlookEvent : outlookEvents.getCurrentPage()) {
-                CalendarEvent calendarEvent = conversionService.convert(outlookEvent, CalendarEvent.class);
-                events.add(calendarEvent);
+            while (page != null) {
+                for (com.microsoft.graph.models.Calendar calendar : page.getCurrentPage()) {
+                    if (!Boolean.TRUE.equals(calendar.isDefaultCalendar)) {
+                        calendarIds.add(calendar.id);
+                    }
+                }
+                page = page.getNextPage() != null ? page.getNextPage().buildRequest().get() : null;
             }
+            return calendarIds;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to list calendars in Outlook Calendar", e);
+        }
+    }
+    
+    /**
+     * Bring the user's synced partition up to date. The first call runs calendarView/delta over the
+     * sync window; later calls resume from the stored deltaLink and only receive what changed. A
+     * deltaLink keeps the window of the first request, so once the window no longer reaches far enough
+     * ahead it is moved with a full resync. Callers that queued behind a sync that just finished reuse
+     * its result.
+     */
+    public SyncPartition synchronize(OAuth2AuthorizedClient client) {
+        SyncPartition partition = eventStore.partition(client.getPrincipalName(), CalendarSource.OUTLOOK);
+        partition.getSyncLock().lock();
+        try {
+            if (isCurrent(partition)) {
+                return partition;
+            }
+            partition.beginSync();
+            GraphServiceClient<?> graphClient = getGraphClient(client);
+            if (partition.isSynced() && !coversHorizon(partition)) {
+                logger.info("Outlook sync window for {} has fallen behind, running full resync", client.getPrincipalName());
+                partition.reset();
+            }
+            if (partition.isSynced()) {
+                try {
+                    EventDeltaCollectionPage page = deltaRequest(graphClient, partition.getSyncCursor(), pageSizeOptions())
+                        .buildRequest()
+                        .get();
+                    partition.advance(applyDelta(page, partition::upsert, partition::remove));
+                    return partition;
+                } catch (GraphServiceException e) {
+                    if (e.getResponseCode() != 410) {
+                        throw e;
+                    }
+                    // The delta token expired or the sync state was lost; Graph requires a full resync
+                    logger.info("Outlook delta link expired for {}, running full resync", client.getPrincipalName());
+                    partition.reset();
+                }
+            }
+            
+            LocalDateTime windowStart = LocalDateTime.now().minusDays(syncPastDays);
+            LocalDateTime windowEnd = LocalDateTime.now().plusDays(syncFutureDays);
+            List<Option> options = new ArrayList<>(pageSizeOptions());
+            options.add(new QueryOption("startDateTime", formatDateTime(windowStart)));
+            options.add(new QueryOption("endDateTime", formatDateTime(windowEnd)));
             
-            return events;
+            Map<String, StoredEvent> snapshot = new HashMap<>();
+            EventDeltaCollectionPage page = graphClient.me().calendarView().delta()
+                .buildRequest(options)
+                .get();
+            String deltaLink = applyDelta(page, stored -> snapshot.put(stored.event().getId(), stored), snapshot::remove);
+            partition.replaceAll(snapshot, deltaLink, windowStart, windowEnd);
+            return partition;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to sync events from Outlook Calendar", e);
+        } finally {
+            partition.getSyncLock().unlock();
+        }
+    }
+    
+    /**
+     * A write reached the provider; the next read syncs so it does not serve a partition without it
+     */
+    private void markStale(OAuth2AuthorizedClient client) {
+        if (eventStore != null && client.getPrincipalName() != null) {
+            eventStore.markStale(client.getPrincipalName(), CalendarSource.OUTLOOK);
+        }
+    }
+    
+    private boolean isCurrent(SyncPartition partition) {
+        return partition.isFresh(Duration.ofSeconds(syncMinIntervalSeconds), Instant.now()) && coversHorizon(partition);
+    }
+    
+    /**
+     * Whether the window still reaches the configured number of days ahead, give or take a day
+     */
+    private boolean coversHorizon(SyncPartition partition) {
+        LocalDateTime now = LocalDateTime.now();
+        return partition.covers(now.minusDays(syncPastDays - 1L), now.plusDays(syncFutureDays - 1L));
+    }
+    
+    /**
+     * Apply every page of a delta response and return the deltaLink for the next round
+     */
+    private String applyDelta(EventDeltaCollectionPage page,
+                              Consumer<StoredEvent> upsert,
+                              Consumer<String> remove) {
+        while (true) {
+            for (Event outlookEvent : page.getCurrentPage()) {
+                if (outlookEvent.additionalDataManager().containsKey("@removed")) {
+                    remove.accept(outlookEvent.id);
+                } else {
+                    boolean allDay = Boolean.TRUE.equals(outlookEvent.isAllDay);
+                    upsert.accept(new StoredEvent(
+                        eventConverter.convert(outlookEvent),
+                        eventConverter.toLocalDateTime(outlookEvent.start, allDay),
+                        eventConverter.toLocalDateTime(outlookEvent.end, allDay)
+                    ));
+                }
+            }
+            if (page.getNextPage() == null) {
+                return page.deltaLink();
+            }
+            page = page.getNextPage().buildRequest().get();
+        }
+    }
+    
+    private List<Option> pageSizeOptions() {
+        // calendarView/delta ignores $top; page size is negotiated through the Prefer header
+        return pageSize > 0 ? List.of(new HeaderOption("Prefer", "odata.maxpagesize=" + pageSize)) : List.of();
+    }
+    
+    
+    private String formatDateTime(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toOffsetDateTime().format(DateTimeFormatter.ISO_OFFSET_DATE_TIME);
+    }
+    
+    @Override
+    public BusyIntervals fetchBusyIntervals(OAuth2AuthorizedClient client, LocalDateTime start, LocalDateTime end) {
+        try {
+            GraphServiceClient<?> graphClient = getGraphClient(client);
+            String address = scheduleAddress(client, graphClient);
+            BusyIntervals busy = new BusyIntervals();
+            // getSchedule rejects ranges longer than 62 days, so longer ranges are asked for in pieces
+            for (LocalDateTime from = start; from.isBefore(end); from = from.plusDays(MAX_SCHEDULE_DAYS)) {
+                LocalDateTime to = from.plusDays(MAX_SCHEDULE_DAYS).isBefore(end) ? from.plusDays(MAX_SCHEDULE_DAYS) : end;
+                addBusyIntervals(graphClient, address, from, to, busy);
+            }
+            return busy;
         } catch (Exception e) {
-            throw new RuntimeException("Failed to fetch events from Outlook Calendar", e);
+            throw new RuntimeException("Failed to fetch busy time from Outlook Calendar", e);
         }
     }
     
+    private void addBusyIntervals(GraphServiceClient<?> graphClient, String address, LocalDateTime start,
+                                  LocalDateTime end, BusyIntervals busy) {
+        CalendarGetScheduleParameterSet parameters = CalendarGetScheduleParameterSet.newBuilder()
+            .withSchedules(List.of(address))
+            .withStartTime(toDateTimeTimeZone(start))
+            .withEndTime(toDateTimeTimeZone(end))
+            .build();
+        CalendarGetScheduleCollectionPage page = graphClient.me().calendar()
+            .getSchedule(parameters)
+            .buildRequest()
+            .post();
+        
+        for (ScheduleInformation schedule : page.getCurrentPage()) {
+            if (schedule.error != null) {
+                throw new IllegalStateException(schedule.error.message);
+            }
+            if (schedule.scheduleItems == null) {
+                continue;
+            }
+            for (ScheduleItem item : schedule.scheduleItems) {
+                if (item.status != FreeBusyStatus.FREE) {
+                    busy.add(eventConverter.toLocalDateTime(item.start, false),
+                        eventConverter.toLocalDateTime(item.end, false));
+                }
+            }
+        }
+    }
+    
+    /**
+     * getSchedule takes SMTP addresses only, so the signed-in user's address is looked up once
+     */
+    private String scheduleAddress(OAuth2AuthorizedClient client, GraphServiceClient<?> graphClient) {
+        String principal = client.getPrincipalName();
+        String cached = principal != null ? scheduleAddresses.get(principal) : null;
+        if (cached != null) {
+            return cached;
+        }
+        User me = graphClient.me().buildRequest().select("mail,userPrincipalName").get();
+        String address = me.mail != null ? me.mail : me.userPrincipalName;
+        if (principal != null && address != null) {
+            scheduleAddresses.put(principal, address);
+        }
+        return address;
+    }
+    
+    private DateTimeTimeZone toDateTimeTimeZone(LocalDateTime dateTime) {
+        DateTimeTimeZone value = new DateTimeTimeZone();
+        value.dateTime = dateTime.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+        // Schedule items come back in this zone, which is the one the converter reads them into
+        value.timeZone = ZoneId.systemDefault().getId();
+        return value;
+    }
+    
     @Override
     public CalendarEvent createEvent(OAuth2AuthorizedClient client, CalendarEvent event) {
         try {
@@ -82,6 +499,7 @@ public class OutlookCalendarProvider implements CalendarProvider {
             Event createdEvent = graphClient.me().events()
                 .buildRequest()
                 .post(outlookEvent);
+            markStale(client);
             return conversionService.convert(createdEvent, CalendarEvent.class);
         } catch (Exception e) {
             throw new RuntimeException("Failed to create event in Outlook Calendar", e);
@@ -96,6 +514,7 @@ public class OutlookCalendarProvider implements CalendarProvider {
             Event updatedEvent = graphClient.me().events(event.getId())
                 .buildRequest()
                 .patch(outlookEvent);
+            markStale(client);
             return conversionService.convert(updatedEvent, CalendarEvent.class);
         } catch (Exception e) {
             throw new RuntimeException("Failed to update event in Outlook Calendar", e);
@@ -109,11 +528,163 @@ public class OutlookCalendarProvider implements CalendarProvider {
             graphClient.me().events(eventId)
                 .buildRequest()
                 .delete();
+            markStale(client);
         } catch (Exception e) {
             throw new RuntimeException("Failed to delete event from Outlook Calendar", e);
         }
     }
     
+    /**
+     * Send the operations through Graph JSON batching, up to 20 requests per $batch call. Steps Graph
+     * throttles are sent again after their Retry-After, up to outlook.calendar.batch.max-retries times.
+     */
+    @Override
+    public List<BatchResult> executeBatch(OAuth2AuthorizedClient client, List<BatchOperation> operations) {
+        GraphServiceClient<?> graphClient = getGraphClient(client);
+        BatchResult[] results = new BatchResult[operations.size()];
+        
+        for (int from = 0; from < operations.size(); from += MAX_BATCH_SIZE) {
+            List<Integer> pending = new ArrayList<>();
+            for (int i = from; i < Math.min(from + MAX_BATCH_SIZE, operations.size()); i++) {
+                pending.add(i);
+            }
+            // The RetryHandler only sees the $batch call's own status, so throttled steps are resent here
+            for (int attempt = 0; ; attempt++) {
+                BatchRound round = postBatch(graphClient, operations, pending, results);
+                if (round.throttled().isEmpty() || attempt >= batchMaxRetries) {
+                    break;
+                }
+                logger.warn("Graph throttled {} batch steps, retrying after {}", round.throttled().size(), round.retryAfter());
+                if (!pause(round.retryAfter())) {
+                    break;
+                }
+                pending = round.throttled();
+            }
+        }
+        if (Arrays.stream(results).anyMatch(result -> result != null && result.isSuccess())) {
+            markStale(client);
+        }
+        return Arrays.asList(results);
+    }
+    
+    /**
+     * Steps throttled in one $batch call and the longest Retry-After among them
+     */
+    private record BatchRound(List<Integer> throttled, Duration retryAfter) {
+    }
+    
+    /**
+     * Post the pending operations as one $batch call and record every result. Throttled steps are
+     * recorded as failed and also returned so the caller can send them again.
+     */
+    private BatchRound postBatch(GraphServiceClient<?> graphClient, List<BatchOperation> operations,
+                                 List<Integer> pending, BatchResult[] results) {
+        BatchRequestContent content = new BatchRequestContent();
+        Map<String, Integer> steps = new LinkedHashMap<>();
+        for (int index : pending) {
+            try {
+                steps.put(addStep(graphClient, content, operations.get(index)), index);
+            } catch (Exception e) {
+                results[index] = BatchResult.failed(index, getProviderName(), e.getMessage());
+            }
+        }
+        List<Integer> throttled = new ArrayList<>();
+        Duration retryAfter = Duration.ZERO;
+        if (steps.isEmpty()) {
+            return new BatchRound(throttled, retryAfter);
+        }
+        
+        try {
+            BatchResponseContent response = graphClient.batch().buildRequest().post(content);
+            for (Map.Entry<String, Integer> entry : steps.entrySet()) {
+                int index = entry.getValue();
+                BatchResponseStep<JsonElement> step = response.getResponseById(entry.getKey());
+                results[index] = toBatchResult(index, step);
+                if (step != null && (step.status == 429 || step.status == 503)) {
+                    throttled.add(index);
+                    Duration stepRetryAfter = retryAfter(step);
+                    if (stepRetryAfter.compareTo(retryAfter) > 0) {
+                        retryAfter = stepRetryAfter;
+                    }
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Graph $batch request for operations {}-{} failed: {}",
+                pending.get(0), pending.get(pending.size() - 1), e.getMessage());
+            for (int index : steps.values()) {
+                results[index] = BatchResult.failed(index, getProviderName(), e.getMessage());
+            }
+        }
+        return new BatchRound(throttled, retryAfter);
+    }
+    
+    /**
+     * Retry-After of a throttled step in seconds, capped so one batch cannot stall the caller for long
+     */
+    private Duration retryAfter(BatchResponseStep<JsonElement> step) {
+        Duration wait = DEFAULT_RETRY_AFTER;
+        if (step.headers != null) {
+            for (Map.Entry<String, String> header : step.headers.entrySet()) {
+                if ("Retry-After".equalsIgnoreCase(header.getKey())) {
+                    try {
+                        wait = Duration.ofSeconds(Long.parseLong(header.getValue().trim()));
+                    } catch (NumberFormatException e) {
+                        // HTTP-date form; keep the default
+                    }
+                }
+            }
+        }
+        Duration max = Duration.ofSeconds(batchMaxRetryAfterSeconds);
+        return wait.compareTo(max) > 0 ? max : wait;
+    }
+    
+    /**
+     * Wait before the next batch round; false when interrupted, leaving the throttled steps failed
+     */
+    protected boolean pause(Duration wait) {
+        try {
+            Thread.sleep(wait.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+    
+    private String addStep(GraphServiceClient<?> graphClient, BatchRequestContent content, BatchOperation operation) {
+        return switch (operation.getType()) {
+            case CREATE -> content.addBatchRequestStep(graphClient.me().events().buildRequest(),
+                HttpMethod.POST, conversionService.convert(operation.getEvent(), Event.class));
+            case UPDATE -> content.addBatchRequestStep(graphClient.me().events(operation.getEvent().getId()).buildRequest(),
+                HttpMethod.PATCH, conversionService.convert(operation.getEvent(), Event.class));
+            case DELETE -> content.addBatchRequestStep(graphClient.me().events(operation.getEventId()).buildRequest(),
+                HttpMethod.DELETE);
+        };
+    }
+    
+    private BatchResult toBatchResult(int index, BatchResponseStep<JsonElement> step) {
+        if (step == null) {
+            return BatchResult.failed(index, getProviderName(), "No response in batch");
+        }
+        if (step.status < 200 || step.status >= 300) {
+            return BatchResult.failed(index, getProviderName(), errorMessage(step));
+        }
+        CalendarEvent event = step.body != null && step.body.isJsonObject()
+            ? eventConverter.convert(step.getDeserializedBody(Event.class))
+            : null;
+        return BatchResult.succeeded(index, getProviderName(), event);
+    }
+    
+    private String errorMessage(BatchResponseStep<JsonElement> step) {
+        if (step.body != null && step.body.isJsonObject() && step.body.getAsJsonObject().has("error")) {
+            JsonObject error = step.body.getAsJsonObject().getAsJsonObject("error");
+            if (error.has("message")) {
+                return error.get("message").getAsString();
+            }
+        }
+        return "HTTP " + step.status;
+    }
+    
     @Override
     public String getProviderName() {
         return CalendarSource.OUTLOOK.name();
@@ -0,0 +1,29 @@
+package com.calendar.service;
+
+import com.calendar.model.CalendarEvent;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+
+/**
+ * Non-blocking counterpart of {@link CalendarProvider}. Implementations call the provider's REST API
+ * through the shared WebClient, so no thread is held while a request is in flight.
+ */
+public interface ReactiveCalendarProvider {
+    
+    /**
+     * Fetch events from the calendar provider, following pagination lazily
+     */
+    Flux<CalendarEvent> fetchEvents(OAuth2AuthorizedClient client, LocalDateTime start, LocalDateTime end);
+    
+    /**
+     * Get provider name
+     */
+    String getProviderName();
+    
+    /**
+     * Check if provider is configured
+     */
+    boolean isConfigured();
+}
@@ -0,0 +1,89 @@
+package com.calendar.service;
+
+import com.calendar.enums.FetchStatus;
+import com.calendar.model.AggregatedEvents;
+import com.calendar.model.CalendarEvent;
+import com.calendar.model.SortedEventMerge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Merges the reactive providers without holding a thread per provider call. Each provider is
+ * subscribed at once and bounded by the same fetch timeout as {@link CalendarService}.
+ */
+@Service
+@ConditionalOnProperty(name = "spring.security.enabled", havingValue = "true", matchIfMissing = true)
+public class ReactiveCalendarService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveCalendarService.class);
+    
+    private final List<ReactiveCalendarProvider> providers;
+    private final Duration fetchTimeout;
+    
+    public ReactiveCalendarService(List<ReactiveCalendarProvider> providers,
+                                   @Value("${calendar.fetch.timeout-ms:10000}") long fetchTimeoutMs) {
+        this.providers = providers;
+        this.fetchTimeout = Duration.ofMillis(fetchTimeoutMs);
+    }
+    
+    private record ProviderResult(String providerName, List<CalendarEvent> events, FetchStatus status) {
+    }
+    
+    public Mono<AggregatedEvents> fetchAllEventsWithStatus(OAuth2AuthorizedClient client, String userId,
+                                                           LocalDateTime start, LocalDateTime end) {
+        List<Mono<ProviderResult>> results = new ArrayList<>();
+        for (ReactiveCalendarProvider provider : providers) {
+            if (provider.isConfigured()) {
+                results.add(fetchProvider(provider, client, userId, start, end));
+            }
+        }
+        
+        // mergeSequential subscribes to every provider eagerly but keeps the statuses in provider order
+        return Flux.mergeSequential(results)
+            .collectList()
+            .map(completed -> {
+                List<List<CalendarEvent>> providerEvents = new ArrayList<>(completed.size());
+                Map<String, FetchStatus> statuses = new LinkedHashMap<>();
+                for (ProviderResult result : completed) {
+                    providerEvents.add(result.events());
+                    statuses.put(result.providerName(), result.status());
+                }
+                EventDeduplicator merged = new EventDeduplicator();
+                merged.addAll(SortedEventMerge.merge(providerEvents));
+                return new AggregatedEvents(merged.getEvents(), statuses);
+            });
+    }
+    
+    private Mono<ProviderResult> fetchProvider(ReactiveCalendarProvider provider, OAuth2AuthorizedClient client,
+                                               String userId, LocalDateTime start, LocalDateTime end) {
+        String providerName = provider.getProviderName();
+        return Flux.defer(() -> provider.fetchEvents(client, start, end))
+            .collectList()
+            .timeout(fetchTimeout)
+            .map(events -> new ProviderResult(providerName, events, FetchStatus.SUCCESS))
+            .onErrorResume(TimeoutException.class, e -> {
+                logger.warn("Timed out after {} ms fetching events from {} for user {}", 
+                    fetchTimeout.toMillis(), providerName, userId);
+                return Mono.just(new ProviderResult(providerName, List.of(), FetchStatus.TIMED_OUT));
+            })
+            .onErrorResume(e -> {
+                logger.error("Error fetching events from {} for user {}: {}", 
+                    providerName, userId, e.getMessage());
+                return Mono.just(new ProviderResult(providerName, List.of(), FetchStatus.FAILED));
+            });
+    }
+}
@@ -0,0 +1,104 @@
+package com.calendar.service;
+
+import com.calendar.converter.GoogleEventToCalendarEventConverter;
+import com.calendar.enums.CalendarSource;
+import com.calendar.model.CalendarEvent;
+import com.google.api.client.json.JsonFactory;
+import com.google.api.client.json.gson.GsonFactory;
+import com.google.api.services.calendar.model.Events;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.security.oauth2.client.web.reactive.function.client.ServletOAuth2AuthorizedClientExchangeFilterFunction;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+@Service
+@ConditionalOnProperty(name = "spring.security.enabled", havingValue = "true", matchIfMissing = true)
+public class ReactiveGoogleCalendarProvider implements ReactiveCalendarProvider {
+    
+    private final JsonFactory jsonFactory = GsonFactory.getDefaultInstance();
+    
+    @Value("${spring.security.oauth2.client.registration.google.client-id}")
+    private String clientId;
+    
+    @Value("${spring.security.oauth2.client.registration.google.client-secret}")
+    private String clientSecret;
+    
+    @Value("${google.calendar.application-name}")
+    private String applicationName;
+    
+    @Value("${google.calendar.api-base-url:https://www.googleapis.com/calendar/v3}")
+    private String baseUrl;
+    
+    @Value("${google.calendar.page-size:250}")
+    private int pageSize;
+    
+    @Autowired
+    private GoogleEventToCalendarEventConverter eventConverter;
+    
+    @Autowired
+    private WebClient webClient;
+    
+    @Override
+    public Flux<CalendarEvent> fetchEvents(OAuth2AuthorizedClient client, LocalDateTime start, LocalDateTime end) {
+        String timeMin = start.atZone(ZoneId.systemDefault()).toInstant().toString();
+        String timeMax = end.atZone(ZoneId.systemDefault()).toInstant().toString();
+        
+        return fetchPage(client, timeMin, timeMax, null)
+            .expand(page -> page.getNextPageToken() == null
+                ? Mono.empty()
+                : fetchPage(client, timeMin, timeMax, page.getNextPageToken()))
+            .concatMapIterable(page -> eventConverter.convertAll(page.getItems()))
+            .onErrorMap(e -> new RuntimeException("Failed to fetch events from Google Calendar", e));
+    }
+    
+    private Mono<Events> fetchPage(OAuth2AuthorizedClient client, String timeMin, String timeMax, String pageToken) {
+        UriComponentsBuilder uri = UriComponentsBuilder.fromHttpUrl(baseUrl)
+            .path("/calendars/primary/events")
+            .queryParam("timeMin", timeMin)
+            .queryParam("timeMax", timeMax)
+            .queryParam("orderBy", "startTime")
+            .queryParam("singleEvents", true);
+        if (pageSize > 0) {
+            uri.queryParam("maxResults", pageSize);
+        }
+        if (pageToken != null) {
+            uri.queryParam("pageToken", pageToken);
+        }
+        
+        return webClient.get()
+            .uri(uri.encode().build().toUri())
+            .attributes(ServletOAuth2AuthorizedClientExchangeFilterFunction.oauth2AuthorizedClient(client))
+            .retrieve()
+            .bodyToMono(String.class)
+            .map(this::parseEvents);
+    }
+    
+    private Events parseEvents(String body) {
+        try {
+            return jsonFactory.fromString(body, Events.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    @Override
+    public String getProviderName() {
+        return CalendarSource.GOOGLE.name();
+    }
+    
+    @Override
+    public boolean isConfigured() {
+        return clientId != null && clientSecret != null && applicationName != null;
+    }
+}
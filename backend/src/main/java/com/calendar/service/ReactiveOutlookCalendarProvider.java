@@ -0,0 +1,86 @@
+package com.calendar.service;
+
+import com.calendar.converter.OutlookEventToCalendarEventConverter;
+import com.calendar.enums.CalendarSource;
+import com.calendar.model.CalendarEvent;
+import com.microsoft.graph.logger.DefaultLogger;
+import com.microsoft.graph.requests.EventCollectionResponse;
+import com.microsoft.graph.serializer.DefaultSerializer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.security.oauth2.client.web.reactive.function.client.ServletOAuth2AuthorizedClientExchangeFilterFunction;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collections;
+
+@Service
+@ConditionalOnProperty(name = "spring.security.enabled", havingValue = "true", matchIfMissing = true)
+public class ReactiveOutlookCalendarProvider implements ReactiveCalendarProvider {
+    
+    private final DefaultSerializer serializer = new DefaultSerializer(new DefaultLogger());
+    
+    @Value("${spring.security.oauth2.client.registration.outlook.client-id}")
+    private String clientId;
+    
+    @Value("${spring.security.oauth2.client.registration.outlook.client-secret}")
+    private String clientSecret;
+    
+    @Value("${outlook.tenant-id}")
+    private String tenantId;
+    
+    @Value("${outlook.graph.base-url:https://graph.microsoft.com/v1.0}")
+    private String baseUrl;
+    
+    @Value("${outlook.calendar.page-size:100}")
+    private int pageSize;
+    
+    @Autowired
+    private OutlookEventToCalendarEventConverter eventConverter;
+    
+    @Autowired
+    private WebClient webClient;
+    
+    @Override
+    public Flux<CalendarEvent> fetchEvents(OAuth2AuthorizedClient client, LocalDateTime start, LocalDateTime end) {
+        UriComponentsBuilder uri = UriComponentsBuilder.fromHttpUrl(baseUrl)
+            .path("/me/calendarView")
+            .queryParam("startDateTime", start.atZone(ZoneId.systemDefault()).toInstant().toString())
+            .queryParam("endDateTime", end.atZone(ZoneId.systemDefault()).toInstant().toString());
+        if (pageSize > 0) {
+            uri.queryParam("$top", pageSize);
+        }
+        
+        return fetchPage(client, uri.encode().build().toUri())
+            .expand(page -> page.nextLink == null ? Mono.empty() : fetchPage(client, URI.create(page.nextLink)))
+            .concatMapIterable(page -> eventConverter.convertAll(page.value))
+            .onErrorMap(e -> new RuntimeException("Failed to fetch events from Outlook Calendar", e));
+    }
+    
+    private Mono<EventCollectionResponse> fetchPage(OAuth2AuthorizedClient client, URI uri) {
+        return webClient.get()
+            .uri(uri)
+            .attributes(ServletOAuth2AuthorizedClientExchangeFilterFunction.oauth2AuthorizedClient(client))
+            .retrieve()
+            .bodyToMono(String.class)
+            .map(body -> serializer.deserializeObject(body, EventCollectionResponse.class, Collections.emptyMap()));
+    }
+    
+    @Override
+    public String getProviderName() {
+        return CalendarSource.OUTLOOK.name();
+    }
+    
+    @Override
+    public boolean isConfigured() {
+        return clientId != null && clientSecret != null && tenantId != null;
+    }
+}
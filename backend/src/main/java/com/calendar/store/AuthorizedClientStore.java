@@ -0,0 +1,58 @@
+package com.calendar.store;
+
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Holds the authorized client each user's provider calls are made with. The default is the in-memory
+ * {@link BoundedAuthorizedClientStore}; declare a {@code @Primary} bean of this type to keep clients
+ * elsewhere, e.g. in a store shared between instances.
+ */
+public interface AuthorizedClientStore {
+
+    /**
+     * The user's client, or null if there is none or it has expired
+     */
+    OAuth2AuthorizedClient get(String userId);
+
+    /**
+     * Store the user's client, replacing any previous one
+     */
+    void put(String userId, OAuth2AuthorizedClient client);
+
+    /**
+     * Store a client the user just presented, e.g. from their session, unless the stored one is at least
+     * as current: it is stored when the user has no valid client, when its access token was issued later
+     * than the stored one's, or when it carries a different refresh token, as after a new login.
+     * Returns true if it was stored.
+     */
+    boolean putIfNewer(String userId, OAuth2AuthorizedClient client);
+
+    /**
+     * Replace the user's client only if it is still the expected one
+     */
+    boolean replace(String userId, OAuth2AuthorizedClient expected, OAuth2AuthorizedClient replacement);
+
+    void remove(String userId);
+
+    /**
+     * Remove the user's client only if it is still the expected one
+     */
+    boolean remove(String userId, OAuth2AuthorizedClient expected);
+
+    /**
+     * Users that currently have a valid client
+     */
+    Set<String> userIds();
+
+    int size();
+
+    /**
+     * Call the listener with the user's id whenever their client leaves the store, whether removed,
+     * expired or evicted, so state kept per user elsewhere can be dropped with it. Not called when a
+     * client is replaced by a newer one.
+     */
+    void addRemovalListener(Consumer<String> listener);
+}
@@ -0,0 +1,267 @@
+package com.calendar.store;
+
+import com.calendar.metrics.MetricsReporter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * In-memory client store with a size bound and expiry. An entry lives until its access token expires,
+ * or, when it can still be refreshed, until its refresh token expires or a grace period after the
+ * access token. Expired entries are dropped when read; once the store is full the least recently
+ * used user is evicted. Removal listeners are told about every user that leaves the store, outside
+ * the store's lock.
+ */
+@Component
+public class BoundedAuthorizedClientStore implements AuthorizedClientStore, MetricsReporter {
+
+    private record Entry(OAuth2AuthorizedClient client, long expiresAtMillis) {
+    }
+
+    private final int maxEntries;
+    private final long refreshGraceMillis;
+    private final Clock clock;
+    private final Map<String, Entry> entries;
+    private final List<Consumer<String>> removalListeners = new CopyOnWriteArrayList<>();
+    /** Users removed while the lock was held, announced to the listeners once it is released */
+    private List<String> removed = new ArrayList<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+
+    @Autowired
+    public BoundedAuthorizedClientStore(@Value("${calendar.auth.client-store.max-entries:10000}") int maxEntries,
+                                        @Value("${calendar.auth.client-store.refresh-grace-hours:24}") long refreshGraceHours) {
+        this(maxEntries, Duration.ofHours(refreshGraceHours), Clock.systemUTC());
+    }
+
+    public BoundedAuthorizedClientStore(int maxEntries, Duration refreshGrace, Clock clock) {
+        this.maxEntries = maxEntries;
+        this.refreshGraceMillis = refreshGrace.toMillis();
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > BoundedAuthorizedClientStore.this.maxEntries) {
+                    evictions.incrementAndGet();
+                    removed.add(eldest.getKey());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public OAuth2AuthorizedClient get(String userId) {
+        Entry entry;
+        List<String> left;
+        synchronized (entries) {
+            entry = live(userId, clock.millis());
+            left = drainRemoved();
+        }
+        notifyRemoved(left);
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return entry.client();
+    }
+
+    @Override
+    public void put(String userId, OAuth2AuthorizedClient client) {
+        List<String> left;
+        synchronized (entries) {
+            entries.put(userId, new Entry(client, expiresAt(client)));
+            left = drainRemoved();
+        }
+        notifyRemoved(left);
+    }
+
+    @Override
+    public boolean putIfNewer(String userId, OAuth2AuthorizedClient client) {
+        boolean stored;
+        List<String> left;
+        synchronized (entries) {
+            Entry entry = live(userId, clock.millis());
+            stored = entry == null || (entry.client() != client && isNewer(client, entry.client()));
+            if (stored) {
+                entries.put(userId, new Entry(client, expiresAt(client)));
+            }
+            left = drainRemoved();
+        }
+        // A user whose expired client was just replaced is still here
+        left.remove(userId);
+        notifyRemoved(left);
+        return stored;
+    }
+
+    @Override
+    public boolean replace(String userId, OAuth2AuthorizedClient expected, OAuth2AuthorizedClient replacement) {
+        boolean replaced;
+        List<String> left;
+        synchronized (entries) {
+            Entry entry = live(userId, clock.millis());
+            replaced = entry != null && entry.client() == expected;
+            if (replaced) {
+                entries.put(userId, new Entry(replacement, expiresAt(replacement)));
+            }
+            left = drainRemoved();
+        }
+        notifyRemoved(left);
+        return replaced;
+    }
+
+    @Override
+    public void remove(String userId) {
+        boolean present;
+        synchronized (entries) {
+            present = entries.remove(userId) != null;
+        }
+        if (present) {
+            notifyRemoved(List.of(userId));
+        }
+    }
+
+    @Override
+    public boolean remove(String userId, OAuth2AuthorizedClient expected) {
+        synchronized (entries) {
+            Entry entry = entries.get(userId);
+            if (entry == null || entry.client() != expected) {
+                return false;
+            }
+            entries.remove(userId);
+        }
+        notifyRemoved(List.of(userId));
+        return true;
+    }
+
+    @Override
+    public Set<String> userIds() {
+        long now = clock.millis();
+        Set<String> userIds;
+        List<String> left;
+        synchronized (entries) {
+            Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<String, Entry> entry = iterator.next();
+                if (entry.getValue().expiresAtMillis() <= now) {
+                    iterator.remove();
+                    expirations.incrementAndGet();
+                    removed.add(entry.getKey());
+                }
+            }
+            userIds = new HashSet<>(entries.keySet());
+            left = drainRemoved();
+        }
+        notifyRemoved(left);
+        return userIds;
+    }
+
+    @Override
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    @Override
+    public void addRemovalListener(Consumer<String> listener) {
+        removalListeners.add(listener);
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "authorizedClientStore";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("size", size());
+        metrics.put("maxEntries", maxEntries);
+        metrics.put("hits", hits.get());
+        metrics.put("misses", misses.get());
+        metrics.put("evictions", evictions.get());
+        metrics.put("expirations", expirations.get());
+        return metrics;
+    }
+
+    /**
+     * The user's entry if it has not expired; an expired one is removed. Caller holds the lock.
+     */
+    private Entry live(String userId, long now) {
+        Entry entry = entries.get(userId);
+        if (entry != null && entry.expiresAtMillis() <= now) {
+            entries.remove(userId);
+            expirations.incrementAndGet();
+            removed.add(userId);
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * Take the users removed under the lock so far. Caller holds the lock.
+     */
+    private List<String> drainRemoved() {
+        if (removed.isEmpty()) {
+            return new ArrayList<>(0);
+        }
+        List<String> drained = removed;
+        removed = new ArrayList<>();
+        return drained;
+    }
+
+    private void notifyRemoved(List<String> userIds) {
+        for (String userId : userIds) {
+            for (Consumer<String> listener : removalListeners) {
+                listener.accept(userId);
+            }
+        }
+    }
+
+    private static boolean isNewer(OAuth2AuthorizedClient client, OAuth2AuthorizedClient stored) {
+        Instant issuedAt = client.getAccessToken() != null ? client.getAccessToken().getIssuedAt() : null;
+        Instant storedIssuedAt = stored.getAccessToken() != null ? stored.getAccessToken().getIssuedAt() : null;
+        if (issuedAt != null && storedIssuedAt != null && !issuedAt.equals(storedIssuedAt)) {
+            return issuedAt.isAfter(storedIssuedAt);
+        }
+        return !Objects.equals(refreshTokenValue(client), refreshTokenValue(stored));
+    }
+
+    private static String refreshTokenValue(OAuth2AuthorizedClient client) {
+        return client.getRefreshToken() != null ? client.getRefreshToken().getTokenValue() : null;
+    }
+
+    private long expiresAt(OAuth2AuthorizedClient client) {
+        Instant accessExpiresAt = client.getAccessToken() != null ? client.getAccessToken().getExpiresAt() : null;
+        if (client.getRefreshToken() != null) {
+            Instant refreshExpiresAt = client.getRefreshToken().getExpiresAt();
+            if (refreshExpiresAt != null) {
+                return refreshExpiresAt.toEpochMilli();
+            }
+            return accessExpiresAt != null ? accessExpiresAt.toEpochMilli() + refreshGraceMillis : Long.MAX_VALUE;
+        }
+        return accessExpiresAt != null ? accessExpiresAt.toEpochMilli() : Long.MAX_VALUE;
+    }
+}
@@ -0,0 +1,167 @@
+package com.calendar.store;
+
+import com.calendar.model.CalendarEvent;
+import com.calendar.model.CompactEvent;
+import com.calendar.model.StringInterner;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Events of one user in one provider, together with the provider cursor that brings them up to date.
+ * Syncs for a partition are serialized through its sync lock; reads never block. Events are held in
+ * their compact form and only built again for the ones a query returns.
+ */
+public class SyncPartition {
+
+    /**
+     * A stored event and the interval it occupies, which is also known for all-day events
+     */
+    public record StoredEvent(CalendarEvent event, LocalDateTime start, LocalDateTime end) {
+    }
+
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private final StringInterner interner;
+
+    private volatile Map<String, CompactEvent> events = new ConcurrentHashMap<>();
+    private volatile String syncCursor;
+    private volatile LocalDateTime windowStart;
+    private volatile LocalDateTime windowEnd;
+    private volatile Instant lastSyncedAt;
+    /** Provider writes made for this user; a sync only counts as fresh for the writes it started after */
+    private final AtomicLong writes = new AtomicLong();
+    private long syncStartWrites;
+    private volatile long syncedWrites;
+
+    public SyncPartition(StringInterner interner) {
+        this.interner = interner;
+    }
+
+    public ReentrantLock getSyncLock() {
+        return syncLock;
+    }
+
+    /**
+     * Whether a full sync has completed and the partition can be advanced incrementally
+     */
+    public boolean isSynced() {
+        return syncCursor != null;
+    }
+
+    /**
+     * Whether the synced window contains the requested range
+     */
+    public boolean covers(LocalDateTime start, LocalDateTime end) {
+        return isSynced() && !start.isBefore(windowStart) && !end.isAfter(windowEnd);
+    }
+
+    /**
+     * Whether a sync completed within the last {@code maxAge}, so readers can use the partition as it is
+     */
+    public boolean isFresh(Duration maxAge, Instant now) {
+        Instant syncedAt = lastSyncedAt;
+        return isSynced() && syncedAt != null && now.isBefore(syncedAt.plus(maxAge))
+            && syncedWrites == writes.get();
+    }
+
+    /**
+     * Called under the sync lock before a sync reads from the provider. A write made after this point
+     * leaves the partition stale once the sync finishes, as the sync may not have seen it.
+     */
+    public void beginSync() {
+        syncStartWrites = writes.get();
+    }
+
+    /**
+     * An event was written to the provider; the next read syncs instead of trusting the partition
+     */
+    public void markStale() {
+        writes.incrementAndGet();
+    }
+
+    /**
+     * Swap in the result of a full sync in one step so readers never see a half-built partition
+     */
+    public void replaceAll(Map<String, StoredEvent> snapshot, String cursor,
+                           LocalDateTime windowStart, LocalDateTime windowEnd) {
+        Map<String, CompactEvent> compacted = new ConcurrentHashMap<>();
+        snapshot.forEach((id, storedEvent) -> compacted.put(id, compact(storedEvent)));
+        this.events = compacted;
+        this.windowStart = windowStart;
+        this.windowEnd = windowEnd;
+        advance(cursor);
+    }
+
+    public void upsert(StoredEvent storedEvent) {
+        events.put(storedEvent.event().getId(), compact(storedEvent));
+    }
+
+    public void remove(String eventId) {
+        events.remove(eventId);
+    }
+
+    public void advance(String cursor) {
+        this.syncCursor = cursor;
+        this.syncedWrites = syncStartWrites;
+        this.lastSyncedAt = Instant.now();
+    }
+
+    /**
+     * Drop the cursor and all events, forcing the next sync to start over
+     */
+    public void reset() {
+        this.syncCursor = null;
+        this.events = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Events overlapping the range, ordered by start
+     */
+    public List<CalendarEvent> query(LocalDateTime start, LocalDateTime end) {
+        long startSecond = CompactEvent.toSecond(start);
+        long endSecond = CompactEvent.toSecond(end);
+        List<CompactEvent> matching = new ArrayList<>();
+        for (CompactEvent event : events.values()) {
+            if (event.hasInterval() && event.getStartSecond() < endSecond && event.getEndSecond() > startSecond) {
+                matching.add(event);
+            }
+        }
+        matching.sort((a, b) -> Long.compare(a.getStartSecond(), b.getStartSecond()));
+        List<CalendarEvent> result = new ArrayList<>(matching.size());
+        for (CompactEvent event : matching) {
+            result.add(event.toCalendarEvent());
+        }
+        return result;
+    }
+
+    public Map<String, StoredEvent> snapshot() {
+        Map<String, StoredEvent> snapshot = new HashMap<>();
+        events.forEach((id, event) -> snapshot.put(id, new StoredEvent(event.toCalendarEvent(),
+            CompactEvent.toLocalDateTime(event.getStartSecond()), CompactEvent.toLocalDateTime(event.getEndSecond()))));
+        return snapshot;
+    }
+
+    public String getSyncCursor() {
+        return syncCursor;
+    }
+
+    public Instant getLastSyncedAt() {
+        return lastSyncedAt;
+    }
+
+    public int size() {
+        return events.size();
+    }
+
+    private CompactEvent compact(StoredEvent storedEvent) {
+        return CompactEvent.of(storedEvent.event(), storedEvent.start(), storedEvent.end(), interner);
+    }
+}
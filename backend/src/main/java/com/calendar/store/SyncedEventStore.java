@@ -0,0 +1,79 @@
+package com.calendar.store;
+
+import com.calendar.enums.CalendarSource;
+import com.calendar.metrics.MetricsReporter;
+import com.calendar.model.StringInterner;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Local copy of provider events kept current by incremental sync, partitioned per user and provider.
+ * A user's partitions are dropped when their authorized client leaves the client store, so only
+ * users who can still be synced hold events.
+ */
+@Component
+public class SyncedEventStore implements MetricsReporter {
+
+    private static final int MAX_INTERNED_STRINGS = 100_000;
+
+    private final Map<String, SyncPartition> partitions = new ConcurrentHashMap<>();
+    /** Shared by all partitions, since users in one organization see the same titles and rooms */
+    private final StringInterner interner = new StringInterner(MAX_INTERNED_STRINGS);
+
+    public SyncedEventStore() {
+    }
+
+    @Autowired
+    public SyncedEventStore(AuthorizedClientStore clientStore) {
+        clientStore.addRemovalListener(this::evictUser);
+    }
+
+    /**
+     * Get the partition for the user and provider, creating an empty one on first use
+     */
+    public SyncPartition partition(String userKey, CalendarSource source) {
+        return partitions.computeIfAbsent(key(userKey, source), k -> new SyncPartition(interner));
+    }
+
+    /**
+     * Make the next read of the user's partition sync first, after a write to the provider. Does not
+     * create a partition for a user who has none.
+     */
+    public void markStale(String userKey, CalendarSource source) {
+        SyncPartition partition = partitions.get(key(userKey, source));
+        if (partition != null) {
+            partition.markStale();
+        }
+    }
+
+    /**
+     * Remove every partition held for the user
+     */
+    public void evictUser(String userKey) {
+        for (CalendarSource source : CalendarSource.values()) {
+            partitions.remove(key(userKey, source));
+        }
+    }
+
+    private String key(String userKey, CalendarSource source) {
+        return source.name() + ":" + userKey;
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "syncedEventStore";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("partitions", partitions.size());
+        metrics.put("events", partitions.values().stream().mapToInt(SyncPartition::size).sum());
+        metrics.put("internedStrings", interner.size());
+        return metrics;
+    }
+}
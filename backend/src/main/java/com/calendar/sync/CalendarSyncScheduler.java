@@ -0,0 +1,175 @@
+package com.calendar.sync;
+
+import com.calendar.cache.TiledEventCache;
+import com.calendar.config.ExecutorConfig;
+import com.calendar.metrics.MetricsReporter;
+import com.calendar.service.CalendarProvider;
+import com.calendar.service.CalendarService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background job that keeps every known user's events fresh in the tiled event cache, so reads are
+ * served locally instead of calling providers inline. Each user gets a fixed offset inside the sync
+ * interval, spreading the load instead of syncing everyone at once. Each provider has its own
+ * bounded pool, so a slow provider only delays its own syncs.
+ */
+@Component
+@ConditionalOnProperty(name = {"spring.security.enabled", "calendar.sync.enabled"}, havingValue = "true", matchIfMissing = true)
+public class CalendarSyncScheduler implements MetricsReporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(CalendarSyncScheduler.class);
+
+    private final CalendarService calendarService;
+    private final List<CalendarProvider> calendarProviders;
+    private final TiledEventCache eventCache;
+    private final long intervalMillis;
+    private final int threadsPerProvider;
+    private final int queuePerProvider;
+    private final int pastDays;
+    private final int futureDays;
+
+    private final Map<String, ExecutorService> providerExecutors = new ConcurrentHashMap<>();
+    private final Map<String, Long> nextDueMillis = new ConcurrentHashMap<>();
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong syncsSucceeded = new AtomicLong();
+    private final AtomicLong syncsFailed = new AtomicLong();
+    private final AtomicLong syncsSkipped = new AtomicLong();
+
+    @Autowired
+    public CalendarSyncScheduler(CalendarService calendarService,
+                                 List<CalendarProvider> calendarProviders,
+                                 TiledEventCache eventCache,
+                                 @Value("${calendar.sync.interval-ms:300000}") long intervalMillis,
+                                 @Value("${calendar.sync.threads-per-provider:2}") int threadsPerProvider,
+                                 @Value("${calendar.sync.queue-per-provider:1000}") int queuePerProvider,
+                                 @Value("${calendar.sync.past-days:1}") int pastDays,
+                                 @Value("${calendar.sync.future-days:28}") int futureDays) {
+        this.calendarService = calendarService;
+        this.calendarProviders = calendarProviders;
+        this.eventCache = eventCache;
+        this.intervalMillis = intervalMillis;
+        this.threadsPerProvider = threadsPerProvider;
+        this.queuePerProvider = queuePerProvider;
+        this.pastDays = pastDays;
+        this.futureDays = futureDays;
+    }
+
+    /**
+     * Runs every few seconds and starts the syncs whose turn has come
+     */
+    @Scheduled(fixedDelayString = "${calendar.sync.tick-ms:5000}", initialDelayString = "${calendar.sync.tick-ms:5000}")
+    public void tick() {
+        long now = System.currentTimeMillis();
+        Set<String> users = calendarService.getKnownUserIds();
+        nextDueMillis.keySet().retainAll(users);
+
+        for (String userId : users) {
+            long due = nextDueMillis.computeIfAbsent(userId, id -> now + offsetFor(id));
+            if (due > now) {
+                continue;
+            }
+            long next = due;
+            while (next <= now) {
+                next += intervalMillis;
+            }
+            nextDueMillis.put(userId, next);
+            syncUser(userId);
+        }
+    }
+
+    /**
+     * Queue a refresh of every configured provider for the user
+     */
+    public void syncUser(String userId) {
+        OAuth2AuthorizedClient client = calendarService.getAuthorizedClient(userId);
+        if (client == null) {
+            return;
+        }
+        LocalDateTime start = LocalDate.now().minusDays(pastDays).atStartOfDay();
+        LocalDateTime end = LocalDate.now().plusDays(futureDays + 1L).atStartOfDay();
+
+        for (CalendarProvider provider : calendarProviders) {
+            if (!provider.isConfigured()) {
+                continue;
+            }
+            String key = provider.getProviderName() + ":" + userId;
+            // The previous round for this user is still running on a slow provider; let it finish
+            if (!inFlight.add(key)) {
+                syncsSkipped.incrementAndGet();
+                continue;
+            }
+            try {
+                executorFor(provider).execute(() -> {
+                    try {
+                        eventCache.refresh(userId, provider.getProviderName(), start, end,
+                            (tileStart, tileEnd) -> provider.fetchEvents(client, tileStart, tileEnd));
+                        syncsSucceeded.incrementAndGet();
+                    } catch (Exception e) {
+                        syncsFailed.incrementAndGet();
+                        logger.warn("Background sync of {} for user {} failed: {}",
+                            provider.getProviderName(), userId, e.getMessage());
+                    } finally {
+                        inFlight.remove(key);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                inFlight.remove(key);
+                syncsSkipped.incrementAndGet();
+                logger.warn("Sync pool for {} is saturated, skipping user {}", provider.getProviderName(), userId);
+            }
+        }
+    }
+
+    /**
+     * Stable offset in [0, interval) so a user always syncs at the same point of the cycle
+     */
+    long offsetFor(String userId) {
+        return Math.floorMod(userId.hashCode() * 0x9E3779B9L, intervalMillis);
+    }
+
+    private ExecutorService executorFor(CalendarProvider provider) {
+        return providerExecutors.computeIfAbsent(provider.getProviderName(), name ->
+            ExecutorConfig.boundedExecutor("sync-" + name.toLowerCase() + "-", threadsPerProvider, queuePerProvider));
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "calendarSync";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("scheduledUsers", nextDueMillis.size());
+        metrics.put("inFlight", inFlight.size());
+        metrics.put("succeeded", syncsSucceeded.get());
+        metrics.put("failed", syncsFailed.get());
+        metrics.put("skipped", syncsSkipped.get());
+        return metrics;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        providerExecutors.values().forEach(ExecutorService::shutdownNow);
+    }
+}
@@ -0,0 +1,125 @@
+package com.calendar.availability;
+
+import com.calendar.enums.FetchStatus;
+import com.calendar.enums.Status;
+import com.calendar.exception.CalendarUnavailableException;
+import com.calendar.model.AggregatedBusyTime;
+import com.calendar.model.BusyIntervals;
+import com.calendar.model.CalendarEvent;
+import com.calendar.model.TimeSlot;
+import com.calendar.service.ICalendarService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AvailabilityServiceTest {
+
+    // 2024-03-04 is a Monday
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2024, 3, 4, 0, 0);
+
+    @Mock
+    private ICalendarService calendarService;
+
+    private AvailabilityService availabilityService;
+
+    @BeforeEach
+    void setUp() {
+        WorkingHours workingHours = new WorkingHours(LocalTime.of(9, 0), LocalTime.of(17, 0),
+            EnumSet.range(DayOfWeek.MONDAY, DayOfWeek.FRIDAY));
+        availabilityService = new AvailabilityService(calendarService, workingHours, 60_000);
+    }
+
+    @Test
+    void testFreeSlotsSkipBusyTimeAndRespectWorkingHours() {
+        when(calendarService.fetchBusyTimeWithStatus(eq("user"), any(), any())).thenReturn(busy(List.of(
+            event(MONDAY.plusHours(9), MONDAY.plusHours(10)),
+            event(MONDAY.plusHours(9).plusMinutes(30), MONDAY.plusHours(11)),
+            event(MONDAY.plusHours(12), MONDAY.plusHours(12).plusMinutes(45)),
+            event(MONDAY.plusHours(16).plusMinutes(30), MONDAY.plusHours(18))
+        )));
+
+        List<TimeSlot> slots = availabilityService.findFreeSlots("user", MONDAY, MONDAY.plusDays(1), Duration.ofMinutes(60)).getSlots();
+
+        assertEquals(2, slots.size());
+        assertEquals(MONDAY.plusHours(11), slots.get(0).getStart());
+        assertEquals(MONDAY.plusHours(12), slots.get(0).getEnd());
+        assertEquals(MONDAY.plusHours(12).plusMinutes(45), slots.get(1).getStart());
+        assertEquals(MONDAY.plusHours(16).plusMinutes(30), slots.get(1).getEnd());
+    }
+
+    @Test
+    void testWeekendAndCancelledEventsAreIgnored() {
+        CalendarEvent cancelled = event(MONDAY.plusHours(9), MONDAY.plusHours(17));
+        cancelled.setStatus(Status.CANCELLED);
+        when(calendarService.fetchBusyTimeWithStatus(eq("user"), any(), any())).thenReturn(busy(List.of(cancelled)));
+
+        List<TimeSlot> slots = availabilityService.findFreeSlots("user", MONDAY.minusDays(2), MONDAY.plusDays(1), Duration.ofMinutes(30)).getSlots();
+
+        assertEquals(1, slots.size());
+        assertEquals(Duration.ofHours(8), slots.get(0).getDuration());
+    }
+
+    @Test
+    void testIndexIsReusedForCoveredRanges() {
+        when(calendarService.fetchBusyTimeWithStatus(eq("user"), any(), any())).thenReturn(busy(List.of(
+            event(MONDAY.plusHours(10), MONDAY.plusHours(11)))));
+
+        availabilityService.findFreeSlots("user", MONDAY, MONDAY.plusDays(7), Duration.ofMinutes(30));
+        assertFalse(availabilityService.isFree("user", MONDAY.plusHours(10).plusMinutes(30), MONDAY.plusHours(12)));
+        assertTrue(availabilityService.isFree("user", MONDAY.plusHours(11), MONDAY.plusHours(12)));
+
+        verify(calendarService, times(1)).fetchBusyTimeWithStatus(eq("user"), any(), any());
+    }
+
+    @Test
+    void testBookableGridRefusesBusyTimeMissingAProvider() {
+        when(calendarService.fetchBusyTimeWithStatus(eq("user"), any(), any())).thenReturn(new AggregatedBusyTime(
+            BusyIntervals.of(List.of(event(MONDAY.plusHours(10), MONDAY.plusHours(11)))),
+            Map.of("GOOGLE", FetchStatus.SUCCESS, "OUTLOOK", FetchStatus.TIMED_OUT)));
+
+        assertNotNull(availabilityService.getSlotGrid("user"));
+        assertThrows(CalendarUnavailableException.class, () -> availabilityService.getBookableSlotGrid("user"));
+
+        verify(calendarService, times(2)).fetchBusyTimeWithStatus(eq("user"), any(), any());
+    }
+
+    @Test
+    void testSlotsFoundWithoutAProviderAreMarkedIncomplete() {
+        when(calendarService.fetchBusyTimeWithStatus(eq("user"), any(), any())).thenReturn(new AggregatedBusyTime(
+            new BusyIntervals(), Map.of("GOOGLE", FetchStatus.SUCCESS, "OUTLOOK", FetchStatus.FAILED)));
+
+        AvailableSlots slots = availabilityService.findFreeSlots("user", MONDAY, MONDAY.plusDays(1), Duration.ofMinutes(30));
+
+        assertEquals(1, slots.getSlots().size());
+        assertFalse(slots.isComplete());
+        assertEquals(FetchStatus.FAILED, slots.getProviderStatuses().get("OUTLOOK"));
+    }
+
+    private AggregatedBusyTime busy(List<CalendarEvent> events) {
+        return new AggregatedBusyTime(BusyIntervals.of(events), Map.of("GOOGLE", FetchStatus.SUCCESS));
+    }
+
+    private CalendarEvent event(LocalDateTime start, LocalDateTime end) {
+        CalendarEvent event = new CalendarEvent();
+        event.setStartTime(start);
+        event.setEndTime(end);
+        event.setStatus(Status.CONFIRMED);
+        return event;
+    }
+}
@@ -0,0 +1,80 @@
+package com.calendar.availability;
+
+import com.calendar.model.CalendarEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlotGridTest {
+
+    // 2024-03-04 is a Monday
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2024, 3, 4, 0, 0);
+    private static final WorkingHours WORKING_HOURS = new WorkingHours(LocalTime.of(9, 0), LocalTime.of(17, 0),
+        EnumSet.range(DayOfWeek.MONDAY, DayOfWeek.FRIDAY));
+    private static final int SLOTS_PER_WEEK = 7 * 24 * 4;
+
+    @Test
+    void testWorkingHoursAndBusyTimeAreMasked() {
+        SlotGrid grid = SlotGrid.build(MONDAY, SLOTS_PER_WEEK, 15, WORKING_HOURS,
+            BusyIntervalIndex.of(List.of(event(MONDAY.plusHours(10), MONDAY.plusHours(11)))), 0);
+
+        assertTrue(grid.isFree(MONDAY.plusHours(9), MONDAY.plusHours(10)));
+        assertFalse(grid.isFree(MONDAY.plusHours(9).plusMinutes(45), MONDAY.plusHours(10).plusMinutes(15)));
+        assertTrue(grid.isFree(MONDAY.plusHours(11), MONDAY.plusHours(17)));
+        assertFalse(grid.isFree(MONDAY.plusHours(16).plusMinutes(45), MONDAY.plusHours(17).plusMinutes(15)));
+        assertFalse(grid.isFree(MONDAY.plusDays(5).plusHours(10), MONDAY.plusDays(5).plusHours(11)));
+        // five working days of 32 slots, minus the four busy ones
+        assertEquals(5 * 32 - 4, grid.freeSlotCount());
+    }
+
+    @Test
+    void testBufferWidensBusyTime() {
+        SlotGrid grid = SlotGrid.build(MONDAY, SLOTS_PER_WEEK, 15, WORKING_HOURS,
+            BusyIntervalIndex.of(List.of(event(MONDAY.plusHours(10), MONDAY.plusHours(11)))), 15);
+
+        assertFalse(grid.isFree(MONDAY.plusHours(9).plusMinutes(45), MONDAY.plusHours(10)));
+        assertFalse(grid.isFree(MONDAY.plusHours(11), MONDAY.plusHours(11).plusMinutes(15)));
+        assertTrue(grid.isFree(MONDAY.plusHours(11).plusMinutes(15), MONDAY.plusHours(12)));
+    }
+
+    @Test
+    void testRunStartsAcrossWordBoundaries() {
+        SlotGrid grid = SlotGrid.build(MONDAY, SLOTS_PER_WEEK, 15, WORKING_HOURS, BusyIntervalIndex.of(List.of()), 0);
+
+        // Monday 09:00 is slot 36; an 8 hour day has 32 slots, so a 2 hour meeting can start at 25 of them
+        SlotGrid starts = grid.runStarts(8);
+        assertEquals(36, starts.nextFreeSlot(0));
+        assertTrue(starts.isFree(36 + 24));
+        assertFalse(starts.isFree(36 + 25));
+        assertEquals(5 * 25, starts.freeSlotCount());
+        // a run spanning a word boundary: slots 96 + 36 = 132 onwards on Tuesday
+        assertEquals(132, starts.nextFreeSlot(61));
+    }
+
+    @Test
+    void testIntersectKeepsCommonFreeSlots() {
+        SlotGrid first = SlotGrid.build(MONDAY, SLOTS_PER_WEEK, 15, WORKING_HOURS,
+            BusyIntervalIndex.of(List.of(event(MONDAY.plusHours(9), MONDAY.plusHours(12)))), 0);
+        SlotGrid second = SlotGrid.build(MONDAY, SLOTS_PER_WEEK, 15, WORKING_HOURS,
+            BusyIntervalIndex.of(List.of(event(MONDAY.plusHours(13), MONDAY.plusHours(17)))), 0);
+
+        SlotGrid common = first.intersect(second);
+
+        assertTrue(common.isFree(MONDAY.plusHours(12), MONDAY.plusHours(13)));
+        assertFalse(common.isFree(MONDAY.plusHours(11), MONDAY.plusHours(12)));
+        assertFalse(common.isFree(MONDAY.plusHours(13), MONDAY.plusHours(14)));
+    }
+
+    private CalendarEvent event(LocalDateTime start, LocalDateTime end) {
+        CalendarEvent event = new CalendarEvent();
+        event.setStartTime(start);
+        event.setEndTime(end);
+        return event;
+    }
+}
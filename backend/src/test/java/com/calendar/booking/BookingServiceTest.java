@@ -0,0 +1,204 @@
+package com.calendar.booking;
+
+import com.calendar.availability.AvailabilityService;
+import com.calendar.availability.BusyIntervalIndex;
+import com.calendar.availability.SlotGrid;
+import com.calendar.availability.WorkingHours;
+import com.calendar.exception.BookingConflictException;
+import com.calendar.model.CalendarEvent;
+import com.calendar.service.ICalendarService;
+import com.calendar.support.MutableClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class BookingServiceTest {
+
+    // 2024-03-04 is a Monday
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2024, 3, 4, 0, 0);
+
+    @Mock
+    private ICalendarService calendarService;
+
+    @Mock
+    private AvailabilityService availabilityService;
+
+    private final MutableClock clock = new MutableClock(MONDAY.toInstant(ZoneOffset.UTC));
+    private BookingService bookingService;
+
+    @BeforeEach
+    void setUp() {
+        WorkingHours workingHours = new WorkingHours(LocalTime.of(9, 0), LocalTime.of(17, 0),
+            EnumSet.range(DayOfWeek.MONDAY, DayOfWeek.FRIDAY));
+        SlotGrid grid = SlotGrid.build(MONDAY, 7 * 96, 15, workingHours,
+            BusyIntervalIndex.of(List.of(event(MONDAY.plusHours(12), MONDAY.plusHours(13)))), 0);
+        when(availabilityService.getBookableSlotGrid("owner")).thenReturn(grid);
+        when(calendarService.createEvent(eq("owner"), any())).thenAnswer(invocation -> List.of(invocation.<CalendarEvent>getArgument(1)));
+        bookingService = new BookingService(calendarService, availabilityService, Duration.ofMinutes(5), 16, 64, 1000, clock, false);
+    }
+
+    @Test
+    void testConfirmedHoldCreatesEventWithHeldTimes() {
+        Hold hold = bookingService.placeHold("owner", MONDAY.plusHours(10), MONDAY.plusHours(11));
+        CalendarEvent details = new CalendarEvent();
+        details.setTitle("Intro call");
+
+        List<CalendarEvent> created = bookingService.confirm(hold.getId(), details);
+
+        assertEquals(MONDAY.plusHours(10), created.get(0).getStartTime());
+        assertEquals(MONDAY.plusHours(11), created.get(0).getEndTime());
+        assertNull(bookingService.getHold(hold.getId()));
+        verify(availabilityService).invalidate("owner");
+    }
+
+    @Test
+    void testFailedConfirmKeepsTheHold() {
+        Hold hold = bookingService.placeHold("owner", MONDAY.plusHours(10), MONDAY.plusHours(11));
+        when(calendarService.createEvent(eq("owner"), any())).thenThrow(new RuntimeException("provider down"));
+
+        assertThrows(RuntimeException.class, () -> bookingService.confirm(hold.getId(), new CalendarEvent()));
+
+        assertSame(hold, bookingService.getHold(hold.getId()));
+        assertThrows(BookingConflictException.class,
+            () -> bookingService.placeHold("owner", MONDAY.plusHours(10), MONDAY.plusHours(11)));
+        verify(availabilityService, never()).invalidate("owner");
+
+        when(calendarService.createEvent(eq("owner"), any())).thenAnswer(invocation -> List.of(invocation.<CalendarEvent>getArgument(1)));
+        assertEquals(1, bookingService.confirm(hold.getId(), new CalendarEvent()).size());
+        assertNull(bookingService.getHold(hold.getId()));
+    }
+
+    @Test
+    void testBusyOrHeldSlotsAreRejected() {
+        assertThrows(BookingConflictException.class,
+            () -> bookingService.placeHold("owner", MONDAY.plusHours(12).plusMinutes(30), MONDAY.plusHours(13).plusMinutes(30)));
+
+        bookingService.placeHold("owner", MONDAY.plusHours(10), MONDAY.plusHours(11));
+        assertThrows(BookingConflictException.class,
+            () -> bookingService.placeHold("owner", MONDAY.plusHours(10).plusMinutes(30), MONDAY.plusHours(11).plusMinutes(30)));
+        assertNotNull(bookingService.placeHold("owner", MONDAY.plusHours(11), MONDAY.plusHours(12)));
+    }
+
+    @Test
+    void testGridBuiltWhileABookingWasConfirmedIsCheckedAgain() {
+        WorkingHours workingHours = new WorkingHours(LocalTime.of(9, 0), LocalTime.of(17, 0),
+            EnumSet.range(DayOfWeek.MONDAY, DayOfWeek.FRIDAY));
+        SlotGrid staleGrid = availabilityService.getBookableSlotGrid("owner");
+        SlotGrid freshGrid = SlotGrid.build(MONDAY, 7 * 96, 15, workingHours,
+            BusyIntervalIndex.of(List.of(event(MONDAY.plusHours(10), MONDAY.plusHours(11)))), 0);
+        Hold confirmed = bookingService.placeHold("owner", MONDAY.plusHours(10), MONDAY.plusHours(11));
+        AtomicInteger gridBuilds = new AtomicInteger();
+        when(availabilityService.getBookableSlotGrid("owner")).thenAnswer(invocation -> {
+            if (gridBuilds.incrementAndGet() == 1) {
+                bookingService.confirm(confirmed.getId(), new CalendarEvent());
+                return staleGrid;
+            }
+            return freshGrid;
+        });
+
+        assertThrows(BookingConflictException.class,
+            () -> bookingService.placeHold("owner", MONDAY.plusHours(10), MONDAY.plusHours(11)));
+        assertEquals(2, gridBuilds.get());
+        assertEquals(1L, bookingService.getMetrics().get("staleGridRechecks"));
+    }
+
+    @Test
+    void testExpiredHoldFreesSlot() {
+        Hold hold = bookingService.placeHold("owner", MONDAY.plusHours(10), MONDAY.plusHours(11));
+
+        clock.advance(Duration.ofMinutes(5).plusSeconds(1));
+        bookingService.tick();
+
+        assertNull(bookingService.getHold(hold.getId()));
+        assertThrows(BookingConflictException.class, () -> bookingService.confirm(hold.getId(), new CalendarEvent()));
+        assertNotNull(bookingService.placeHold("owner", MONDAY.plusHours(10), MONDAY.plusHours(11)));
+    }
+
+    @Test
+    void testOwnerEntryIsDroppedWithTheirLastHold() {
+        Hold expiring = bookingService.placeHold("owner", MONDAY.plusHours(9), MONDAY.plusHours(10));
+        Hold confirmed = bookingService.placeHold("owner", MONDAY.plusHours(10), MONDAY.plusHours(11));
+        assertEquals(1, bookingService.getMetrics().get("ownersWithHolds"));
+
+        bookingService.confirm(confirmed.getId(), new CalendarEvent());
+        assertEquals(1, bookingService.getMetrics().get("ownersWithHolds"));
+
+        clock.advance(Duration.ofMinutes(5).plusSeconds(1));
+        bookingService.tick();
+        assertNull(bookingService.getHold(expiring.getId()));
+        assertEquals(0, bookingService.getMetrics().get("ownersWithHolds"));
+    }
+
+    @Test
+    void testRangeOutsideTheGridIsRejectedAsOutsideTheBookableWindow() {
+        IllegalArgumentException beyond = assertThrows(IllegalArgumentException.class,
+            () -> bookingService.placeHold("owner", MONDAY.plusDays(8).plusHours(10), MONDAY.plusDays(8).plusHours(11)));
+        assertTrue(beyond.getMessage().contains("outside the bookable window"));
+        assertThrows(IllegalArgumentException.class,
+            () -> bookingService.placeHold("owner", MONDAY.minusHours(1), MONDAY.plusHours(1)));
+        assertEquals(0L, bookingService.getMetrics().get("conflicts"));
+    }
+
+    @Test
+    void testConcurrentHoldsForSameSlotOnlyOneWins() throws Exception {
+        int attempts = 16;
+        ExecutorService pool = Executors.newFixedThreadPool(attempts);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger winners = new AtomicInteger();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < attempts; i++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    try {
+                        bookingService.placeHold("owner", MONDAY.plusHours(14), MONDAY.plusHours(15));
+                        winners.incrementAndGet();
+                    } catch (BookingConflictException ignored) {
+                        // expected for every caller but one
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(5, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(1, winners.get());
+    }
+
+    private CalendarEvent event(LocalDateTime start, LocalDateTime end) {
+        CalendarEvent event = new CalendarEvent();
+        event.setStartTime(start);
+        event.setEndTime(end);
+        return event;
+    }
+}
@@ -0,0 +1,43 @@
+package com.calendar.cache;
+
+import com.calendar.support.MutableClock;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CalendarListCacheTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2024-03-04T09:00:00Z"));
+
+    @Test
+    void testLeastRecentlyUsedListIsEvictedWhenFull() {
+        CalendarListCache cache = new CalendarListCache(2, Duration.ofMinutes(15), clock);
+        AtomicInteger discoveries = new AtomicInteger();
+
+        cache.get("a", "GOOGLE", () -> List.of("a-" + discoveries.incrementAndGet()));
+        cache.get("b", "GOOGLE", () -> List.of("b-" + discoveries.incrementAndGet()));
+        cache.get("a", "GOOGLE", () -> List.of("a-" + discoveries.incrementAndGet()));
+        cache.get("c", "GOOGLE", () -> List.of("c-" + discoveries.incrementAndGet()));
+
+        assertEquals(List.of("a-1"), cache.get("a", "GOOGLE", () -> List.of("a-" + discoveries.incrementAndGet())));
+        assertEquals(List.of("b-4"), cache.get("b", "GOOGLE", () -> List.of("b-" + discoveries.incrementAndGet())));
+        assertEquals(2, cache.getMetrics().get("entries"));
+    }
+
+    @Test
+    void testExpiredListIsDroppedWhenAnotherIsStored() {
+        CalendarListCache cache = new CalendarListCache(100, Duration.ofMinutes(15), clock);
+        cache.get("idle", "GOOGLE", () -> List.of("primary"));
+
+        clock.advance(Duration.ofMinutes(15));
+        cache.get("active", "GOOGLE", () -> List.of("primary"));
+
+        assertEquals(1, cache.getMetrics().get("entries"));
+        assertEquals(1L, cache.getMetrics().get("evictions"));
+    }
+}
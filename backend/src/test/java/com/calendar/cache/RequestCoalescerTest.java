@@ -0,0 +1,140 @@
+package com.calendar.cache;
+
+import com.calendar.model.CalendarEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestCoalescerTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 3, 4, 0, 0);
+    private static final LocalDateTime END = START.plusDays(7);
+
+    private final RequestCoalescer coalescer = new RequestCoalescer(true);
+
+    @Test
+    void testConcurrentIdenticalFetchesShareOneProviderCall() throws Exception {
+        int callers = 5;
+        AtomicInteger providerCalls = new AtomicInteger();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<CalendarEvent> events = List.of(new CalendarEvent());
+
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<List<CalendarEvent>>> results = new ArrayList<>();
+            results.add(executor.submit(() -> coalescer.fetch("user", "GOOGLE", START, END, () -> {
+                providerCalls.incrementAndGet();
+                leaderStarted.countDown();
+                await(release);
+                return events;
+            })));
+            assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+
+            for (int i = 1; i < callers; i++) {
+                results.add(executor.submit(() -> coalescer.fetch("user", "GOOGLE", START, END, () -> {
+                    providerCalls.incrementAndGet();
+                    return List.of();
+                })));
+            }
+            waitForDeduplicated(callers - 1);
+            release.countDown();
+
+            for (Future<List<CalendarEvent>> result : results) {
+                assertSame(events, result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, providerCalls.get());
+        assertEquals(callers, coalescer.getCalls());
+        assertEquals(callers - 1, coalescer.getDeduplicated());
+        assertEquals(0, coalescer.getMetrics().get("inFlight"));
+    }
+
+    @Test
+    void testDifferentKeysAndSequentialCallsAreNotShared() {
+        AtomicInteger providerCalls = new AtomicInteger();
+
+        coalescer.fetch("user", "GOOGLE", START, END, () -> count(providerCalls));
+        coalescer.fetch("user", "GOOGLE", START, END, () -> count(providerCalls));
+        coalescer.fetch("user", "OUTLOOK", START, END, () -> count(providerCalls));
+        coalescer.fetch("other", "GOOGLE", START, END, () -> count(providerCalls));
+
+        assertEquals(4, providerCalls.get());
+        assertEquals(0, coalescer.getDeduplicated());
+    }
+
+    @Test
+    void testFailureIsSharedAndNotRemembered() throws Exception {
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<List<CalendarEvent>> leader = executor.submit(() -> coalescer.fetch("user", "GOOGLE", START, END, () -> {
+                leaderStarted.countDown();
+                await(release);
+                throw new RuntimeException("provider down");
+            }));
+            assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+            Future<List<CalendarEvent>> follower = executor.submit(() ->
+                coalescer.fetch("user", "GOOGLE", START, END, List::of));
+            waitForDeduplicated(1);
+            release.countDown();
+
+            Exception leaderError = assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+            Exception followerError = assertThrows(Exception.class, () -> follower.get(5, TimeUnit.SECONDS));
+            assertEquals("provider down", leaderError.getCause().getMessage());
+            assertEquals("provider down", followerError.getCause().getMessage());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertTrue(coalescer.fetch("user", "GOOGLE", START, END, List::of).isEmpty());
+    }
+
+    @Test
+    void testDisabledCoalescerAlwaysCallsProvider() {
+        RequestCoalescer disabled = new RequestCoalescer(false);
+        AtomicInteger providerCalls = new AtomicInteger();
+
+        disabled.fetch("user", "GOOGLE", START, END, () -> count(providerCalls));
+        disabled.fetch("user", "GOOGLE", START, END, () -> count(providerCalls));
+
+        assertEquals(2, providerCalls.get());
+        assertEquals(false, disabled.getMetrics().get("enabled"));
+    }
+
+    private void waitForDeduplicated(long expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (coalescer.getDeduplicated() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(expected, coalescer.getDeduplicated());
+    }
+
+    private static List<CalendarEvent> count(AtomicInteger counter) {
+        counter.incrementAndGet();
+        return List.of();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.calendar.cache;
+
+import com.calendar.model.CalendarEvent;
+import com.calendar.support.MutableClock;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TiledEventCacheTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2024, 3, 4, 0, 0);
+
+    private final MutableClock clock = new MutableClock(DAY.toInstant(ZoneOffset.UTC));
+    private final TiledEventCache cache = new TiledEventCache(true, Duration.ofDays(1), 100, Duration.ofMinutes(5), clock);
+    private final List<LocalDateTime[]> loads = new ArrayList<>();
+
+    private List<CalendarEvent> load(LocalDateTime start, LocalDateTime end) {
+        loads.add(new LocalDateTime[] {start, end});
+        return List.of(
+            event("monday", DAY.plusHours(9)),
+            event("tuesday", DAY.plusDays(1).plusHours(9)),
+            event("thursday", DAY.plusDays(3).plusHours(9))
+        ).stream()
+            .filter(e -> e.getStartTime().isBefore(end) && e.getEndTime().isAfter(start))
+            .collect(Collectors.toList());
+    }
+
+    @Test
+    void testOverlappingWindowOnlyLoadsMissingTiles() {
+        List<CalendarEvent> first = cache.get("user", "GOOGLE", DAY, DAY.plusDays(2), this::load);
+        List<CalendarEvent> second = cache.get("user", "GOOGLE", DAY.plusDays(1), DAY.plusDays(4), this::load);
+
+        assertEquals(List.of("monday", "tuesday"), ids(first));
+        assertEquals(List.of("tuesday", "thursday"), ids(second));
+        assertEquals(2, loads.size());
+        assertEquals(DAY.plusDays(2), loads.get(1)[0]);
+        assertEquals(DAY.plusDays(4), loads.get(1)[1]);
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    void testRangeInsideTileIsFilteredToRequest() {
+        cache.get("user", "GOOGLE", DAY, DAY.plusDays(1), this::load);
+
+        List<CalendarEvent> afternoon = cache.get("user", "GOOGLE", DAY.plusHours(12), DAY.plusHours(18), this::load);
+
+        assertTrue(afternoon.isEmpty());
+        assertEquals(1, loads.size());
+    }
+
+    @Test
+    void testExpiredTilesAreReloaded() {
+        cache.get("user", "GOOGLE", DAY, DAY.plusDays(1), this::load);
+        clock.advance(Duration.ofMinutes(6));
+
+        cache.get("user", "GOOGLE", DAY, DAY.plusDays(1), this::load);
+
+        assertEquals(2, loads.size());
+    }
+
+    @Test
+    void testInvalidateUserDropsOnlyThatUsersTiles() {
+        cache.get("user", "GOOGLE", DAY, DAY.plusDays(1), this::load);
+        cache.get("other", "GOOGLE", DAY, DAY.plusDays(1), this::load);
+
+        cache.invalidateUser("user");
+        cache.get("user", "GOOGLE", DAY, DAY.plusDays(1), this::load);
+        cache.get("other", "GOOGLE", DAY, DAY.plusDays(1), this::load);
+
+        assertEquals(3, loads.size());
+    }
+
+    @Test
+    void testUserIsForgottenWithTheirLastTile() {
+        TiledEventCache small = new TiledEventCache(true, Duration.ofDays(1), 2, Duration.ofMinutes(5), clock);
+        small.get("old", "GOOGLE", DAY, DAY.plusDays(1), this::load);
+        small.get("new", "GOOGLE", DAY, DAY.plusDays(2), this::load);
+
+        assertEquals(2, small.size());
+        assertEquals(1, small.userCount());
+
+        small.invalidateUser("new");
+        assertEquals(0, small.userCount());
+    }
+
+    @Test
+    void testAllDayEventStaysInItsOwnTile() {
+        CalendarEvent holiday = new CalendarEvent();
+        holiday.setId("holiday");
+        holiday.setAllDay(true);
+        holiday.setStartDate(DAY.toLocalDate().plusDays(1));
+        holiday.setEndDate(DAY.toLocalDate().plusDays(2));
+        TiledEventCache.TileLoader loader = (start, end) -> List.of(event("monday", DAY.plusHours(9)), holiday);
+
+        cache.get("user", "GOOGLE", DAY, DAY.plusDays(2), loader);
+        List<CalendarEvent> monday = cache.get("user", "GOOGLE", DAY, DAY.plusDays(1), loader);
+        List<CalendarEvent> tuesday = cache.get("user", "GOOGLE", DAY.plusDays(1), DAY.plusDays(2), loader);
+
+        assertEquals(List.of("monday"), ids(monday));
+        assertEquals(List.of("holiday"), ids(tuesday));
+        assertTrue(tuesday.get(0).isAllDay());
+        assertNull(tuesday.get(0).getStartTime());
+        assertEquals(holiday.getStartDate(), tuesday.get(0).getStartDate());
+        assertEquals(holiday.getEndDate(), tuesday.get(0).getEndDate());
+    }
+
+    private List<String> ids(List<CalendarEvent> events) {
+        return events.stream().map(CalendarEvent::getId).collect(Collectors.toList());
+    }
+
+    private CalendarEvent event(String id, LocalDateTime start) {
+        CalendarEvent event = new CalendarEvent();
+        event.setId(id);
+        event.setStartTime(start);
+        event.setEndTime(start.plusHours(1));
+        return event;
+    }
+}
@@ -0,0 +1,167 @@
+package com.calendar.client;
+
+import com.calendar.model.CalendarEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CalendarFanOutTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2024, 3, 4, 0, 0);
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testCalendarsAreMergedByStartTime() {
+        CalendarFanOut fanOut = new CalendarFanOut(executor, 4);
+        Map<String, List<CalendarEvent>> calendars = Map.of(
+            "primary", List.of(event("p1", 9), event("p2", 14)),
+            "team", List.of(event("t1", 8), event("t2", 11)),
+            "holidays", List.of(event("allDay", null)));
+
+        List<CalendarEvent> merged = fanOut.fetchMerged("user", List.of("primary", "team", "holidays"), calendars::get)
+            .events();
+
+        assertEquals(List.of("allDay", "t1", "p1", "t2", "p2"),
+            merged.stream().map(CalendarEvent::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    void testUserNeverExceedsConcurrencyCap() {
+        CalendarFanOut fanOut = new CalendarFanOut(executor, 2);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+
+        fanOut.fetchMerged("user", List.of("a", "b", "c", "d", "e", "f"), calendarId -> {
+            peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            running.decrementAndGet();
+            return List.of();
+        });
+
+        assertTrue(peak.get() <= 2, "peak concurrency was " + peak.get());
+        assertEquals(0, fanOut.activeUsers());
+    }
+
+    @Test
+    void testFailingCalendarIsLeftOutAndReported() {
+        CalendarFanOut fanOut = new CalendarFanOut(executor, 4);
+
+        CalendarFanOut.Result result = fanOut.fetchMerged("user", List.of("primary", "gone", "team"), calendarId -> {
+            if (calendarId.equals("gone")) {
+                throw new RuntimeException("Not Found");
+            }
+            return List.of(event(calendarId, calendarId.equals("primary") ? 9 : 10));
+        });
+
+        assertEquals(List.of("primary", "team"),
+            result.events().stream().map(CalendarEvent::getId).collect(Collectors.toList()));
+        assertEquals(List.of("gone"), result.failedCalendarIds());
+        assertTrue(result.isPartial());
+        assertEquals(1L, fanOut.getMetrics().get("failedCalendars"));
+    }
+
+    @Test
+    void testFailingPrimaryCalendarFailsTheFetch() {
+        CalendarFanOut fanOut = new CalendarFanOut(executor, 4);
+
+        RuntimeException error = assertThrows(RuntimeException.class, () ->
+            fanOut.fetchMerged("user", List.of("primary", "team"), calendarId -> {
+                if (calendarId.equals("primary")) {
+                    throw new RuntimeException("Unauthorized");
+                }
+                return List.of(event("t1", 9));
+            }));
+
+        assertEquals("Unauthorized", error.getMessage());
+        assertEquals(0, fanOut.activeUsers());
+    }
+
+    @Test
+    void testStreamedCalendarsAreMergedLazilyAndFailingOnesDropped() {
+        CalendarFanOut fanOut = new CalendarFanOut(executor, 4);
+        List<String> read = new ArrayList<>();
+        List<String> dropped = new ArrayList<>();
+
+        List<String> ids;
+        try (Stream<CalendarEvent> events = fanOut.streamMerged("user", List.of("primary", "team", "gone"), executor, (calendarId, prefetch) -> {
+            if (calendarId.equals("gone")) {
+                return Stream.<CalendarEvent>generate(() -> {
+                    throw new RuntimeException("Not Found");
+                });
+            }
+            return Stream.of(9, 12, 15)
+                .map(hour -> event(calendarId + hour, calendarId.equals("primary") ? hour : hour + 1))
+                .peek(event -> read.add(event.getId()));
+        }, dropped::add)) {
+            ids = events.limit(3).map(CalendarEvent::getId).collect(Collectors.toList());
+        }
+
+        assertEquals(List.of("primary9", "team9", "primary12"), ids);
+        assertFalse(read.contains("team15"), "calendars were read past the merged events");
+        assertEquals(List.of("gone"), dropped);
+        assertEquals(1L, fanOut.getMetrics().get("failedCalendars"));
+    }
+
+    @Test
+    void testStreamedCalendarsShareTheUsersPrefetchCap() throws Exception {
+        CalendarFanOut fanOut = new CalendarFanOut(executor, 2);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger refused = new AtomicInteger();
+
+        try (Stream<CalendarEvent> events = fanOut.streamMerged("user", List.of("a", "b", "c", "d"), executor, (calendarId, prefetch) -> {
+            try {
+                prefetch.execute(() -> {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                refused.incrementAndGet();
+            }
+            return Stream.empty();
+        }, calendarId -> { })) {
+            assertEquals(2, refused.get());
+            assertEquals(1, fanOut.activeUsers());
+        } finally {
+            release.countDown();
+        }
+
+        assertEquals(0, fanOut.activeUsers());
+        assertEquals(2L, fanOut.getMetrics().get("rejectedPrefetches"));
+    }
+
+    private CalendarEvent event(String id, Integer hour) {
+        CalendarEvent event = new CalendarEvent();
+        event.setId(id);
+        if (hour != null) {
+            event.setStartTime(DAY.plusHours(hour));
+            event.setEndTime(DAY.plusHours(hour + 1));
+        }
+        return event;
+    }
+}
@@ -0,0 +1,80 @@
+package com.calendar.client;
+
+import com.microsoft.graph.requests.GraphServiceClient;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GraphClientRegistryTest {
+
+    private final GraphClientRegistry registry = new GraphClientRegistry(5, 60, 16, 8, 10);
+
+    @AfterEach
+    void tearDown() {
+        registry.shutdown();
+    }
+
+    @Test
+    void testClientIsReusedForSameToken() {
+        OAuth2AccessToken token = token("token-a");
+
+        GraphServiceClient<Request> first = registry.getClient(token);
+        GraphServiceClient<Request> second = registry.getClient(token);
+
+        assertSame(first, second);
+        assertNotSame(first, registry.getClient(token("token-b")));
+    }
+
+    @Test
+    void testMetricsReportPoolAndCacheUsage() {
+        registry.getClient(token("token-a"));
+        registry.getClient(token("token-a"));
+
+        Map<String, Object> metrics = registry.getMetrics();
+
+        assertEquals(0, metrics.get("connections"));
+        assertEquals(0, metrics.get("runningCalls"));
+        assertEquals(1, metrics.get("cachedClients"));
+        assertEquals(1L, metrics.get("clientCacheHits"));
+        assertEquals(1L, metrics.get("clientCacheMisses"));
+    }
+
+    @Test
+    void testThrottledCallIsRetried() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        // Stands in for Graph at the end of the chain: throttle once, then answer
+        OkHttpClient client = registry.httpClient(token("token-a")).newBuilder()
+            .addInterceptor(chain -> new Response.Builder()
+                .request(chain.request())
+                .protocol(Protocol.HTTP_1_1)
+                .code(calls.incrementAndGet() == 1 ? 429 : 200)
+                .message(calls.get() == 1 ? "Too Many Requests" : "OK")
+                .header("Retry-After", "0")
+                .body(ResponseBody.create("{}", MediaType.get("application/json")))
+                .build())
+            .build();
+
+        try (Response response = client.newCall(new Request.Builder()
+                .url("https://graph.microsoft.com/v1.0/me").build()).execute()) {
+            assertEquals(200, response.code());
+        }
+        assertEquals(2, calls.get());
+    }
+
+    private OAuth2AccessToken token(String value) {
+        Instant now = Instant.now();
+        return new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER, value, now, now.plusSeconds(3600));
+    }
+}
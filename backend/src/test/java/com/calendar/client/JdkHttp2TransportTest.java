@@ -0,0 +1,61 @@
+package com.calendar.client;
+
+import com.google.api.client.http.ByteArrayContent;
+import com.google.api.client.http.GenericUrl;
+import com.google.api.client.http.HttpRequest;
+import com.google.api.client.http.HttpResponse;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JdkHttp2TransportTest {
+
+    private HttpServer server;
+    private final AtomicReference<String> receivedBody = new AtomicReference<>();
+    private final AtomicReference<String> receivedContentType = new AtomicReference<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/echo", exchange -> {
+            receivedBody.set(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            receivedContentType.set(exchange.getRequestHeaders().getFirst("Content-Type"));
+            byte[] response = "{\"ok\":true}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(201, response.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void execute_SendsBodyAndReadsResponse() throws Exception {
+        JdkHttp2Transport transport = new JdkHttp2Transport(Duration.ofSeconds(5));
+        GenericUrl url = new GenericUrl("http://localhost:" + server.getAddress().getPort() + "/echo");
+
+        HttpRequest request = transport.createRequestFactory()
+            .buildPostRequest(url, ByteArrayContent.fromString("application/json", "{\"title\":\"Standup\"}"));
+        HttpResponse response = request.execute();
+
+        assertEquals(201, response.getStatusCode());
+        assertEquals("{\"ok\":true}", response.parseAsString());
+        assertEquals("{\"title\":\"Standup\"}", receivedBody.get());
+        assertEquals("application/json", receivedContentType.get());
+    }
+}
@@ -0,0 +1,90 @@
+package com.calendar.client;
+
+import com.calendar.client.PrefetchingPageIterator.Page;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrefetchingPageIteratorTest {
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    private final Map<String, Page<Integer>> pages = Map.of(
+        "first", new Page<>(List.of(1, 2), "second"),
+        "second", new Page<>(List.of(3, 4), "third"),
+        "third", new Page<>(List.of(5), null)
+    );
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testStreamsAllPagesInOrder() {
+        AtomicInteger fetches = new AtomicInteger();
+
+        try (Stream<Integer> items = PrefetchingPageIterator.stream(token -> {
+            fetches.incrementAndGet();
+            return pages.get(token == null ? "first" : token);
+        }, executor)) {
+            assertEquals(List.of(1, 2, 3, 4, 5), items.collect(Collectors.toList()));
+        }
+        assertEquals(3, fetches.get());
+    }
+
+    @Test
+    void testFetchesInlineWithoutExecutor() {
+        try (Stream<Integer> items = PrefetchingPageIterator.stream(
+                token -> pages.get(token == null ? "first" : token), null)) {
+            assertEquals(5, items.count());
+        }
+    }
+
+    @Test
+    void testFetchFailureIsRethrown() {
+        RuntimeException failure = new RuntimeException("Failed to fetch events");
+
+        try (Stream<Integer> items = PrefetchingPageIterator.stream(token -> {
+            if (token != null) {
+                throw failure;
+            }
+            return pages.get("first");
+        }, executor)) {
+            RuntimeException thrown = assertThrows(RuntimeException.class, () -> items.collect(Collectors.toList()));
+            assertSame(failure, thrown);
+        }
+    }
+
+    @Test
+    void testClosingInterruptsThePendingFetch() throws Exception {
+        CountDownLatch fetching = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        Stream<Integer> items = PrefetchingPageIterator.stream(token -> {
+            fetching.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+            return pages.get("first");
+        }, executor);
+        assertTrue(fetching.await(5, TimeUnit.SECONDS));
+        items.close();
+
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,67 @@
+package com.calendar.client;
+
+import com.calendar.support.MutableClock;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenScopedClientCacheTest {
+
+    private final Instant now = Instant.parse("2024-01-01T10:00:00Z");
+
+    @Test
+    void get_ReusesClientForSameToken() {
+        TokenScopedClientCache<Object> cache = new TokenScopedClientCache<>(10, Clock.fixed(now, ZoneOffset.UTC));
+        OAuth2AccessToken token = token("token-a", now.plusSeconds(3600));
+        AtomicInteger builds = new AtomicInteger();
+
+        Object first = cache.get(token, t -> new Object[]{builds.incrementAndGet()});
+        Object second = cache.get(token, t -> new Object[]{builds.incrementAndGet()});
+
+        assertSame(first, second);
+        assertEquals(1, builds.get());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    void get_RebuildsClientOnceTokenExpired() {
+        MutableClock clock = new MutableClock(now);
+        TokenScopedClientCache<Object> cache = new TokenScopedClientCache<>(10, clock);
+        OAuth2AccessToken token = token("token-a", now.plusSeconds(60));
+
+        Object first = cache.get(token, t -> new Object());
+        clock.advance(Duration.ofSeconds(120));
+        Object second = cache.get(token, t -> new Object());
+
+        assertNotSame(first, second);
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    void get_EvictsEarliestExpiringWhenFull() {
+        TokenScopedClientCache<Object> cache = new TokenScopedClientCache<>(2, Clock.fixed(now, ZoneOffset.UTC));
+        OAuth2AccessToken soon = token("soon", now.plusSeconds(60));
+        OAuth2AccessToken later = token("later", now.plusSeconds(3600));
+        OAuth2AccessToken newest = token("newest", now.plusSeconds(1800));
+
+        cache.get(soon, t -> new Object());
+        Object laterClient = cache.get(later, t -> new Object());
+        cache.get(newest, t -> new Object());
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictions());
+        assertSame(laterClient, cache.get(later, t -> new Object()));
+    }
+
+    private OAuth2AccessToken token(String value, Instant expiresAt) {
+        return new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER, value, now.minusSeconds(10), expiresAt);
+    }
+}
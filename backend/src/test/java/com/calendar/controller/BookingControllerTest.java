@@ -0,0 +1,103 @@
+package com.calendar.controller;
+
+import com.calendar.booking.BookingService;
+import com.calendar.booking.Hold;
+import com.calendar.store.AuthorizedClientStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClientService;
+import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
+import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(BookingController.class)
+@AutoConfigureMockMvc(addFilters = false)
+@ExtendWith(SpringExtension.class)
+class BookingControllerTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 3, 4, 10, 0);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private BookingService bookingService;
+
+    @MockBean
+    private OAuth2AuthorizedClientService authorizedClientService;
+
+    @MockBean
+    private AuthorizedClientStore clientStore;
+
+    @MockBean
+    private ClientRegistrationRepository clientRegistrationRepository;
+
+    private OAuth2AuthorizedClient mockClient;
+
+    @BeforeEach
+    void setUp() {
+        mockClient = mock(OAuth2AuthorizedClient.class);
+        OAuth2AuthenticationToken mockAuthToken = mock(OAuth2AuthenticationToken.class);
+        when(mockAuthToken.getName()).thenReturn("test-user");
+        when(mockAuthToken.getAuthorizedClientRegistrationId()).thenReturn("google");
+        when(authorizedClientService.loadAuthorizedClient(anyString(), anyString())).thenReturn(mockClient);
+
+        SecurityContext securityContext = mock(SecurityContext.class);
+        when(securityContext.getAuthentication()).thenReturn(mockAuthToken);
+        SecurityContextHolder.setContext(securityContext);
+    }
+
+    @Test
+    void testHoldInOwnCalendar() throws Exception {
+        when(bookingService.placeHold("test-user", START, START.plusHours(1)))
+            .thenReturn(new Hold("hold-1", "test-user", START, START.plusHours(1), Instant.now().plusSeconds(300)));
+
+        mockMvc.perform(post("/api/bookings/holds")
+                .param("start", START.toString())
+                .param("end", START.plusHours(1).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.ownerId").value("test-user"));
+
+        verify(clientStore).putIfNewer("test-user", mockClient);
+    }
+
+    @Test
+    void testHoldInAnotherUsersCalendarIsRefused() throws Exception {
+        mockMvc.perform(post("/api/bookings/holds")
+                .param("start", START.toString())
+                .param("end", START.plusHours(1).toString())
+                .param("ownerId", "someone-else"))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.result").value("ERROR"));
+
+        verify(bookingService, never()).placeHold(any(), any(), any());
+    }
+
+    @Test
+    void testReleasingAnotherUsersHoldIsRefused() throws Exception {
+        when(bookingService.getHold("hold-1"))
+            .thenReturn(new Hold("hold-1", "someone-else", START, START.plusHours(1), Instant.now().plusSeconds(300)));
+
+        mockMvc.perform(delete("/api/bookings/holds/hold-1"))
+                .andExpect(status().isForbidden());
+
+        verify(bookingService, never()).release(any());
+    }
+}
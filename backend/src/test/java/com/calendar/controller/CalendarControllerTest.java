@@ -1,10 +1,16 @@
 package com.calendar.controller;
 
+import com.calendar.dto.BatchOperationDto;
 import com.calendar.dto.CalendarEventDto;
+import com.calendar.enums.BatchOperationType;
 import com.calendar.enums.CalendarSource;
+import com.calendar.enums.FetchStatus;
 import com.calendar.enums.Status;
+import com.calendar.model.AggregatedEvents;
+import com.calendar.model.BatchResult;
 import com.calendar.model.CalendarEvent;
 import com.calendar.service.CalendarService;
+import com.calendar.store.AuthorizedClientStore;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -26,13 +32,18 @@ import org.springframework.security.oauth2.core.OAuth2AccessToken;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -52,6 +63,9 @@ class CalendarControllerTest {
     @MockBean
     private OAuth2AuthorizedClientService authorizedClientService;
 
+    @MockBean
+    private AuthorizedClientStore clientStore;
+
     @MockBean
     private ClientRegistrationRepository clientRegistrationRepository;
 
@@ -125,14 +139,58 @@ class CalendarControllerTest {
 
     @Test
     void testFetchAllEvents() throws Exception {
-        when(calendarService.fetchAllEvents(anyString(), any(), any()))
-                .thenReturn(List.of(sampleEvent));
+        when(calendarService.fetchAllEventsWithStatus(anyString(), any(), any()))
+                .thenReturn(new AggregatedEvents(List.of(sampleEvent), Map.of("GOOGLE", FetchStatus.SUCCESS)));
+
+        mockMvc.perform(get("/api/calendar/events")
+                .param("start", "2024-01-01T00:00:00")
+                .param("end", "2024-01-02T00:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.result").value("SUCCESS"))
+                .andExpect(jsonPath("$.message").value("Fetched events successfully"))
+                .andExpect(jsonPath("$.data[0].title").value("Test Event"));
+    }
+
+    @Test
+    void testStreamAllEvents() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<CalendarEvent> sink = invocation.getArgument(3);
+            sink.accept(sampleEvent);
+            sink.accept(sampleEvent);
+            return Map.of("GOOGLE", FetchStatus.SUCCESS);
+        }).when(calendarService).streamAllEvents(anyString(), any(), any(), any());
+
+        MvcResult result = mockMvc.perform(get("/api/calendar/events/stream")
+                .param("start", "2024-01-01T00:00:00")
+                .param("end", "2024-01-02T00:00:00"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("Test Event", objectMapper.readTree(lines[0]).get("title").asText());
+    }
+
+    @Test
+    void testFetchAllEvents_PartialResults() throws Exception {
+        Map<String, FetchStatus> statuses = new LinkedHashMap<>();
+        statuses.put("GOOGLE", FetchStatus.SUCCESS);
+        statuses.put("OUTLOOK", FetchStatus.TIMED_OUT);
+        when(calendarService.fetchAllEventsWithStatus(anyString(), any(), any()))
+                .thenReturn(new AggregatedEvents(List.of(sampleEvent), statuses));
 
         mockMvc.perform(get("/api/calendar/events")
                 .param("start", "2024-01-01T00:00:00")
                 .param("end", "2024-01-02T00:00:00"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.result").value("SUCCESS"))
+                .andExpect(jsonPath("$.message").value("Fetched events with partial results: {GOOGLE=SUCCESS, OUTLOOK=TIMED_OUT}"))
+                .andExpect(jsonPath("$.providerStatuses.GOOGLE").value("SUCCESS"))
+                .andExpect(jsonPath("$.providerStatuses.OUTLOOK").value("TIMED_OUT"))
                 .andExpect(jsonPath("$.data[0].title").value("Test Event"));
     }
 
@@ -162,6 +220,37 @@ class CalendarControllerTest {
                 .andExpect(jsonPath("$.data[0].title").value("Test Event"));
     }
 
+    @Test
+    void testExecuteBatch() throws Exception {
+        when(calendarService.executeBatch(anyString(), anyList()))
+                .thenReturn(List.of(BatchResult.succeeded(0, "GOOGLE", sampleEvent),
+                        BatchResult.failed(1, "GOOGLE", "Not Found")));
+        List<BatchOperationDto> operations = List.of(
+                new BatchOperationDto(BatchOperationType.CREATE, sampleDto, null, null),
+                new BatchOperationDto(BatchOperationType.DELETE, null, "missing", CalendarSource.GOOGLE));
+
+        mockMvc.perform(post("/api/calendar/events:batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(operations)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Batch executed with 1 failed operation(s)"))
+                .andExpect(jsonPath("$.data[0].result").value("SUCCESS"))
+                .andExpect(jsonPath("$.data[0].event.title").value("Test Event"))
+                .andExpect(jsonPath("$.data[1].error").value("Not Found"));
+    }
+
+    @Test
+    void testExecuteBatch_RejectsInvalidOperation() throws Exception {
+        List<BatchOperationDto> operations = List.of(
+                new BatchOperationDto(BatchOperationType.DELETE, null, null, null));
+
+        mockMvc.perform(post("/api/calendar/events:batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(operations)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.result").value("ERROR"));
+    }
+
     @Test
     void testDeleteEvent() throws Exception {
         mockMvc.perform(delete("/api/calendar/events/1"))
@@ -0,0 +1,61 @@
+package com.calendar.converter;
+
+import com.calendar.enums.Status;
+import com.calendar.model.CalendarEvent;
+import com.google.api.client.util.DateTime;
+import com.google.api.services.calendar.model.Event;
+import com.google.api.services.calendar.model.EventDateTime;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GoogleEventToCalendarEventConverterTest {
+
+    private final GoogleEventToCalendarEventConverter converter = new GoogleEventToCalendarEventConverter();
+
+    @Test
+    void convertAll_MatchesSingleEventConversion() {
+        LocalDateTime start = LocalDateTime.of(2024, 3, 31, 1, 30, 15, 250_000_000);
+        List<Event> page = Arrays.asList(
+            googleEvent("a", start, "confirmed"),
+            googleEvent("b", start.plusMonths(6), "TENTATIVE"),
+            googleEvent("c", LocalDateTime.of(1969, 12, 31, 23, 59, 59), "cancelled"));
+
+        List<CalendarEvent> converted = converter.convertAll(page);
+
+        assertEquals(3, converted.size());
+        assertEquals(start, converted.get(0).getStartTime());
+        assertEquals(start.plusMinutes(30), converted.get(0).getEndTime());
+        assertEquals(LocalDateTime.of(1969, 12, 31, 23, 59, 59), converted.get(2).getStartTime());
+        for (int i = 0; i < page.size(); i++) {
+            CalendarEvent single = converter.convert(page.get(i));
+            assertEquals(single.getId(), converted.get(i).getId());
+            assertEquals(single.getStartTime(), converted.get(i).getStartTime());
+            assertEquals(single.getStatus(), converted.get(i).getStatus());
+        }
+    }
+
+    @Test
+    void convert_MapsStatusesCaseInsensitively() {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+        assertEquals(Status.CONFIRMED, converter.convert(googleEvent("a", start, "confirmed")).getStatus());
+        assertEquals(Status.CANCELLED, converter.convert(googleEvent("b", start, "CANCELLED")).getStatus());
+        assertNull(converter.convert(googleEvent("c", start, "unknown")).getStatus());
+        assertNull(converter.convert(googleEvent("d", start, null)).getStatus());
+    }
+
+    private Event googleEvent(String id, LocalDateTime start, String status) {
+        long startMillis = start.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return new Event()
+            .setId(id)
+            .setStatus(status)
+            .setStart(new EventDateTime().setDateTime(new DateTime(startMillis)))
+            .setEnd(new EventDateTime().setDateTime(new DateTime(startMillis + 1800_000L)));
+    }
+}
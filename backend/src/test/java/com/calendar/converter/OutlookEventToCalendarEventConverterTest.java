@@ -0,0 +1,59 @@
+package com.calendar.converter;
+
+import com.calendar.model.CalendarEvent;
+import com.microsoft.graph.models.DateTimeTimeZone;
+import com.microsoft.graph.models.Event;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OutlookEventToCalendarEventConverterTest {
+
+    private final OutlookEventToCalendarEventConverter converter =
+        new OutlookEventToCalendarEventConverter(ZoneId.of("America/New_York"));
+
+    @Test
+    void convert_MovesUtcTimesIntoTheConverterZone() {
+        CalendarEvent winter = converter.convert(outlookEvent("2024-01-15T14:00:00.0000000", "2024-01-15T15:00:00.0000000", "UTC", false));
+        CalendarEvent summer = converter.convert(outlookEvent("2024-07-15T14:00:00.0000000", "2024-07-15T15:00:00.0000000", null, false));
+
+        assertEquals(LocalDateTime.of(2024, 1, 15, 9, 0), winter.getStartTime());
+        assertEquals(LocalDateTime.of(2024, 1, 15, 10, 0), winter.getEndTime());
+        assertEquals(LocalDateTime.of(2024, 7, 15, 10, 0), summer.getStartTime());
+        assertFalse(summer.isAllDay());
+    }
+
+    @Test
+    void convert_ReadsTimesInTheZoneGraphNames() {
+        CalendarEvent event = converter.convert(outlookEvent("2024-01-15T15:00:00", "2024-01-15T16:00:00", "Europe/Berlin", false));
+
+        assertEquals(LocalDateTime.of(2024, 1, 15, 9, 0), event.getStartTime());
+    }
+
+    @Test
+    void convert_KeepsAllDayEventsOnTheirDates() {
+        CalendarEvent event = converter.convert(outlookEvent("2024-03-04T00:00:00.0000000", "2024-03-05T00:00:00.0000000", "UTC", true));
+
+        assertTrue(event.isAllDay());
+        assertNull(event.getStartTime());
+        assertEquals(LocalDate.of(2024, 3, 4), event.getStartDate());
+        assertEquals(LocalDate.of(2024, 3, 5), event.getEndDate());
+    }
+
+    private Event outlookEvent(String start, String end, String timeZone, boolean allDay) {
+        Event event = new Event();
+        event.id = "event-1";
+        event.isAllDay = allDay;
+        event.start = new DateTimeTimeZone();
+        event.start.dateTime = start;
+        event.start.timeZone = timeZone;
+        event.end = new DateTimeTimeZone();
+        event.end.dateTime = end;
+        event.end.timeZone = timeZone;
+        return event;
+    }
+}
@@ -0,0 +1,91 @@
+package com.calendar.model;
+
+import com.calendar.enums.CalendarSource;
+import com.calendar.enums.Status;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactEventTest {
+
+    private static final LocalDateTime NINE = LocalDateTime.of(2024, 3, 4, 9, 0);
+
+    private final StringInterner interner = new StringInterner(100);
+
+    @Test
+    void testRoundTripKeepsEveryField() {
+        CalendarEvent event = event("evt-1", "Design Review", NINE, NINE.plusMinutes(45));
+        event.setDescription("Walk through the new sync design");
+        event.setLocation("Room 4.01");
+        event.setICalUid("uid-1@example.com");
+        event.setOrganizer("lead@example.com");
+        event.setStatus(Status.TENTATIVE);
+        event.setCalendarSource(CalendarSource.OUTLOOK);
+
+        CompactEvent compact = CompactEvent.of(event, interner);
+        CalendarEvent restored = compact.toCalendarEvent();
+
+        assertEquals(NINE.toEpochSecond(ZoneOffset.UTC), compact.getStartSecond());
+        assertEquals("evt-1", restored.getId());
+        assertEquals("Design Review", restored.getTitle());
+        assertEquals("Walk through the new sync design", restored.getDescription());
+        assertEquals("Room 4.01", restored.getLocation());
+        assertEquals("uid-1@example.com", restored.getICalUid());
+        assertEquals("lead@example.com", restored.getOrganizer());
+        assertEquals(NINE, restored.getStartTime());
+        assertEquals(NINE.plusMinutes(45), restored.getEndTime());
+        assertFalse(restored.isAllDay());
+        assertEquals(Status.TENTATIVE, restored.getStatus());
+        assertEquals(CalendarSource.OUTLOOK, restored.getCalendarSource());
+    }
+
+    @Test
+    void testRepeatedStringsAreShared() {
+        CompactEvent first = CompactEvent.of(event("a", new String("Standup"), NINE, NINE.plusMinutes(15)), interner);
+        CompactEvent second = CompactEvent.of(event("b", new String("Standup"), NINE.plusDays(1),
+            NINE.plusDays(1).plusMinutes(15)), interner);
+
+        assertSame(first.toCalendarEvent().getTitle(), second.toCalendarEvent().getTitle());
+        assertEquals(1, interner.size());
+    }
+
+    @Test
+    void testAllDayEventKeepsItsIntervalButNoTimes() {
+        CalendarEvent holiday = event("h", "Holiday", null, null);
+        holiday.setAllDay(true);
+
+        CompactEvent compact = CompactEvent.of(holiday, NINE.toLocalDate().atStartOfDay(),
+            NINE.toLocalDate().plusDays(1).atStartOfDay(), interner);
+        CalendarEvent restored = compact.toCalendarEvent();
+
+        assertTrue(compact.hasInterval());
+        assertNull(restored.getStartTime());
+        assertNull(restored.getEndTime());
+        assertTrue(restored.isAllDay());
+        assertNull(restored.getStatus());
+        assertNull(restored.getCalendarSource());
+        assertFalse(CompactEvent.of(holiday, interner).hasInterval());
+    }
+
+    @Test
+    void testFullInternerStopsSharing() {
+        StringInterner small = new StringInterner(1);
+        small.intern("Standup");
+        String other = new String("Lunch");
+
+        assertSame(other, small.intern(other));
+        assertEquals(1, small.size());
+    }
+
+    private CalendarEvent event(String id, String title, LocalDateTime start, LocalDateTime end) {
+        CalendarEvent event = new CalendarEvent();
+        event.setId(id);
+        event.setTitle(title);
+        event.setStartTime(start);
+        event.setEndTime(end);
+        return event;
+    }
+}
@@ -0,0 +1,75 @@
+package com.calendar.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SortedEventMergeTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2024, 3, 4, 0, 0);
+
+    @Test
+    void testSortedListsAreInterleavedByStart() {
+        CalendarEvent a9 = event("a9", 9);
+        CalendarEvent a12 = event("a12", 12);
+        CalendarEvent b10 = event("b10", 10);
+        CalendarEvent b11 = event("b11", 11);
+        CalendarEvent c8 = event("c8", 8);
+
+        List<CalendarEvent> merged = SortedEventMerge.merge(List.of(List.of(a9, a12), List.of(b10, b11), List.of(c8)));
+
+        assertEquals(List.of(c8, a9, b10, b11, a12), merged);
+    }
+
+    @Test
+    void testTiesKeepListOrderAndEventsWithoutStartComeFirst() {
+        CalendarEvent allDay = event("allDay", -1);
+        CalendarEvent first = event("first", 9);
+        CalendarEvent second = event("second", 9);
+
+        List<CalendarEvent> merged = SortedEventMerge.merge(List.of(List.of(first), List.of(allDay, second)));
+
+        assertEquals(List.of(allDay, first, second), merged);
+    }
+
+    @Test
+    void testUnsortedListIsSortedBeforeMerging() {
+        CalendarEvent a9 = event("a9", 9);
+        CalendarEvent a14 = event("a14", 14);
+        CalendarEvent b11 = event("b11", 11);
+        List<CalendarEvent> unsorted = new ArrayList<>(List.of(a14, a9));
+
+        List<CalendarEvent> merged = SortedEventMerge.merge(List.of(unsorted, List.of(b11)));
+
+        assertEquals(List.of(a9, b11, a14), merged);
+        assertEquals(List.of(a14, a9), unsorted);
+    }
+
+    @Test
+    void testEmptyAndMissingListsAreSkipped() {
+        CalendarEvent a9 = event("a9", 9);
+        List<List<CalendarEvent>> lists = new ArrayList<>();
+        lists.add(null);
+        lists.add(List.of());
+        lists.add(List.of(a9));
+
+        assertEquals(List.of(a9), SortedEventMerge.merge(lists));
+        assertTrue(SortedEventMerge.merge(List.of()).isEmpty());
+    }
+
+    private CalendarEvent event(String id, int hour) {
+        CalendarEvent event = new CalendarEvent();
+        event.setId(id);
+        if (hour >= 0) {
+            event.setStartTime(DAY.plusHours(hour));
+            event.setEndTime(DAY.plusHours(hour + 1));
+        } else {
+            event.setAllDay(true);
+        }
+        return event;
+    }
+}
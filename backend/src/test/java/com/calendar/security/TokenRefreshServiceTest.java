@@ -0,0 +1,187 @@
+package com.calendar.security;
+
+import com.calendar.service.CalendarService;
+import com.calendar.support.MutableClock;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.security.oauth2.client.ClientAuthorizationException;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClientManager;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.OAuth2ErrorCodes;
+import org.springframework.security.oauth2.core.OAuth2RefreshToken;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class TokenRefreshServiceTest {
+
+    private static final Instant NOW = Instant.parse("2024-03-04T09:00:00Z");
+
+    private static final ClientRegistration REGISTRATION = ClientRegistration.withRegistrationId("google")
+        .clientId("client-id")
+        .authorizationGrantType(AuthorizationGrantType.AUTHORIZATION_CODE)
+        .redirectUri("{baseUrl}/login/oauth2/code/{registrationId}")
+        .authorizationUri("https://accounts.example.com/auth")
+        .tokenUri("https://accounts.example.com/token")
+        .build();
+
+    @Mock
+    private CalendarService calendarService;
+
+    @Mock
+    private OAuth2AuthorizedClientManager refreshManager;
+
+    private final MutableClock clock = new MutableClock(NOW);
+    private TokenRefreshService tokenRefreshService;
+
+    @BeforeEach
+    void setUp() {
+        tokenRefreshService = new TokenRefreshService(calendarService, refreshManager,
+            Duration.ofMinutes(5), Duration.ofMinutes(1), Duration.ofSeconds(30), Executors.newFixedThreadPool(2),
+            clock, 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tokenRefreshService.shutdown();
+    }
+
+    @Test
+    void testOnlyTokensInsideTheRefreshWindowAreDue() {
+        OAuth2AuthorizedClient fresh = client("fresh", NOW.plus(Duration.ofHours(1)));
+        OAuth2AuthorizedClient expiring = client("expiring", NOW.plus(Duration.ofMinutes(4)));
+
+        assertFalse(tokenRefreshService.isDue("user", fresh, NOW.toEpochMilli()));
+        assertTrue(tokenRefreshService.isDue("user", expiring, NOW.toEpochMilli()));
+        long jitter = tokenRefreshService.jitterFor("user", expiring.getAccessToken().getExpiresAt());
+        assertTrue(jitter >= 0 && jitter < Duration.ofMinutes(1).toMillis());
+    }
+
+    @Test
+    void testDueTokenIsRefreshedAndStored() throws Exception {
+        OAuth2AuthorizedClient expiring = client("old", NOW.plus(Duration.ofMinutes(2)));
+        OAuth2AuthorizedClient renewed = client("new", NOW.plus(Duration.ofHours(1)));
+        when(calendarService.getKnownUserIds()).thenReturn(Set.of("user"));
+        when(calendarService.getAuthorizedClient("user")).thenReturn(expiring, expiring, renewed);
+        when(calendarService.replaceAuthorizedClient("user", expiring, renewed)).thenReturn(true);
+        when(refreshManager.authorize(any())).thenReturn(renewed);
+
+        tokenRefreshService.refreshDueTokens();
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!Long.valueOf(1).equals(tokenRefreshService.getMetrics().get("refreshed")) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        verify(calendarService).replaceAuthorizedClient("user", expiring, renewed);
+        assertEquals(1L, tokenRefreshService.getMetrics().get("refreshed"));
+    }
+
+    @Test
+    void testConcurrentRefreshesForOneUserShareOneCall() throws Exception {
+        OAuth2AuthorizedClient expiring = client("old", NOW.plus(Duration.ofMinutes(2)));
+        OAuth2AuthorizedClient renewed = client("new", NOW.plus(Duration.ofHours(1)));
+        CountDownLatch release = new CountDownLatch(1);
+        when(calendarService.getAuthorizedClient("user")).thenReturn(expiring);
+        when(calendarService.replaceAuthorizedClient(any(), any(), any())).thenReturn(true);
+        when(refreshManager.authorize(any())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return renewed;
+        });
+
+        CompletableFuture<OAuth2AuthorizedClient> first = tokenRefreshService.refresh("user");
+        CompletableFuture<OAuth2AuthorizedClient> second = tokenRefreshService.refresh("user");
+        release.countDown();
+
+        assertSame(first, second);
+        first.get(5, TimeUnit.SECONDS);
+        verify(refreshManager, times(1)).authorize(any());
+        assertEquals(1L, tokenRefreshService.getMetrics().get("deduplicated"));
+    }
+
+    @Test
+    void testFailedRefreshKeepsCurrentClient() throws Exception {
+        OAuth2AuthorizedClient expiring = client("old", NOW.plus(Duration.ofMinutes(2)));
+        when(calendarService.getAuthorizedClient("user")).thenReturn(expiring);
+        when(refreshManager.authorize(any())).thenThrow(new IllegalStateException("invalid_grant"));
+
+        OAuth2AuthorizedClient result = tokenRefreshService.refresh("user").get(5, TimeUnit.SECONDS);
+
+        assertSame(expiring, result);
+        verify(calendarService, never()).replaceAuthorizedClient(any(), any(), any());
+        assertEquals(1L, tokenRefreshService.getMetrics().get("failed"));
+    }
+
+    @Test
+    void testFailedRefreshIsRetriedOnlyAfterBackoff() throws Exception {
+        OAuth2AuthorizedClient expiring = client("old", NOW.plus(Duration.ofMinutes(2)));
+        when(calendarService.getKnownUserIds()).thenReturn(Set.of("user"));
+        when(calendarService.getAuthorizedClient("user")).thenReturn(expiring);
+        when(refreshManager.authorize(any())).thenThrow(new IllegalStateException("connection reset"));
+
+        tokenRefreshService.refreshDueTokens();
+        awaitMetric("backingOff", 1);
+        awaitMetric("inFlight", 0);
+        tokenRefreshService.refreshDueTokens();
+        clock.advance(Duration.ofSeconds(29));
+        tokenRefreshService.refreshDueTokens();
+        verify(refreshManager, times(1)).authorize(any());
+
+        clock.advance(Duration.ofSeconds(1));
+        tokenRefreshService.refreshDueTokens();
+        awaitMetric("failed", 2);
+        verify(refreshManager, times(2)).authorize(any());
+    }
+
+    @Test
+    void testInvalidGrantDropsClient() throws Exception {
+        OAuth2AuthorizedClient expiring = client("old", NOW.plus(Duration.ofMinutes(2)));
+        when(calendarService.getAuthorizedClient("user")).thenReturn(expiring, (OAuth2AuthorizedClient) null);
+        when(calendarService.removeAuthorizedClient("user", expiring)).thenReturn(true);
+        when(refreshManager.authorize(any())).thenThrow(
+            new ClientAuthorizationException(new OAuth2Error(OAuth2ErrorCodes.INVALID_GRANT), "google"));
+
+        OAuth2AuthorizedClient result = tokenRefreshService.refresh("user").get(5, TimeUnit.SECONDS);
+
+        assertNull(result);
+        verify(calendarService).removeAuthorizedClient("user", expiring);
+        assertEquals(1L, tokenRefreshService.getMetrics().get("revoked"));
+        assertEquals(0, tokenRefreshService.getMetrics().get("backingOff"));
+    }
+
+    private void awaitMetric(String name, long expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (((Number) tokenRefreshService.getMetrics().get(name)).longValue() != expected
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(expected, ((Number) tokenRefreshService.getMetrics().get(name)).longValue());
+    }
+
+    private OAuth2AuthorizedClient client(String tokenValue, Instant expiresAt) {
+        OAuth2AccessToken accessToken = new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER, tokenValue,
+            expiresAt.minus(Duration.ofHours(1)), expiresAt);
+        return new OAuth2AuthorizedClient(REGISTRATION, "user", accessToken,
+            new OAuth2RefreshToken("refresh-" + tokenValue, expiresAt.minus(Duration.ofHours(1))));
+    }
+}
@@ -1,7 +1,15 @@
 package com.calendar.service;
 
+import com.calendar.config.ExecutorConfig;
+import com.calendar.enums.BatchOperationType;
+import com.calendar.model.AggregatedBusyTime;
+import com.calendar.model.AggregatedEvents;
+import com.calendar.model.BatchOperation;
+import com.calendar.model.BatchResult;
+import com.calendar.model.BusyIntervals;
 import com.calendar.model.CalendarEvent;
 import com.calendar.enums.CalendarSource;
+import com.calendar.enums.FetchStatus;
 import com.calendar.enums.Status;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -9,10 +17,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
-import org.springframework.security.oauth2.client.OAuth2AuthorizedClientManager;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -26,9 +36,6 @@ class CalendarServiceTest {
     @Mock
     private CalendarProvider outlookProvider;
 
-    @Mock
-    private OAuth2AuthorizedClientManager clientManager;
-
     @Mock
     private OAuth2AuthorizedClient authorizedClient;
 
@@ -37,7 +44,7 @@ class CalendarServiceTest {
     @BeforeEach
     void setUp() {
         List<CalendarProvider> providers = List.of(googleProvider, outlookProvider);
-        calendarService = new CalendarService(providers, clientManager);
+        calendarService = new CalendarService(providers);
     }
 
     @Test
@@ -96,6 +103,30 @@ class CalendarServiceTest {
         verify(outlookProvider).fetchEvents(authorizedClient, start, end);
     }
 
+    @Test
+    void testFetchAllEvents_CollapsesMeetingInBothCalendars() {
+        String userId = "test-user-123";
+        LocalDateTime start = LocalDateTime.of(2024, 3, 4, 0, 0);
+        LocalDateTime end = start.plusDays(1);
+        
+        CalendarEvent googleCopy = createTestEvent("google-event-1", "Design Review", CalendarSource.GOOGLE);
+        CalendarEvent outlookCopy = createTestEvent("outlook-event-1", "Design Review", CalendarSource.OUTLOOK);
+        googleCopy.setICalUid("uid-1@example.com");
+        outlookCopy.setICalUid("uid-1@example.com");
+        outlookCopy.setStartTime(googleCopy.getStartTime());
+        outlookCopy.setEndTime(googleCopy.getEndTime());
+        
+        calendarService.storeAuthorizedClient(userId, authorizedClient);
+        when(googleProvider.isConfigured()).thenReturn(true);
+        when(outlookProvider.isConfigured()).thenReturn(true);
+        when(googleProvider.fetchEvents(authorizedClient, start, end)).thenReturn(List.of(googleCopy));
+        when(outlookProvider.fetchEvents(authorizedClient, start, end)).thenReturn(List.of(outlookCopy));
+        
+        List<CalendarEvent> result = calendarService.fetchAllEvents(userId, start, end);
+        
+        assertEquals(List.of(googleCopy), result);
+    }
+
     @Test
     void testFetchAllEvents_NoAuthorizedClient() {
         // Given
@@ -165,6 +196,180 @@ class CalendarServiceTest {
         verify(outlookProvider).fetchEvents(authorizedClient, start, end);
     }
 
+    @Test
+    void testFetchAllEventsWithStatus_SlowProviderTimesOut() {
+        // Given
+        String userId = "test-user-123";
+        LocalDateTime start = LocalDateTime.now();
+        LocalDateTime end = start.plusDays(1);
+        
+        CalendarEvent outlookEvent = createTestEvent("outlook-event-1", "Outlook Meeting", CalendarSource.OUTLOOK);
+        CalendarService deadlineService = new CalendarService(List.of(googleProvider, outlookProvider),
+            ExecutorConfig.boundedExecutor("test-provider-", 2, 4), true, 200);
+        deadlineService.storeAuthorizedClient(userId, authorizedClient);
+        
+        when(googleProvider.isConfigured()).thenReturn(true);
+        when(outlookProvider.isConfigured()).thenReturn(true);
+        when(googleProvider.getProviderName()).thenReturn("GOOGLE");
+        when(outlookProvider.getProviderName()).thenReturn("OUTLOOK");
+        when(googleProvider.fetchEvents(authorizedClient, start, end)).thenAnswer(invocation -> {
+            Thread.sleep(5_000);
+            return List.of();
+        });
+        when(outlookProvider.fetchEvents(authorizedClient, start, end)).thenReturn(List.of(outlookEvent));
+        
+        // When
+        long began = System.currentTimeMillis();
+        AggregatedEvents result = deadlineService.fetchAllEventsWithStatus(userId, start, end);
+        
+        // Then
+        assertTrue(System.currentTimeMillis() - began < 2_000);
+        assertTrue(result.isPartial());
+        assertEquals(1, result.getEvents().size());
+        assertEquals(FetchStatus.TIMED_OUT, result.getProviderStatuses().get("GOOGLE"));
+        assertEquals(FetchStatus.SUCCESS, result.getProviderStatuses().get("OUTLOOK"));
+    }
+
+    @Test
+    void testStreamAllEvents_DeliversEventsAndStatuses() {
+        // Given
+        String userId = "test-user-123";
+        LocalDateTime start = LocalDateTime.now();
+        LocalDateTime end = start.plusDays(1);
+        
+        CalendarEvent googleEvent = createTestEvent("google-event-1", "Google Meeting", CalendarSource.GOOGLE);
+        calendarService.storeAuthorizedClient(userId, authorizedClient);
+        
+        when(googleProvider.isConfigured()).thenReturn(true);
+        when(outlookProvider.isConfigured()).thenReturn(true);
+        when(googleProvider.getProviderName()).thenReturn("GOOGLE");
+        when(outlookProvider.getProviderName()).thenReturn("OUTLOOK");
+        when(googleProvider.streamEvents(authorizedClient, start, end)).thenReturn(Stream.of(googleEvent));
+        when(outlookProvider.streamEvents(authorizedClient, start, end)).thenThrow(new RuntimeException("API Error"));
+        
+        // When
+        List<CalendarEvent> received = new ArrayList<>();
+        Map<String, FetchStatus> statuses = calendarService.streamAllEvents(userId, start, end, received::add);
+        
+        // Then
+        assertEquals(List.of(googleEvent), received);
+        assertEquals(FetchStatus.SUCCESS, statuses.get("GOOGLE"));
+        assertEquals(FetchStatus.FAILED, statuses.get("OUTLOOK"));
+    }
+
+    @Test
+    void testStreamAllEvents_MergesProvidersInStartOrder() {
+        String userId = "test-user-123";
+        LocalDateTime start = LocalDateTime.of(2024, 3, 4, 0, 0);
+        LocalDateTime end = start.plusDays(1);
+        
+        CalendarEvent googleNine = createTestEvent("g1", "Standup", CalendarSource.GOOGLE, start.plusHours(9));
+        CalendarEvent googleTwelve = createTestEvent("g2", "Lunch", CalendarSource.GOOGLE, start.plusHours(12));
+        CalendarEvent outlookTen = createTestEvent("o1", "Review", CalendarSource.OUTLOOK, start.plusHours(10));
+        CalendarEvent outlookFifteen = createTestEvent("o2", "Planning", CalendarSource.OUTLOOK, start.plusHours(15));
+        calendarService.storeAuthorizedClient(userId, authorizedClient);
+        
+        when(googleProvider.isConfigured()).thenReturn(true);
+        when(outlookProvider.isConfigured()).thenReturn(true);
+        when(googleProvider.getProviderName()).thenReturn("GOOGLE");
+        when(outlookProvider.getProviderName()).thenReturn("OUTLOOK");
+        when(googleProvider.streamEvents(authorizedClient, start, end)).thenReturn(Stream.of(googleNine, googleTwelve));
+        when(outlookProvider.streamEvents(authorizedClient, start, end)).thenReturn(Stream.of(outlookTen, outlookFifteen));
+        
+        List<CalendarEvent> received = new ArrayList<>();
+        Map<String, FetchStatus> statuses = calendarService.streamAllEvents(userId, start, end, received::add);
+        
+        assertEquals(List.of(googleNine, outlookTen, googleTwelve, outlookFifteen), received);
+        assertEquals(FetchStatus.SUCCESS, statuses.get("GOOGLE"));
+        assertEquals(FetchStatus.SUCCESS, statuses.get("OUTLOOK"));
+    }
+
+    @Test
+    void testExecuteBatch_RoutesOperationsAndKeepsOrder() {
+        // Given
+        String userId = "test-user-123";
+        calendarService.storeAuthorizedClient(userId, authorizedClient);
+        
+        CalendarEvent newEvent = createTestEvent(null, "Imported", null);
+        BatchOperation create = BatchOperation.create(newEvent);
+        BatchOperation delete = new BatchOperation(BatchOperationType.DELETE, null, "outlook-1", CalendarSource.OUTLOOK);
+        
+        when(googleProvider.isConfigured()).thenReturn(true);
+        when(outlookProvider.isConfigured()).thenReturn(true);
+        when(googleProvider.getProviderName()).thenReturn("GOOGLE");
+        when(outlookProvider.getProviderName()).thenReturn("OUTLOOK");
+        when(googleProvider.executeBatch(authorizedClient, List.of(create)))
+            .thenReturn(List.of(BatchResult.succeeded(0, "GOOGLE", newEvent)));
+        when(outlookProvider.executeBatch(authorizedClient, List.of(create, delete)))
+            .thenReturn(List.of(BatchResult.succeeded(0, "OUTLOOK", newEvent), BatchResult.failed(1, "OUTLOOK", "Not found")));
+        
+        // When
+        List<BatchResult> results = calendarService.executeBatch(userId, List.of(create, delete));
+        
+        // Then
+        assertEquals(3, results.size());
+        assertEquals(List.of(0, 0, 1), results.stream().map(BatchResult::getIndex).toList());
+        assertEquals(List.of("GOOGLE", "OUTLOOK", "OUTLOOK"), results.stream().map(BatchResult::getProvider).toList());
+        assertFalse(results.get(2).isSuccess());
+    }
+
+    @Test
+    void testFetchAllEventsWithStatus_ProviderFails() {
+        // Given
+        String userId = "test-user-123";
+        LocalDateTime start = LocalDateTime.now();
+        LocalDateTime end = start.plusDays(1);
+        
+        calendarService.storeAuthorizedClient(userId, authorizedClient);
+        
+        when(googleProvider.isConfigured()).thenReturn(true);
+        when(outlookProvider.isConfigured()).thenReturn(true);
+        when(googleProvider.getProviderName()).thenReturn("GOOGLE");
+        when(outlookProvider.getProviderName()).thenReturn("OUTLOOK");
+        when(googleProvider.fetchEvents(authorizedClient, start, end)).thenThrow(new RuntimeException("API Error"));
+        when(outlookProvider.fetchEvents(authorizedClient, start, end)).thenReturn(List.of());
+        
+        // When
+        AggregatedEvents result = calendarService.fetchAllEventsWithStatus(userId, start, end);
+        
+        // Then
+        assertTrue(result.isPartial());
+        assertEquals(FetchStatus.FAILED, result.getProviderStatuses().get("GOOGLE"));
+        assertEquals(FetchStatus.SUCCESS, result.getProviderStatuses().get("OUTLOOK"));
+    }
+
+    @Test
+    void testFetchBusyIntervals_CombinesProvidersAndSkipsFailures() {
+        // Given
+        String userId = "test-user-123";
+        LocalDateTime start = LocalDateTime.of(2024, 3, 4, 0, 0);
+        LocalDateTime end = start.plusDays(1);
+        BusyIntervals googleBusy = new BusyIntervals();
+        googleBusy.add(start.plusHours(9), start.plusHours(10));
+        googleBusy.add(start.plusHours(14), start.plusHours(15));
+        
+        calendarService.storeAuthorizedClient(userId, authorizedClient);
+        
+        when(googleProvider.isConfigured()).thenReturn(true);
+        when(outlookProvider.isConfigured()).thenReturn(true);
+        when(outlookProvider.getProviderName()).thenReturn("OUTLOOK");
+        when(googleProvider.fetchBusyIntervals(authorizedClient, start, end)).thenReturn(googleBusy);
+        when(outlookProvider.fetchBusyIntervals(authorizedClient, start, end)).thenThrow(new RuntimeException("API Error"));
+        
+        // When
+        AggregatedBusyTime busy = calendarService.fetchBusyTimeWithStatus(userId, start, end);
+        BusyIntervals result = busy.getIntervals();
+        
+        // Then
+        assertEquals(FetchStatus.FAILED, busy.getProviderStatuses().get("OUTLOOK"));
+        assertFalse(busy.isComplete());
+        assertEquals(2, result.size());
+        assertEquals(start.plusHours(9), result.getStart(0));
+        assertEquals(start.plusHours(15), result.getEnd(1));
+        verify(googleProvider, never()).fetchEvents(any(), any(), any());
+        verify(outlookProvider, never()).fetchEvents(any(), any(), any());
+    }
+
     @Test
     void testCreateEvent_Success() {
         // Given
@@ -383,13 +588,17 @@ class CalendarServiceTest {
     }
 
     private CalendarEvent createTestEvent(String id, String title, CalendarSource source) {
+        return createTestEvent(id, title, source, LocalDateTime.now());
+    }
+
+    private CalendarEvent createTestEvent(String id, String title, CalendarSource source, LocalDateTime startTime) {
         CalendarEvent event = new CalendarEvent();
         event.setId(id);
         event.setTitle(title);
         event.setDescription("Test description");
         event.setLocation("Test location");
-        event.setStartTime(LocalDateTime.now());
-        event.setEndTime(LocalDateTime.now().plusHours(1));
+        event.setStartTime(startTime);
+        event.setEndTime(startTime.plusHours(1));
         event.setAllDay(false);
         event.setStatus(Status.CONFIRMED);
         event.setCalendarSource(source);
@@ -0,0 +1,88 @@
+package com.calendar.service;
+
+import com.calendar.enums.CalendarSource;
+import com.calendar.model.CalendarEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventDeduplicatorTest {
+
+    private static final LocalDateTime NINE = LocalDateTime.of(2024, 3, 4, 9, 0);
+
+    @Test
+    void testCopiesWithSameICalUidCollapse() {
+        CalendarEvent google = event("g1", "Design Review", CalendarSource.GOOGLE, NINE, "uid-1", null);
+        CalendarEvent outlook = event("o1", "Design review (moved)", CalendarSource.OUTLOOK, NINE, "uid-1", null);
+        EventDeduplicator deduplicator = new EventDeduplicator();
+
+        deduplicator.addAll(List.of(google));
+        deduplicator.addAll(List.of(outlook));
+
+        assertEquals(List.of(google), deduplicator.getEvents());
+        assertEquals(1, deduplicator.getDuplicates());
+    }
+
+    @Test
+    void testRecurringInstancesSharingAUidAreKept() {
+        CalendarEvent monday = event("g1", "Standup", CalendarSource.GOOGLE, NINE, "uid-1", null);
+        CalendarEvent tuesday = event("g2", "Standup", CalendarSource.GOOGLE, NINE.plusDays(1), "uid-1", null);
+        EventDeduplicator deduplicator = new EventDeduplicator();
+
+        deduplicator.addAll(List.of(monday, tuesday));
+
+        assertEquals(2, deduplicator.getEvents().size());
+    }
+
+    @Test
+    void testContentMatchCollapsesOnlyAcrossSources() {
+        CalendarEvent google = event("g1", "Team  Sync ", CalendarSource.GOOGLE, NINE, null, "Lead@Example.com");
+        CalendarEvent googleTwin = event("g2", "team sync", CalendarSource.GOOGLE, NINE, null, "lead@example.com");
+        CalendarEvent outlook = event("o1", "TEAM SYNC", CalendarSource.OUTLOOK, NINE, null, "lead@example.com");
+        EventDeduplicator deduplicator = new EventDeduplicator();
+
+        deduplicator.addAll(List.of(google, googleTwin));
+        deduplicator.addAll(List.of(outlook));
+
+        assertEquals(List.of(google, googleTwin), deduplicator.getEvents());
+        assertEquals(1, deduplicator.getDuplicates());
+    }
+
+    @Test
+    void testDifferentOrganizerOrTimeIsNotADuplicate() {
+        EventDeduplicator deduplicator = new EventDeduplicator();
+
+        assertTrue(deduplicator.firstSeen(event("g1", "1:1", CalendarSource.GOOGLE, NINE, null, "a@example.com")));
+        assertTrue(deduplicator.firstSeen(event("o1", "1:1", CalendarSource.OUTLOOK, NINE, null, "b@example.com")));
+        assertTrue(deduplicator.firstSeen(event("o2", "1:1", CalendarSource.OUTLOOK, NINE.plusHours(1), null, "a@example.com")));
+        assertEquals(0, deduplicator.getDuplicates());
+    }
+
+    @Test
+    void testEventsWithoutTimesAreKept() {
+        CalendarEvent google = event("g1", "Holiday", CalendarSource.GOOGLE, null, "uid-1", null);
+        CalendarEvent outlook = event("o1", "Holiday", CalendarSource.OUTLOOK, null, "uid-1", null);
+        EventDeduplicator deduplicator = new EventDeduplicator();
+
+        deduplicator.addAll(List.of(google, outlook));
+
+        assertEquals(2, deduplicator.getEvents().size());
+    }
+
+    private CalendarEvent event(String id, String title, CalendarSource source, LocalDateTime start,
+                                String iCalUid, String organizer) {
+        CalendarEvent event = new CalendarEvent();
+        event.setId(id);
+        event.setTitle(title);
+        event.setCalendarSource(source);
+        event.setStartTime(start);
+        event.setEndTime(start != null ? start.plusMinutes(30) : null);
+        event.setAllDay(start == null);
+        event.setICalUid(iCalUid);
+        event.setOrganizer(organizer);
+        return event;
+    }
+}
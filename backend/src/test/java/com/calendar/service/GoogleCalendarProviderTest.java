@@ -1,8 +1,27 @@
 package com.calendar.service;
 
+import com.calendar.cache.CalendarListCache;
+import com.calendar.client.CalendarFanOut;
+import com.calendar.converter.GoogleEventToCalendarEventConverter;
+import com.calendar.model.BatchOperation;
+import com.calendar.model.BatchResult;
+import com.calendar.model.BusyIntervals;
 import com.calendar.model.CalendarEvent;
+import com.calendar.store.SyncedEventStore;
+import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import com.google.api.client.http.HttpHeaders;
+import com.google.api.client.http.HttpResponseException;
+import com.google.api.client.http.LowLevelHttpRequest;
+import com.google.api.client.json.gson.GsonFactory;
+import com.google.api.client.testing.http.MockHttpTransport;
+import com.google.api.client.testing.http.MockLowLevelHttpRequest;
+import com.google.api.client.testing.http.MockLowLevelHttpResponse;
+import com.google.api.client.util.DateTime;
 import com.google.api.services.calendar.Calendar;
+import com.google.api.services.calendar.model.CalendarList;
+import com.google.api.services.calendar.model.CalendarListEntry;
 import com.google.api.services.calendar.model.Event;
+import com.google.api.services.calendar.model.EventDateTime;
 import com.google.api.services.calendar.model.Events;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -17,9 +36,16 @@ import org.springframework.core.convert.ConversionService;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -37,6 +63,9 @@ class GoogleCalendarProviderTest {
     @Mock
     private ConversionService conversionService;
 
+    @Mock
+    private GoogleEventToCalendarEventConverter eventConverter;
+
     @Mock
     private OAuth2AuthorizedClient mockOAuth2AuthorizedClient;
 
@@ -95,8 +124,7 @@ class GoogleCalendarProviderTest {
         when(mockEventsList.setOrderBy(anyString())).thenReturn(mockEventsList);
         when(mockEventsList.setSingleEvents(anyBoolean())).thenReturn(mockEventsList);
         when(mockEventsList.execute()).thenReturn(events);
-        when(conversionService.convert(any(Event.class), eq(CalendarEvent.class)))
-            .thenReturn(calendarEvent);
+        when(eventConverter.convertAll(anyList())).thenReturn(Arrays.asList(calendarEvent));
 
         // Act
         List<CalendarEvent> result = googleCalendarProvider.fetchEvents(mockOAuth2AuthorizedClient, start, end);
@@ -110,6 +138,249 @@ class GoogleCalendarProviderTest {
         verify(mockEventsList).setSingleEvents(true);
     }
 
+    @Test
+    void fetchEvents_FollowsPageTokens() throws Exception {
+        // Arrange
+        LocalDateTime start = LocalDateTime.now();
+        LocalDateTime end = start.plusDays(90);
+        Events firstPage = new Events();
+        firstPage.setItems(Arrays.asList(new Event(), new Event()));
+        firstPage.setNextPageToken("page-2");
+        Events secondPage = new Events();
+        secondPage.setItems(Arrays.asList(new Event()));
+
+        ReflectionTestUtils.setField(googleCalendarProvider, "pageSize", 2);
+        ExecutorService prefetchExecutor = Executors.newSingleThreadExecutor();
+        ReflectionTestUtils.setField(googleCalendarProvider, "prefetchExecutor", prefetchExecutor);
+        when(mockEventsList.setTimeMin(any())).thenReturn(mockEventsList);
+        when(mockEventsList.setTimeMax(any())).thenReturn(mockEventsList);
+        when(mockEventsList.setOrderBy(anyString())).thenReturn(mockEventsList);
+        when(mockEventsList.setSingleEvents(anyBoolean())).thenReturn(mockEventsList);
+        when(mockEventsList.execute()).thenReturn(firstPage, secondPage);
+        when(eventConverter.convertAll(anyList())).thenAnswer(invocation ->
+            invocation.<List<Event>>getArgument(0).stream().map(event -> new CalendarEvent()).toList());
+
+        // Act
+        List<CalendarEvent> result;
+        try {
+            result = googleCalendarProvider.fetchEvents(mockOAuth2AuthorizedClient, start, end);
+        } finally {
+            prefetchExecutor.shutdownNow();
+        }
+
+        // Assert
+        assertEquals(3, result.size());
+        verify(mockEventsList, times(2)).setMaxResults(2);
+        verify(mockEventsList).setPageToken("page-2");
+        verify(mockEventsList, times(2)).execute();
+    }
+
+    @Test
+    void streamEvents_FansOutOverSelectedCalendars() throws Exception {
+        // Arrange
+        LocalDateTime day = LocalDateTime.of(2024, 3, 4, 0, 0);
+        Calendar.CalendarList calendarList = mock(Calendar.CalendarList.class);
+        Calendar.CalendarList.List calendarListRequest = mock(Calendar.CalendarList.List.class, RETURNS_SELF);
+        when(calendarService.calendarList()).thenReturn(calendarList);
+        when(calendarList.list()).thenReturn(calendarListRequest);
+        when(calendarListRequest.execute()).thenReturn(new CalendarList().setItems(Arrays.asList(
+            new CalendarListEntry().setId("me@example.com").setPrimary(true).setSelected(true),
+            new CalendarListEntry().setId("team@group.calendar.google.com").setSelected(true),
+            new CalendarListEntry().setId("hidden@group.calendar.google.com").setSelected(false))));
+
+        Calendar.Events.List primaryList = mock(Calendar.Events.List.class, RETURNS_SELF);
+        Calendar.Events.List teamList = mock(Calendar.Events.List.class, RETURNS_SELF);
+        when(mockEvents.list("primary")).thenReturn(primaryList);
+        when(mockEvents.list("team@group.calendar.google.com")).thenReturn(teamList);
+        when(primaryList.execute()).thenReturn(new Events().setItems(Arrays.asList(
+            new Event().setId("standup").setDescription("9"), new Event().setId("review").setDescription("15"))));
+        when(teamList.execute()).thenReturn(new Events().setItems(Arrays.asList(
+            new Event().setId("team-sync").setDescription("11"))));
+        when(eventConverter.convertAll(anyList())).thenAnswer(invocation -> invocation.<List<Event>>getArgument(0).stream()
+            .map(event -> {
+                CalendarEvent converted = new CalendarEvent();
+                converted.setId(event.getId());
+                converted.setStartTime(day.plusHours(Integer.parseInt(event.getDescription())));
+                return converted;
+            })
+            .toList());
+
+        ExecutorService fanOutExecutor = Executors.newFixedThreadPool(2);
+        when(mockOAuth2AuthorizedClient.getPrincipalName()).thenReturn("user");
+        ReflectionTestUtils.setField(googleCalendarProvider, "discoveryEnabled", true);
+        ReflectionTestUtils.setField(googleCalendarProvider, "calendarListCache",
+            new CalendarListCache(100, Duration.ofMinutes(15), Clock.systemUTC()));
+        ReflectionTestUtils.setField(googleCalendarProvider, "calendarFanOut", new CalendarFanOut(fanOutExecutor, 2));
+
+        // Act
+        List<String> ids;
+        try (Stream<CalendarEvent> events = googleCalendarProvider.streamEvents(mockOAuth2AuthorizedClient, day, day.plusDays(1))) {
+            ids = events.map(CalendarEvent::getId).toList();
+            googleCalendarProvider.streamEvents(mockOAuth2AuthorizedClient, day, day.plusDays(1)).close();
+        } finally {
+            fanOutExecutor.shutdownNow();
+        }
+
+        // Assert
+        assertEquals(List.of("standup", "team-sync", "review"), ids);
+        verify(mockEvents, never()).list("hidden@group.calendar.google.com");
+        verify(calendarListRequest, times(1)).execute();
+    }
+
+    @Test
+    void fetchEvents_IncrementalSyncAppliesChanges() throws Exception {
+        // Arrange
+        LocalDateTime start = LocalDateTime.now();
+        LocalDateTime end = start.plusDays(7);
+        Events fullSync = new Events();
+        fullSync.setItems(Arrays.asList(googleEvent("kept", start.plusHours(1)), googleEvent("removed", start.plusHours(2))));
+        fullSync.setNextSyncToken("sync-1");
+        Event cancelled = new Event().setId("removed").setStatus("cancelled");
+        Events delta = new Events();
+        delta.setItems(Arrays.asList(cancelled, googleEvent("added", start.plusHours(3))));
+        delta.setNextSyncToken("sync-2");
+
+        enableIncrementalSync();
+        when(mockEventsList.execute()).thenReturn(fullSync, delta);
+
+        // Act
+        List<CalendarEvent> first = googleCalendarProvider.fetchEvents(mockOAuth2AuthorizedClient, start, end);
+        List<CalendarEvent> second = googleCalendarProvider.fetchEvents(mockOAuth2AuthorizedClient, start, end);
+
+        // Assert
+        assertEquals(Arrays.asList("kept", "removed"), first.stream().map(CalendarEvent::getId).toList());
+        assertEquals(Arrays.asList("kept", "added"), second.stream().map(CalendarEvent::getId).toList());
+        verify(mockEventsList).setSyncToken("sync-1");
+        verify(mockEventsList, times(2)).execute();
+    }
+
+    @Test
+    void fetchEvents_ExpiredSyncTokenTriggersFullResync() throws Exception {
+        // Arrange
+        LocalDateTime start = LocalDateTime.now();
+        LocalDateTime end = start.plusDays(7);
+        Events fullSync = new Events();
+        fullSync.setItems(Arrays.asList(googleEvent("first", start.plusHours(1))));
+        fullSync.setNextSyncToken("sync-1");
+        Events resync = new Events();
+        resync.setItems(Arrays.asList(googleEvent("second", start.plusHours(2))));
+        resync.setNextSyncToken("sync-2");
+        GoogleJsonResponseException gone = new GoogleJsonResponseException(
+            new HttpResponseException.Builder(410, "Gone", new HttpHeaders()), null);
+
+        enableIncrementalSync();
+        when(mockEventsList.execute()).thenReturn(fullSync).thenThrow(gone).thenReturn(resync);
+
+        // Act
+        googleCalendarProvider.fetchEvents(mockOAuth2AuthorizedClient, start, end);
+        List<CalendarEvent> result = googleCalendarProvider.fetchEvents(mockOAuth2AuthorizedClient, start, end);
+
+        // Assert
+        assertEquals(Arrays.asList("second"), result.stream().map(CalendarEvent::getId).toList());
+        verify(mockEventsList, times(3)).execute();
+    }
+
+    @Test
+    void fetchEvents_RecentSyncServesReadsFromPartition() throws Exception {
+        // Arrange
+        LocalDateTime start = LocalDateTime.now();
+        LocalDateTime end = start.plusDays(7);
+        Events fullSync = new Events();
+        fullSync.setItems(Arrays.asList(googleEvent("kept", start.plusHours(1))));
+        fullSync.setNextSyncToken("sync-1");
+
+        enableIncrementalSync();
+        ReflectionTestUtils.setField(googleCalendarProvider, "syncMinIntervalSeconds", 60L);
+        when(mockEventsList.execute()).thenReturn(fullSync);
+
+        // Act
+        googleCalendarProvider.fetchEvents(mockOAuth2AuthorizedClient, start, end);
+        List<CalendarEvent> second = googleCalendarProvider.fetchEvents(mockOAuth2AuthorizedClient, start, end);
+
+        // Assert
+        assertEquals(Arrays.asList("kept"), second.stream().map(CalendarEvent::getId).toList());
+        verify(mockEventsList, times(1)).execute();
+        verify(mockEventsList, never()).setSyncToken(any());
+    }
+
+    @Test
+    void fetchEvents_AfterCreateSyncsAgainWithinMinInterval() throws Exception {
+        // Arrange
+        LocalDateTime start = LocalDateTime.now();
+        LocalDateTime end = start.plusDays(7);
+        Events fullSync = new Events();
+        fullSync.setItems(Arrays.asList(googleEvent("kept", start.plusHours(1))));
+        fullSync.setNextSyncToken("sync-1");
+        Events delta = new Events();
+        delta.setItems(Arrays.asList(googleEvent("created", start.plusHours(2))));
+        delta.setNextSyncToken("sync-2");
+        CalendarEvent newEvent = new CalendarEvent();
+        Event inserted = googleEvent("created", start.plusHours(2));
+
+        enableIncrementalSync();
+        ReflectionTestUtils.setField(googleCalendarProvider, "syncMinIntervalSeconds", 60L);
+        when(mockEventsList.execute()).thenReturn(fullSync, delta);
+        when(conversionService.convert(newEvent, Event.class)).thenReturn(inserted);
+        when(mockEventsInsert.execute()).thenReturn(inserted);
+
+        // Act
+        googleCalendarProvider.fetchEvents(mockOAuth2AuthorizedClient, start, end);
+        googleCalendarProvider.createEvent(mockOAuth2AuthorizedClient, newEvent);
+        List<CalendarEvent> afterCreate = googleCalendarProvider.fetchEvents(mockOAuth2AuthorizedClient, start, end);
+
+        // Assert
+        assertEquals(Arrays.asList("kept", "created"), afterCreate.stream().map(CalendarEvent::getId).toList());
+        verify(mockEventsList).setSyncToken("sync-1");
+    }
+
+    @Test
+    void fetchEvents_WindowThatNoLongerCoversHorizonIsMoved() throws Exception {
+        // Arrange
+        LocalDateTime start = LocalDateTime.now();
+        LocalDateTime end = start.plusDays(7);
+        Events fullSync = new Events();
+        fullSync.setItems(Arrays.asList(googleEvent("first", start.plusHours(1))));
+        fullSync.setNextSyncToken("sync-1");
+        Events resync = new Events();
+        resync.setItems(Arrays.asList(googleEvent("second", start.plusHours(2))));
+        resync.setNextSyncToken("sync-2");
+
+        enableIncrementalSync();
+        when(mockEventsList.execute()).thenReturn(fullSync, resync);
+
+        // Act: a longer horizon stands in for the days passing since the first sync
+        googleCalendarProvider.fetchEvents(mockOAuth2AuthorizedClient, start, end);
+        ReflectionTestUtils.setField(googleCalendarProvider, "syncFutureDays", 40);
+        List<CalendarEvent> result = googleCalendarProvider.fetchEvents(mockOAuth2AuthorizedClient, start, end);
+
+        // Assert
+        assertEquals(Arrays.asList("second"), result.stream().map(CalendarEvent::getId).toList());
+        verify(mockEventsList, never()).setSyncToken(any());
+        verify(mockEventsList, times(2)).setTimeMax(any());
+    }
+
+    private void enableIncrementalSync() {
+        ReflectionTestUtils.setField(googleCalendarProvider, "incrementalSyncEnabled", true);
+        ReflectionTestUtils.setField(googleCalendarProvider, "syncPastDays", 30);
+        ReflectionTestUtils.setField(googleCalendarProvider, "syncFutureDays", 30);
+        ReflectionTestUtils.setField(googleCalendarProvider, "eventStore", new SyncedEventStore());
+        when(mockOAuth2AuthorizedClient.getPrincipalName()).thenReturn("user@example.com");
+        when(eventConverter.convert(any(Event.class))).thenAnswer(invocation -> {
+            CalendarEvent converted = new CalendarEvent();
+            converted.setId(invocation.<Event>getArgument(0).getId());
+            return converted;
+        });
+    }
+
+    private Event googleEvent(String id, LocalDateTime start) {
+        long startMillis = start.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return new Event()
+            .setId(id)
+            .setStatus("confirmed")
+            .setStart(new EventDateTime().setDateTime(new DateTime(startMillis)))
+            .setEnd(new EventDateTime().setDateTime(new DateTime(startMillis + 1800_000L)));
+    }
+
     @Test
     void createEvent_Success() throws Exception {
         // Arrange
@@ -163,6 +434,95 @@ class GoogleCalendarProviderTest {
         verify(mockEventsDelete).execute();
     }
 
+    @Test
+    void executeBatch_SendsOneBatchRequestAndMapsEachResponse() throws Exception {
+        // Arrange
+        String boundary = "batch_test";
+        String response = "--" + boundary + "\r\n"
+            + "Content-Type: application/http\r\n\r\n"
+            + "HTTP/1.1 200 OK\r\n"
+            + "Content-Type: application/json; charset=UTF-8\r\n\r\n"
+            + "{\"id\":\"created-1\"}\r\n"
+            + "--" + boundary + "\r\n"
+            + "Content-Type: application/http\r\n\r\n"
+            + "HTTP/1.1 404 Not Found\r\n"
+            + "Content-Type: application/json; charset=UTF-8\r\n\r\n"
+            + "{\"error\":{\"code\":404,\"message\":\"Not Found\"}}\r\n"
+            + "--" + boundary + "--\r\n";
+        List<String> requestedUrls = new ArrayList<>();
+        MockHttpTransport transport = new MockHttpTransport() {
+            @Override
+            public LowLevelHttpRequest buildRequest(String method, String url) {
+                requestedUrls.add(url);
+                return new MockLowLevelHttpRequest(url).setResponse(new MockLowLevelHttpResponse()
+                    .setContentType("multipart/mixed; boundary=" + boundary)
+                    .setContent(response));
+            }
+        };
+        Calendar batchingCalendar = new Calendar.Builder(transport, GsonFactory.getDefaultInstance(), null)
+            .setApplicationName("test")
+            .build();
+        doReturn(batchingCalendar).when(googleCalendarProvider).getCalendarService(any());
+        when(conversionService.convert(any(CalendarEvent.class), eq(Event.class))).thenReturn(new Event().setSummary("Imported"));
+        when(eventConverter.convert(any(Event.class))).thenAnswer(invocation -> {
+            CalendarEvent converted = new CalendarEvent();
+            converted.setId(invocation.<Event>getArgument(0).getId());
+            return converted;
+        });
+
+        // Act
+        List<BatchResult> results = googleCalendarProvider.executeBatch(mockOAuth2AuthorizedClient,
+            Arrays.asList(BatchOperation.create(new CalendarEvent()), BatchOperation.delete("missing")));
+
+        // Assert
+        assertEquals(1, requestedUrls.size());
+        assertTrue(requestedUrls.get(0).contains("/batch"));
+        assertTrue(results.get(0).isSuccess());
+        assertEquals("created-1", results.get(0).getEvent().getId());
+        assertFalse(results.get(1).isSuccess());
+        assertEquals("Not Found", results.get(1).getError());
+    }
+
+    @Test
+    void fetchBusyIntervals_UsesFreeBusyQuery() throws Exception {
+        // Arrange
+        LocalDateTime start = LocalDateTime.of(2024, 3, 4, 0, 0);
+        LocalDateTime busyStart = start.plusHours(9);
+        String response = "{\"kind\":\"calendar#freeBusy\",\"calendars\":{\"primary\":{\"busy\":["
+            + "{\"start\":\"" + rfc3339(busyStart) + "\",\"end\":\"" + rfc3339(busyStart.plusHours(1)) + "\"},"
+            + "{\"start\":\"" + rfc3339(busyStart.plusHours(4)) + "\",\"end\":\"" + rfc3339(busyStart.plusHours(5)) + "\"}"
+            + "]}}}";
+        List<String> requestedUrls = new ArrayList<>();
+        MockHttpTransport transport = new MockHttpTransport() {
+            @Override
+            public LowLevelHttpRequest buildRequest(String method, String url) {
+                requestedUrls.add(url);
+                return new MockLowLevelHttpRequest(url).setResponse(new MockLowLevelHttpResponse()
+                    .setContentType("application/json")
+                    .setContent(response));
+            }
+        };
+        Calendar freeBusyCalendar = new Calendar.Builder(transport, GsonFactory.getDefaultInstance(), null)
+            .setApplicationName("test")
+            .build();
+        doReturn(freeBusyCalendar).when(googleCalendarProvider).getCalendarService(any());
+
+        // Act
+        BusyIntervals busy = googleCalendarProvider.fetchBusyIntervals(mockOAuth2AuthorizedClient, start, start.plusDays(1));
+
+        // Assert
+        assertEquals(1, requestedUrls.size());
+        assertTrue(requestedUrls.get(0).endsWith("/freeBusy"));
+        assertEquals(2, busy.size());
+        assertEquals(busyStart, busy.getStart(0));
+        assertEquals(busyStart.plusHours(5), busy.getEnd(1));
+        verify(calendarService, never()).events();
+    }
+
+    private static String rfc3339(LocalDateTime time) {
+        return new DateTime(java.util.Date.from(time.atZone(ZoneId.systemDefault()).toInstant())).toStringRfc3339();
+    }
+
     @Test
     void getProviderName_ReturnsGoogle() {
         assertEquals("GOOGLE", googleCalendarProvider.getProviderName());
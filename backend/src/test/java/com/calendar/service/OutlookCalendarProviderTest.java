@@ -1,15 +1,36 @@
 package com.calendar.service;
 
+import com.calendar.converter.OutlookEventToCalendarEventConverter;
+import com.calendar.model.BatchOperation;
+import com.calendar.model.BatchResult;
 import com.calendar.model.CalendarEvent;
+import com.calendar.store.SyncedEventStore;
+import com.google.gson.JsonObject;
+import com.microsoft.graph.content.BatchRequestContent;
+import com.microsoft.graph.content.BatchResponseContent;
+import com.microsoft.graph.logger.DefaultLogger;
+import com.microsoft.graph.models.CalendarGetScheduleParameterSet;
+import com.microsoft.graph.models.DateTimeTimeZone;
 import com.microsoft.graph.models.Event;
+import com.microsoft.graph.models.User;
+import com.microsoft.graph.requests.CalendarGetScheduleCollectionPage;
+import com.microsoft.graph.requests.CalendarGetScheduleCollectionRequest;
 import com.microsoft.graph.requests.EventCollectionPage;
+import com.microsoft.graph.requests.EventCollectionRequest;
+import com.microsoft.graph.requests.EventCollectionRequestBuilder;
+import com.microsoft.graph.requests.EventDeltaCollectionPage;
+import com.microsoft.graph.requests.EventDeltaCollectionRequest;
+import com.microsoft.graph.requests.EventDeltaCollectionRequestBuilder;
+import com.microsoft.graph.requests.EventRequest;
 import com.microsoft.graph.requests.GraphServiceClient;
+import com.microsoft.graph.serializer.DefaultSerializer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Answers;
+import org.mockito.ArgumentCaptor;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
@@ -19,9 +40,16 @@ import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
 import org.mockito.Spy;
 import static org.mockito.Mockito.doReturn;
 
+import java.net.URL;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -38,6 +66,9 @@ class OutlookCalendarProviderTest {
     @Mock
     private ConversionService conversionService;
 
+    @Mock
+    private OutlookEventToCalendarEventConverter eventConverter;
+
     @Mock
     private OAuth2AuthorizedClient mockOAuth2AuthorizedClient;
 
@@ -70,17 +101,168 @@ class OutlookCalendarProviderTest {
         EventCollectionPage eventCollectionPage = mock(EventCollectionPage.class);
         CalendarEvent calendarEvent = new CalendarEvent();
 
-        when(graphClient.me().calendarView().buildRequest().filter(anyString()).get())
+        ReflectionTestUtils.setField(outlookCalendarProvider, "pageSize", 50);
+        when(graphClient.me().calendarView().buildRequest(anyList()).top(anyInt()).get())
             .thenReturn(eventCollectionPage);
         when(eventCollectionPage.getCurrentPage()).thenReturn(Arrays.asList(outlookEvent));
-        when(conversionService.convert(any(Event.class), eq(CalendarEvent.class)))
-            .thenReturn(calendarEvent);
+        when(eventConverter.convertAll(anyList())).thenReturn(Arrays.asList(calendarEvent));
 
         List<CalendarEvent> result = outlookCalendarProvider.fetchEvents(mockOAuth2AuthorizedClient, start, end);
 
         assertNotNull(result);
         assertEquals(1, result.size());
-        verify(graphClient.me().calendarView().buildRequest().filter(anyString())).get();
+        verify(graphClient.me().calendarView().buildRequest(anyList())).top(50);
+    }
+
+    @Test
+    void fetchEvents_FollowsNextLinks() {
+        LocalDateTime start = LocalDateTime.now();
+        LocalDateTime end = start.plusDays(90);
+        EventCollectionPage firstPage = mock(EventCollectionPage.class);
+        EventCollectionPage secondPage = mock(EventCollectionPage.class);
+        EventCollectionRequestBuilder nextPage = mock(EventCollectionRequestBuilder.class);
+        EventCollectionRequest nextRequest = mock(EventCollectionRequest.class);
+        String nextLink = "https://graph.microsoft.com/v1.0/me/calendarView?$skip=2";
+
+        ExecutorService prefetchExecutor = Executors.newSingleThreadExecutor();
+        ReflectionTestUtils.setField(outlookCalendarProvider, "prefetchExecutor", prefetchExecutor);
+        ReflectionTestUtils.setField(outlookCalendarProvider, "pageSize", 2);
+        when(graphClient.me().calendarView().buildRequest(anyList()).top(anyInt()).get()).thenReturn(firstPage);
+        when(firstPage.getCurrentPage()).thenReturn(Arrays.asList(new Event(), new Event()));
+        when(firstPage.getNextPage()).thenReturn(nextPage);
+        when(nextPage.getRequestUrl()).thenReturn(nextLink);
+        doReturn(nextPage).when(outlookCalendarProvider).nextPageRequest(any(), eq(nextLink));
+        when(nextPage.buildRequest()).thenReturn(nextRequest);
+        when(nextRequest.get()).thenReturn(secondPage);
+        when(secondPage.getCurrentPage()).thenReturn(Arrays.asList(new Event()));
+        when(eventConverter.convertAll(anyList())).thenAnswer(invocation ->
+            invocation.<List<Event>>getArgument(0).stream().map(event -> new CalendarEvent()).toList());
+
+        List<CalendarEvent> result;
+        try {
+            result = outlookCalendarProvider.fetchEvents(mockOAuth2AuthorizedClient, start, end);
+        } finally {
+            prefetchExecutor.shutdownNow();
+        }
+
+        assertEquals(3, result.size());
+        verify(outlookCalendarProvider).nextPageRequest(any(), eq(nextLink));
+    }
+
+    @Test
+    void fetchEvents_DeltaSyncAppliesChanges() {
+        LocalDateTime start = LocalDateTime.now();
+        LocalDateTime end = start.plusDays(7);
+        EventDeltaCollectionPage initialPage = mock(EventDeltaCollectionPage.class);
+        EventDeltaCollectionPage deltaPage = mock(EventDeltaCollectionPage.class);
+        EventDeltaCollectionRequest initialRequest = mock(EventDeltaCollectionRequest.class);
+        EventDeltaCollectionRequestBuilder resumeBuilder = mock(EventDeltaCollectionRequestBuilder.class);
+        EventDeltaCollectionRequest resumeRequest = mock(EventDeltaCollectionRequest.class);
+        Event removed = new Event();
+        removed.id = "removed";
+        removed.additionalDataManager().put("@removed", new JsonObject());
+
+        enableDeltaSync();
+        when(graphClient.me().calendarView().delta().buildRequest(anyList())).thenReturn(initialRequest);
+        when(initialRequest.get()).thenReturn(initialPage);
+        when(initialPage.getCurrentPage()).thenReturn(Arrays.asList(
+            outlookEvent("kept", start.plusHours(1)), outlookEvent("removed", start.plusHours(2))));
+        when(initialPage.deltaLink()).thenReturn("delta-1");
+        doReturn(resumeBuilder).when(outlookCalendarProvider).deltaRequest(any(), eq("delta-1"), anyList());
+        when(resumeBuilder.buildRequest()).thenReturn(resumeRequest);
+        when(resumeRequest.get()).thenReturn(deltaPage);
+        when(deltaPage.getCurrentPage()).thenReturn(Arrays.asList(removed, outlookEvent("added", start.plusHours(3))));
+        when(deltaPage.deltaLink()).thenReturn("delta-2");
+
+        List<CalendarEvent> first = outlookCalendarProvider.fetchEvents(mockOAuth2AuthorizedClient, start, end);
+        List<CalendarEvent> second = outlookCalendarProvider.fetchEvents(mockOAuth2AuthorizedClient, start, end);
+
+        assertEquals(Arrays.asList("kept", "removed"), first.stream().map(CalendarEvent::getId).toList());
+        assertEquals(Arrays.asList("kept", "added"), second.stream().map(CalendarEvent::getId).toList());
+        verify(initialRequest).get();
+        verify(resumeRequest).get();
+    }
+
+    @Test
+    void fetchEvents_RecentSyncServesReadsFromPartition() {
+        LocalDateTime start = LocalDateTime.now();
+        LocalDateTime end = start.plusDays(7);
+        EventDeltaCollectionPage initialPage = mock(EventDeltaCollectionPage.class);
+        EventDeltaCollectionRequest initialRequest = mock(EventDeltaCollectionRequest.class);
+
+        enableDeltaSync();
+        ReflectionTestUtils.setField(outlookCalendarProvider, "syncMinIntervalSeconds", 60L);
+        when(graphClient.me().calendarView().delta().buildRequest(anyList())).thenReturn(initialRequest);
+        when(initialRequest.get()).thenReturn(initialPage);
+        when(initialPage.getCurrentPage()).thenReturn(Arrays.asList(outlookEvent("kept", start.plusHours(1))));
+        when(initialPage.deltaLink()).thenReturn("delta-1");
+
+        outlookCalendarProvider.fetchEvents(mockOAuth2AuthorizedClient, start, end);
+        List<CalendarEvent> second = outlookCalendarProvider.fetchEvents(mockOAuth2AuthorizedClient, start, end);
+
+        assertEquals(Arrays.asList("kept"), second.stream().map(CalendarEvent::getId).toList());
+        verify(initialRequest, times(1)).get();
+        verify(outlookCalendarProvider, never()).deltaRequest(any(), any(), anyList());
+    }
+
+    @Test
+    void fetchEvents_DeleteSyncsAgainWithinMinInterval() {
+        LocalDateTime start = LocalDateTime.now();
+        LocalDateTime end = start.plusDays(7);
+        EventDeltaCollectionPage initialPage = mock(EventDeltaCollectionPage.class);
+        EventDeltaCollectionPage deltaPage = mock(EventDeltaCollectionPage.class);
+        EventDeltaCollectionRequest initialRequest = mock(EventDeltaCollectionRequest.class);
+        EventDeltaCollectionRequestBuilder resumeBuilder = mock(EventDeltaCollectionRequestBuilder.class);
+        EventDeltaCollectionRequest resumeRequest = mock(EventDeltaCollectionRequest.class);
+        Event removed = new Event();
+        removed.id = "deleted";
+        removed.additionalDataManager().put("@removed", new JsonObject());
+
+        enableDeltaSync();
+        ReflectionTestUtils.setField(outlookCalendarProvider, "syncMinIntervalSeconds", 60L);
+        when(graphClient.me().calendarView().delta().buildRequest(anyList())).thenReturn(initialRequest);
+        when(initialRequest.get()).thenReturn(initialPage);
+        when(initialPage.getCurrentPage()).thenReturn(Arrays.asList(
+            outlookEvent("kept", start.plusHours(1)), outlookEvent("deleted", start.plusHours(2))));
+        when(initialPage.deltaLink()).thenReturn("delta-1");
+        doReturn(resumeBuilder).when(outlookCalendarProvider).deltaRequest(any(), eq("delta-1"), anyList());
+        when(resumeBuilder.buildRequest()).thenReturn(resumeRequest);
+        when(resumeRequest.get()).thenReturn(deltaPage);
+        when(deltaPage.getCurrentPage()).thenReturn(Arrays.asList(removed));
+        when(deltaPage.deltaLink()).thenReturn("delta-2");
+
+        outlookCalendarProvider.fetchEvents(mockOAuth2AuthorizedClient, start, end);
+        outlookCalendarProvider.deleteEvent(mockOAuth2AuthorizedClient, "deleted");
+        List<CalendarEvent> afterDelete = outlookCalendarProvider.fetchEvents(mockOAuth2AuthorizedClient, start, end);
+
+        assertEquals(Arrays.asList("kept"), afterDelete.stream().map(CalendarEvent::getId).toList());
+        verify(resumeRequest).get();
+    }
+
+    private void enableDeltaSync() {
+        ReflectionTestUtils.setField(outlookCalendarProvider, "deltaSyncEnabled", true);
+        ReflectionTestUtils.setField(outlookCalendarProvider, "syncPastDays", 30);
+        ReflectionTestUtils.setField(outlookCalendarProvider, "syncFutureDays", 30);
+        ReflectionTestUtils.setField(outlookCalendarProvider, "eventStore", new SyncedEventStore());
+        when(mockOAuth2AuthorizedClient.getPrincipalName()).thenReturn("user@example.com");
+        when(eventConverter.convert(any(Event.class))).thenAnswer(invocation -> {
+            CalendarEvent converted = new CalendarEvent();
+            converted.setId(invocation.<Event>getArgument(0).id);
+            return converted;
+        });
+        OutlookEventToCalendarEventConverter utc = new OutlookEventToCalendarEventConverter(ZoneOffset.UTC);
+        when(eventConverter.toLocalDateTime(any(), anyBoolean())).thenAnswer(invocation ->
+            utc.toLocalDateTime(invocation.getArgument(0), invocation.getArgument(1)));
+    }
+
+    private Event outlookEvent(String id, LocalDateTime start) {
+        Event event = new Event();
+        event.id = id;
+        event.start = new DateTimeTimeZone();
+        event.start.dateTime = start.toString();
+        event.end = new DateTimeTimeZone();
+        event.end.dateTime = start.plusMinutes(30).toString();
+        return event;
     }
 
     @Test
@@ -131,6 +313,108 @@ class OutlookCalendarProviderTest {
         verify(graphClient.me().events(eventId).buildRequest()).delete();
     }
 
+    @Test
+    void fetchBusyIntervals_SplitsRangesLongerThanGetScheduleAccepts() {
+        LocalDateTime start = LocalDateTime.of(2024, 3, 1, 0, 0);
+        User me = new User();
+        me.mail = "user@example.com";
+        when(graphClient.me().buildRequest().select(anyString()).get()).thenReturn(me);
+        CalendarGetScheduleCollectionPage page = mock(CalendarGetScheduleCollectionPage.class);
+        when(page.getCurrentPage()).thenReturn(List.of());
+        CalendarGetScheduleCollectionRequest request = mock(CalendarGetScheduleCollectionRequest.class);
+        when(request.post()).thenReturn(page);
+        when(graphClient.me().calendar().getSchedule(any()).buildRequest()).thenReturn(request);
+
+        outlookCalendarProvider.fetchBusyIntervals(mockOAuth2AuthorizedClient, start, start.plusDays(100));
+
+        ArgumentCaptor<CalendarGetScheduleParameterSet> parameters = ArgumentCaptor.forClass(CalendarGetScheduleParameterSet.class);
+        verify(graphClient.me().calendar(), times(3)).getSchedule(parameters.capture());
+        // The first capture comes from stubbing the call above
+        List<CalendarGetScheduleParameterSet> calls = parameters.getAllValues().subList(1, 3);
+        assertEquals("2024-03-01T00:00:00", calls.get(0).startTime.dateTime);
+        assertEquals("2024-05-02T00:00:00", calls.get(0).endTime.dateTime);
+        assertEquals("2024-05-02T00:00:00", calls.get(1).startTime.dateTime);
+        assertEquals("2024-06-09T00:00:00", calls.get(1).endTime.dateTime);
+    }
+
+    @Test
+    void executeBatch_PostsOneBatchAndMapsEachStep() throws Exception {
+        EventCollectionRequest createRequest = mock(EventCollectionRequest.class);
+        EventRequest deleteRequest = mock(EventRequest.class);
+        when(createRequest.getRequestUrl()).thenReturn(new URL("https://graph.microsoft.com/v1.0/me/events"));
+        when(deleteRequest.getRequestUrl()).thenReturn(new URL("https://graph.microsoft.com/v1.0/me/events/missing"));
+        when(graphClient.me().events().buildRequest()).thenReturn(createRequest);
+        when(graphClient.me().events("missing").buildRequest()).thenReturn(deleteRequest);
+        when(conversionService.convert(any(CalendarEvent.class), eq(Event.class))).thenReturn(new Event());
+        when(eventConverter.convert(any(Event.class))).thenAnswer(invocation -> {
+            CalendarEvent converted = new CalendarEvent();
+            converted.setId(invocation.<Event>getArgument(0).id);
+            return converted;
+        });
+        List<BatchRequestContent> posted = new ArrayList<>();
+        when(graphClient.batch().buildRequest().post(any(BatchRequestContent.class))).thenAnswer(invocation -> {
+            BatchRequestContent content = invocation.getArgument(0);
+            posted.add(content);
+            String createId = content.requests.get(0).id;
+            String deleteId = content.requests.get(1).id;
+            String json = "{\"responses\":["
+                + "{\"id\":\"" + createId + "\",\"status\":201,\"body\":{\"id\":\"created-1\"}},"
+                + "{\"id\":\"" + deleteId + "\",\"status\":404,\"body\":{\"error\":{\"code\":\"ErrorItemNotFound\",\"message\":\"Not found\"}}}"
+                + "]}";
+            DefaultSerializer serializer = new DefaultSerializer(new DefaultLogger());
+            BatchResponseContent response = serializer.deserializeObject(json, BatchResponseContent.class, Collections.emptyMap());
+            // BatchRequest.post hands its serializer to each step; do the same for the stubbed call
+            response.responses.forEach(step -> ReflectionTestUtils.setField(step, "serializer", serializer));
+            return response;
+        });
+
+        List<BatchResult> results = outlookCalendarProvider.executeBatch(mockOAuth2AuthorizedClient,
+            Arrays.asList(BatchOperation.create(new CalendarEvent()), BatchOperation.delete("missing")));
+
+        assertEquals(1, posted.size());
+        assertEquals(2, posted.get(0).requests.size());
+        assertTrue(results.get(0).isSuccess());
+        assertEquals("created-1", results.get(0).getEvent().getId());
+        assertFalse(results.get(1).isSuccess());
+        assertEquals("Not found", results.get(1).getError());
+    }
+
+    @Test
+    void executeBatch_ResendsThrottledStepsAfterRetryAfter() throws Exception {
+        EventRequest firstRequest = mock(EventRequest.class);
+        EventRequest secondRequest = mock(EventRequest.class);
+        when(firstRequest.getRequestUrl()).thenReturn(new URL("https://graph.microsoft.com/v1.0/me/events/first"));
+        when(secondRequest.getRequestUrl()).thenReturn(new URL("https://graph.microsoft.com/v1.0/me/events/second"));
+        when(graphClient.me().events("first").buildRequest()).thenReturn(firstRequest);
+        when(graphClient.me().events("second").buildRequest()).thenReturn(secondRequest);
+        ReflectionTestUtils.setField(outlookCalendarProvider, "batchMaxRetries", 3);
+        ReflectionTestUtils.setField(outlookCalendarProvider, "batchMaxRetryAfterSeconds", 30L);
+        doReturn(true).when(outlookCalendarProvider).pause(any());
+        List<Integer> postedSizes = new ArrayList<>();
+        when(graphClient.batch().buildRequest().post(any(BatchRequestContent.class))).thenAnswer(invocation -> {
+            BatchRequestContent content = invocation.getArgument(0);
+            postedSizes.add(content.requests.size());
+            StringBuilder json = new StringBuilder("{\"responses\":[");
+            for (int i = 0; i < content.requests.size(); i++) {
+                String id = content.requests.get(i).id;
+                boolean throttled = postedSizes.size() == 1 && content.requests.get(i).url.endsWith("second");
+                json.append(i > 0 ? "," : "").append(throttled
+                    ? "{\"id\":\"" + id + "\",\"status\":429,\"headers\":{\"Retry-After\":\"2\"}}"
+                    : "{\"id\":\"" + id + "\",\"status\":204}");
+            }
+            DefaultSerializer serializer = new DefaultSerializer(new DefaultLogger());
+            return serializer.deserializeObject(json.append("]}").toString(), BatchResponseContent.class, Collections.emptyMap());
+        });
+
+        List<BatchResult> results = outlookCalendarProvider.executeBatch(mockOAuth2AuthorizedClient,
+            Arrays.asList(BatchOperation.delete("first"), BatchOperation.delete("second")));
+
+        assertEquals(Arrays.asList(2, 1), postedSizes);
+        assertTrue(results.get(0).isSuccess());
+        assertTrue(results.get(1).isSuccess());
+        verify(outlookCalendarProvider).pause(Duration.ofSeconds(2));
+    }
+
     @Test
     void getProviderName_ReturnsOutlook() {
         assertEquals("OUTLOOK", outlookCalendarProvider.getProviderName());
@@ -0,0 +1,88 @@
+package com.calendar.service;
+
+import com.calendar.enums.CalendarSource;
+import com.calendar.enums.FetchStatus;
+import com.calendar.model.AggregatedEvents;
+import com.calendar.model.CalendarEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveCalendarServiceTest {
+
+    @Mock
+    private ReactiveCalendarProvider googleProvider;
+
+    @Mock
+    private ReactiveCalendarProvider outlookProvider;
+
+    @Mock
+    private OAuth2AuthorizedClient authorizedClient;
+
+    private final LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private final LocalDateTime end = start.plusDays(1);
+
+    @BeforeEach
+    void setUp() {
+        when(googleProvider.isConfigured()).thenReturn(true);
+        when(outlookProvider.isConfigured()).thenReturn(true);
+        when(googleProvider.getProviderName()).thenReturn("GOOGLE");
+        when(outlookProvider.getProviderName()).thenReturn("OUTLOOK");
+    }
+
+    @Test
+    void fetchAllEventsWithStatus_MergesProviders() {
+        CalendarEvent googleEvent = createTestEvent("google-1", CalendarSource.GOOGLE);
+        CalendarEvent outlookEvent = createTestEvent("outlook-1", CalendarSource.OUTLOOK);
+        when(googleProvider.fetchEvents(authorizedClient, start, end)).thenReturn(Flux.just(googleEvent));
+        when(outlookProvider.fetchEvents(authorizedClient, start, end)).thenReturn(Flux.just(outlookEvent));
+
+        ReactiveCalendarService service = new ReactiveCalendarService(List.of(googleProvider, outlookProvider), 1_000);
+        AggregatedEvents result = service.fetchAllEventsWithStatus(authorizedClient, "user", start, end).block();
+
+        assertNotNull(result);
+        assertFalse(result.isPartial());
+        assertEquals(List.of(googleEvent, outlookEvent), result.getEvents());
+        assertEquals(List.of("GOOGLE", "OUTLOOK"), List.copyOf(result.getProviderStatuses().keySet()));
+    }
+
+    @Test
+    void fetchAllEventsWithStatus_ReportsSlowAndFailingProviders() {
+        when(googleProvider.fetchEvents(authorizedClient, start, end))
+            .thenReturn(Flux.<CalendarEvent>never().timeout(Duration.ofSeconds(30)));
+        when(outlookProvider.fetchEvents(authorizedClient, start, end))
+            .thenReturn(Flux.error(new RuntimeException("API Error")));
+
+        ReactiveCalendarService service = new ReactiveCalendarService(List.of(googleProvider, outlookProvider), 200);
+        long began = System.currentTimeMillis();
+        AggregatedEvents result = service.fetchAllEventsWithStatus(authorizedClient, "user", start, end).block();
+
+        assertNotNull(result);
+        assertTrue(System.currentTimeMillis() - began < 2_000);
+        assertTrue(result.getEvents().isEmpty());
+        assertEquals(FetchStatus.TIMED_OUT, result.getProviderStatuses().get("GOOGLE"));
+        assertEquals(FetchStatus.FAILED, result.getProviderStatuses().get("OUTLOOK"));
+    }
+
+    private CalendarEvent createTestEvent(String id, CalendarSource source) {
+        CalendarEvent event = new CalendarEvent();
+        event.setId(id);
+        event.setTitle(id);
+        event.setStartTime(start.plusHours(1));
+        event.setEndTime(start.plusHours(2));
+        event.setCalendarSource(source);
+        return event;
+    }
+}
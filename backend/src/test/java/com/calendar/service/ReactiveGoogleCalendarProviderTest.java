@@ -0,0 +1,97 @@
+package com.calendar.service;
+
+import com.calendar.converter.GoogleEventToCalendarEventConverter;
+import com.calendar.model.CalendarEvent;
+import com.google.api.services.calendar.model.Event;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveGoogleCalendarProviderTest {
+
+    @Mock
+    private GoogleEventToCalendarEventConverter eventConverter;
+
+    @Mock
+    private OAuth2AuthorizedClient authorizedClient;
+
+    private final List<ClientRequest> requests = new ArrayList<>();
+
+    private ReactiveGoogleCalendarProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        WebClient webClient = WebClient.builder()
+            .exchangeFunction(request -> {
+                requests.add(request);
+                String body = request.url().getQuery().contains("pageToken=page-2")
+                    ? "{\"items\":[{\"id\":\"event-2\"}]}"
+                    : "{\"items\":[{\"id\":\"event-1\"}],\"nextPageToken\":\"page-2\"}";
+                return Mono.just(ClientResponse.create(HttpStatus.OK)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .body(body)
+                    .build());
+            })
+            .build();
+
+        provider = new ReactiveGoogleCalendarProvider();
+        ReflectionTestUtils.setField(provider, "webClient", webClient);
+        ReflectionTestUtils.setField(provider, "eventConverter", eventConverter);
+        ReflectionTestUtils.setField(provider, "baseUrl", "https://calendar.test/v3");
+        ReflectionTestUtils.setField(provider, "pageSize", 1);
+    }
+
+    @Test
+    void fetchEvents_FollowsPageTokens() {
+        when(eventConverter.convertAll(anyList())).thenAnswer(invocation ->
+            invocation.<List<Event>>getArgument(0).stream().map(googleEvent -> {
+                CalendarEvent event = new CalendarEvent();
+                event.setId(googleEvent.getId());
+                return event;
+            }).toList());
+
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<CalendarEvent> events = provider.fetchEvents(authorizedClient, start, start.plusDays(1))
+            .collectList()
+            .block();
+
+        assertNotNull(events);
+        assertEquals(List.of("event-1", "event-2"), events.stream().map(CalendarEvent::getId).toList());
+        assertEquals(2, requests.size());
+        assertEquals("/v3/calendars/primary/events", requests.get(0).url().getPath());
+        assertTrue(requests.get(0).url().getQuery().contains("maxResults=1"));
+    }
+
+    @Test
+    void fetchEvents_WrapsHttpErrors() {
+        WebClient failing = WebClient.builder()
+            .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.UNAUTHORIZED).build()))
+            .build();
+        ReflectionTestUtils.setField(provider, "webClient", failing);
+
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        RuntimeException ex = assertThrows(RuntimeException.class,
+            () -> provider.fetchEvents(authorizedClient, start, start.plusDays(1)).collectList().block());
+        assertEquals("Failed to fetch events from Google Calendar", ex.getMessage());
+    }
+}
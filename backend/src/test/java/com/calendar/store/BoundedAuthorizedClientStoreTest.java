@@ -0,0 +1,141 @@
+package com.calendar.store;
+
+import com.calendar.support.MutableClock;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.core.OAuth2RefreshToken;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedAuthorizedClientStoreTest {
+
+    private static final Instant NOW = Instant.parse("2024-03-04T09:00:00Z");
+
+    private static final ClientRegistration REGISTRATION = ClientRegistration.withRegistrationId("google")
+        .clientId("client-id")
+        .authorizationGrantType(AuthorizationGrantType.AUTHORIZATION_CODE)
+        .redirectUri("{baseUrl}/login/oauth2/code/{registrationId}")
+        .authorizationUri("https://accounts.example.com/auth")
+        .tokenUri("https://accounts.example.com/token")
+        .build();
+
+    private final MutableClock clock = new MutableClock(NOW);
+
+    @Test
+    void testLeastRecentlyUsedUserIsEvictedWhenFull() {
+        BoundedAuthorizedClientStore store = new BoundedAuthorizedClientStore(2, Duration.ofHours(24), clock);
+        store.put("a", client(NOW.plus(Duration.ofHours(1)), false));
+        store.put("b", client(NOW.plus(Duration.ofHours(1)), false));
+        store.get("a");
+        store.put("c", client(NOW.plus(Duration.ofHours(1)), false));
+
+        assertEquals(Set.of("a", "c"), store.userIds());
+        assertNull(store.get("b"));
+        assertEquals(1L, store.getMetrics().get("evictions"));
+        assertEquals(1L, store.getMetrics().get("hits"));
+        assertEquals(1L, store.getMetrics().get("misses"));
+    }
+
+    @Test
+    void testClientWithoutRefreshTokenExpiresWithItsAccessToken() {
+        BoundedAuthorizedClientStore store = new BoundedAuthorizedClientStore(10, Duration.ofHours(24), clock);
+        store.put("user", client(NOW.plus(Duration.ofMinutes(30)), false));
+
+        assertNotNull(store.get("user"));
+        clock.advance(Duration.ofMinutes(30));
+
+        assertNull(store.get("user"));
+        assertEquals(0, store.size());
+        assertEquals(1L, store.getMetrics().get("expirations"));
+    }
+
+    @Test
+    void testRefreshableClientOutlivesItsAccessTokenByTheGracePeriod() {
+        BoundedAuthorizedClientStore store = new BoundedAuthorizedClientStore(10, Duration.ofHours(2), clock);
+        store.put("user", client(NOW.plus(Duration.ofMinutes(30)), true));
+
+        clock.advance(Duration.ofHours(2));
+        assertNotNull(store.get("user"));
+
+        clock.advance(Duration.ofMinutes(30));
+        assertTrue(store.userIds().isEmpty());
+    }
+
+    @Test
+    void testPutIfNewerKeepsCurrentClient() {
+        BoundedAuthorizedClientStore store = new BoundedAuthorizedClientStore(10, Duration.ofHours(24), clock);
+        OAuth2AuthorizedClient current = client(NOW.plus(Duration.ofMinutes(10)), false);
+        OAuth2AuthorizedClient stale = client(NOW.minus(Duration.ofMinutes(10)).plus(Duration.ofHours(1)), false);
+
+        assertTrue(store.putIfNewer("user", current));
+        assertFalse(store.putIfNewer("user", current));
+        assertFalse(store.putIfNewer("user", client(NOW.plus(Duration.ofMinutes(10)), false)));
+        assertSame(current, store.get("user"));
+
+        clock.advance(Duration.ofMinutes(10));
+        assertTrue(store.putIfNewer("user", stale));
+    }
+
+    @Test
+    void testReloginReplacesRefreshableClient() {
+        BoundedAuthorizedClientStore store = new BoundedAuthorizedClientStore(10, Duration.ofHours(24), clock);
+        OAuth2AuthorizedClient first = client(NOW.plus(Duration.ofMinutes(10)), true);
+        store.putIfNewer("user", first);
+
+        OAuth2AuthorizedClient relogin = client(NOW.plus(Duration.ofHours(1)), true);
+        assertTrue(store.putIfNewer("user", relogin));
+        assertSame(relogin, store.get("user"));
+        assertFalse(store.putIfNewer("user", first));
+
+        OAuth2AuthorizedClient newRefreshToken = new OAuth2AuthorizedClient(REGISTRATION, "user",
+            relogin.getAccessToken(), new OAuth2RefreshToken("other-refresh", NOW));
+        assertTrue(store.putIfNewer("user", newRefreshToken));
+        assertSame(newRefreshToken, store.get("user"));
+    }
+
+    @Test
+    void testReplaceOnlySwapsExpectedClient() {
+        BoundedAuthorizedClientStore store = new BoundedAuthorizedClientStore(10, Duration.ofHours(24), clock);
+        OAuth2AuthorizedClient current = client(NOW.plus(Duration.ofMinutes(10)), true);
+        OAuth2AuthorizedClient other = client(NOW.plus(Duration.ofMinutes(10)), true);
+        OAuth2AuthorizedClient refreshed = client(NOW.plus(Duration.ofHours(1)), true);
+        store.put("user", current);
+
+        assertFalse(store.replace("user", other, refreshed));
+        assertTrue(store.replace("user", current, refreshed));
+        assertSame(refreshed, store.get("user"));
+    }
+
+    @Test
+    void testRemovalListenerHearsOfEveryUserThatLeaves() {
+        BoundedAuthorizedClientStore store = new BoundedAuthorizedClientStore(2, Duration.ofHours(24), clock);
+        List<String> left = new ArrayList<>();
+        store.addRemovalListener(left::add);
+        store.put("a", client(NOW.plus(Duration.ofMinutes(10)), false));
+        store.put("b", client(NOW.plus(Duration.ofHours(1)), false));
+        store.put("c", client(NOW.plus(Duration.ofHours(1)), false));
+        store.put("b", client(NOW.plus(Duration.ofHours(2)), false));
+
+        store.remove("c");
+        clock.advance(Duration.ofHours(2));
+        store.get("b");
+
+        assertEquals(List.of("a", "c", "b"), left);
+    }
+
+    private OAuth2AuthorizedClient client(Instant expiresAt, boolean refreshable) {
+        OAuth2AccessToken accessToken = new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER, "token",
+            expiresAt.minus(Duration.ofHours(1)), expiresAt);
+        return new OAuth2AuthorizedClient(REGISTRATION, "user", accessToken,
+            refreshable ? new OAuth2RefreshToken("refresh", expiresAt.minus(Duration.ofHours(1))) : null);
+    }
+}
@@ -0,0 +1,133 @@
+package com.calendar.sync;
+
+import com.calendar.cache.TiledEventCache;
+import com.calendar.model.CalendarEvent;
+import com.calendar.service.CalendarProvider;
+import com.calendar.service.CalendarService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class CalendarSyncSchedulerTest {
+
+    @Mock
+    private CalendarService calendarService;
+
+    @Mock
+    private CalendarProvider googleProvider;
+
+    @Mock
+    private CalendarProvider outlookProvider;
+
+    @Mock
+    private OAuth2AuthorizedClient authorizedClient;
+
+    private TiledEventCache eventCache;
+    private CalendarSyncScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        eventCache = new TiledEventCache(true, Duration.ofDays(1), 1000, Duration.ofMinutes(10), Clock.systemUTC());
+        when(googleProvider.isConfigured()).thenReturn(true);
+        when(googleProvider.getProviderName()).thenReturn("GOOGLE");
+        when(outlookProvider.isConfigured()).thenReturn(true);
+        when(outlookProvider.getProviderName()).thenReturn("OUTLOOK");
+        when(calendarService.getAuthorizedClient("user")).thenReturn(authorizedClient);
+        scheduler = new CalendarSyncScheduler(calendarService, List.of(googleProvider, outlookProvider), eventCache,
+            60_000, 1, 10, 1, 7);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    void testSlowProviderDoesNotBlockOthers() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch outlookDone = new CountDownLatch(1);
+        when(googleProvider.fetchEvents(any(), any(), any())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+        when(outlookProvider.fetchEvents(any(), any(), any())).thenAnswer(invocation -> {
+            outlookDone.countDown();
+            return List.of(event(LocalDate.now().atTime(10, 0)));
+        });
+
+        scheduler.syncUser("user");
+
+        assertTrue(outlookDone.await(5, TimeUnit.SECONDS));
+        waitForInFlight(1);
+        // Google is still running, so the next round skips it instead of piling up
+        scheduler.syncUser("user");
+        assertEquals(1L, scheduler.getMetrics().get("skipped"));
+        release.countDown();
+    }
+
+    @Test
+    void testSyncedTilesServeReads() throws Exception {
+        CountDownLatch done = new CountDownLatch(1);
+        when(outlookProvider.isConfigured()).thenReturn(false);
+        when(googleProvider.fetchEvents(any(), any(), any())).thenAnswer(invocation -> {
+            done.countDown();
+            return List.of(event(LocalDate.now().atTime(10, 0)));
+        });
+
+        scheduler.syncUser("user");
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        waitForInFlight(0);
+
+        List<CalendarEvent> events = eventCache.get("user", "GOOGLE", LocalDate.now().atStartOfDay(),
+            LocalDate.now().plusDays(1).atStartOfDay(), (start, end) -> fail("should be served from the cache"));
+        assertEquals(1, events.size());
+    }
+
+    @Test
+    void testUsersAreSpreadAcrossInterval() {
+        Set<Long> offsets = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            long offset = scheduler.offsetFor("user-" + i);
+            assertTrue(offset >= 0 && offset < 60_000);
+            offsets.add(offset / 6_000);
+        }
+        // 100 users should land in most of the ten buckets of the interval
+        assertTrue(offsets.size() >= 8);
+    }
+
+    private void waitForInFlight(int expected) throws InterruptedException {
+        for (int i = 0; i < 50 && !Integer.valueOf(expected).equals(scheduler.getMetrics().get("inFlight")); i++) {
+            Thread.sleep(20);
+        }
+    }
+
+    private CalendarEvent event(LocalDateTime start) {
+        CalendarEvent event = new CalendarEvent();
+        event.setId("event-" + start);
+        event.setStartTime(start);
+        event.setEndTime(start.plusHours(1));
+        return event;
+    }
+}